@@ -1,3 +1,6 @@
+-- Базовая схема (до миграций). Файл не меняется: индексы, новые таблицы и столбцы добавляют только миграции
+-- MigrationRunner (jdbc-app/src/main/resources/db/migration) при запуске приложения или через Main --migrate
+
 -- 1. Категории товаров
 CREATE TABLE categories (
     id SERIAL PRIMARY KEY,
@@ -0,0 +1,74 @@
+package com.electronics.store.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Итог выполнения файла команд: счетчики, скорость и первые ошибки (остальные только считаются)
+public class BatchReport {
+    static final int MAX_FAILURE_SAMPLES = 100;
+
+    private long commands;
+    private long succeeded;
+    private long failed;
+    private long transactions;
+    private long elapsedNanos;
+    private final List<FailedCommand> failureSamples = new ArrayList<>();
+
+    void commandRead() { commands++; }
+    void succeeded(int count) { succeeded += count; }
+    void transaction() { transactions++; }
+    void finish(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+
+    void fail(long lineNumber, String reason) {
+        failed++;
+        if (failureSamples.size() < MAX_FAILURE_SAMPLES) {
+            failureSamples.add(new FailedCommand(lineNumber, reason));
+        }
+    }
+
+    public long getCommands() { return commands; }
+    public long getSucceeded() { return succeeded; }
+    public long getFailed() { return failed; }
+    public long getTransactions() { return transactions; }
+    public List<FailedCommand> getFailureSamples() { return Collections.unmodifiableList(failureSamples); }
+    public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+    public double getOpsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commands * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Пакет выполнен за %.1f с: команд %d, успешно %d, с ошибкой %d, "
+                        + "транзакций %d, скорость %.0f оп/с",
+                elapsedNanos / 1e9, commands, succeeded, failed, transactions, getOpsPerSecond()));
+        for (FailedCommand command : failureSamples) {
+            sb.append("\n  ").append(command);
+        }
+        if (failed > failureSamples.size()) {
+            sb.append("\n  ... и еще ").append(failed - failureSamples.size());
+        }
+        return sb.toString();
+    }
+
+    public static class FailedCommand {
+        private final long lineNumber;
+        private final String reason;
+
+        FailedCommand(long lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "строка " + lineNumber + ": " + reason;
+        }
+    }
+}
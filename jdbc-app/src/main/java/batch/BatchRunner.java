@@ -0,0 +1,513 @@
+package com.electronics.store.batch;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.dao.DataAccessException;
+import com.electronics.store.model.Category;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.ProductCategory;
+import com.electronics.store.model.Review;
+import com.electronics.store.repository.CrudRepository;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.service.OrderService;
+import com.electronics.store.validation.InputValidator;
+import config.DatabaseConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Выполнение файла команд без меню (Main --batch ops.txt). Одна команда на строку, аргументы через пробелы,
+// текст с пробелами - в двойных кавычках, # - комментарий. Вместо id можно писать @product, @category,
+// @customer, @order, @item или @review - id последнего объекта этого вида, созданного в файле:
+//   add-category "Ноутбуки"
+//   add-product "ThinkPad X1" 1999.99 "Ноутбук 14 дюймов"
+//   link @product @category
+//   add-customer "Иван Иванов" ivan@example.com +375291234567
+//   add-order @customer 27.06.2025
+//   add-item @order @product 2
+//   set-status @order "готов к выдаче"
+// Подряд идущие однотипные команды (add-product, set-price, link, add-item, add-review, delete-*) пишутся одной
+// пакетной операцией хранилища - одна транзакция на группу до batch.groupSize команд; ошибочная команда
+// откатывается к точке сохранения и не мешает остальным. add-order пишется вместе со следующими за ним
+// add-item @order одной транзакцией (OrderService): заказ сохраняется целиком или не сохраняется совсем
+public class BatchRunner {
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("dd.MM.uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    // Формат команд: [АРГУМЕНТ] - необязательный
+    private static final Map<String, Syntax> SYNTAX = new HashMap<>();
+
+    static {
+        syntax("add-category НАЗВАНИЕ", 1, 1);
+        syntax("delete-category ID", 1, 1);
+        syntax("add-product НАЗВАНИЕ ЦЕНА ОПИСАНИЕ", 3, 3);
+        syntax("set-price ID_ТОВАРА ЦЕНА", 2, 2);
+        syntax("delete-product ID", 1, 1);
+        syntax("link ID_ТОВАРА ID_КАТЕГОРИИ", 2, 2);
+        syntax("unlink ID_ТОВАРА ID_КАТЕГОРИИ", 2, 2);
+        syntax("add-customer ИМЯ EMAIL ТЕЛЕФОН", 3, 3);
+        syntax("delete-customer ID", 1, 1);
+        syntax("add-order ID_КЛИЕНТА [ДАТА dd.MM.yyyy] [СТАТУС]", 1, 3);
+        syntax("set-status ID_ЗАКАЗА СТАТУС", 2, 2);
+        syntax("delete-order ID", 1, 1);
+        syntax("add-item ID_ЗАКАЗА ID_ТОВАРА КОЛИЧЕСТВО", 3, 3);
+        syntax("delete-item ID", 1, 1);
+        syntax("add-review ID_ТОВАРА ID_КЛИЕНТА РЕЙТИНГ [КОММЕНТАРИЙ]", 3, 4);
+        syntax("delete-review ID", 1, 1);
+    }
+
+    private final Repositories repositories;
+    private final OrderService orderService;
+    private final int groupSize;
+    private final CommandTokenizer tokenizer = new CommandTokenizer();
+
+    public BatchRunner() {
+        this(Repositories.get(), DatabaseConfig.BATCH_GROUP_SIZE);
+    }
+
+    public BatchRunner(Repositories repositories, int groupSize) {
+        this.repositories = repositories;
+        this.orderService = new OrderService(repositories);
+        this.groupSize = Math.max(1, groupSize);
+    }
+
+    public BatchReport run(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return run(reader);
+        }
+    }
+
+    public BatchReport run(BufferedReader reader) throws IOException {
+        BatchReport report = new BatchReport();
+        Script script = new Script(report);
+        long start = System.nanoTime();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            List<String> tokens;
+            try {
+                tokens = tokenizer.tokenize(line);
+            } catch (IllegalArgumentException e) {
+                report.commandRead();
+                report.fail(lineNumber, e.getMessage());
+                continue;
+            }
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            report.commandRead();
+            script.execute(lineNumber, tokens.get(0), tokens.subList(1, tokens.size()));
+        }
+        script.flush();
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    // Состояние выполнения одного файла: накапливаемая группа и id созданных объектов для @-ссылок
+    private final class Script {
+        private final BatchReport report;
+        private final Map<String, Integer> lastIds = new HashMap<>();
+        private Group<?> group;
+        private PendingOrder pendingOrder;
+
+        Script(BatchReport report) {
+            this.report = report;
+        }
+
+        void execute(long line, String command, List<String> args) {
+            // Другая команда завершает накопленную группу до разбора аргументов,
+            // чтобы @-ссылки видели объекты, созданные этой группой
+            if (!continuesPending(command, args)) {
+                flush();
+            }
+            try {
+                Syntax syntax = SYNTAX.get(command);
+                if (syntax == null) {
+                    throw new IllegalArgumentException("Неизвестная команда: " + command);
+                }
+                if (args.size() < syntax.minArgs || args.size() > syntax.maxArgs) {
+                    throw new IllegalArgumentException("Формат: " + syntax.usage);
+                }
+                dispatch(line, command, args);
+            } catch (IllegalArgumentException e) {
+                report.fail(line, command + ": " + e.getMessage());
+                // Заказ пишется только целиком
+                if (pendingOrder != null && command.equals("add-item")) {
+                    pendingOrder.invalidLine = line;
+                }
+            }
+        }
+
+        private boolean continuesPending(String command, List<String> args) {
+            if (pendingOrder != null) {
+                return command.equals("add-item") && !args.isEmpty() && args.get(0).equals("@order");
+            }
+            return group != null && group.command.equals(command);
+        }
+
+        private void dispatch(long line, String command, List<String> args) {
+            switch (command) {
+                case "add-category" -> {
+                    check(InputValidator.checkCategoryName(args.get(0)));
+                    Category category = new Category(args.get(0).trim());
+                    repositories.categories().save(category);
+                    created("category", category.getId(), "Категория не сохранена");
+                }
+                case "delete-category" -> {
+                    int id = id(args.get(0), "category");
+                    deleteOne(repositories.categories(), id, "Категория с ID " + id + " не найдена",
+                            "Категория с ID " + id + " не удалена (возможно, в ней есть товары)");
+                }
+                case "add-product" -> {
+                    double price = InputValidator.parseDoubleStrict(args.get(1), "Цена должна быть числом!");
+                    check(InputValidator.checkProductName(args.get(0)));
+                    check(InputValidator.checkPrice(price));
+                    check(InputValidator.checkProductDescription(args.get(2)));
+                    add(line, command, repositories.products()::saveAll, product -> lastIds.put("product", product.getId()),
+                            new Product(args.get(0).trim(), price, args.get(2).trim()));
+                }
+                case "set-price" -> {
+                    int productId = id(args.get(0), "product");
+                    double price = InputValidator.parseDoubleStrict(args.get(1), "Цена должна быть числом!");
+                    check(InputValidator.checkPrice(price));
+                    add(line, command, this::updatePrices, null, new PriceChange(productId, price));
+                }
+                case "delete-product" -> add(line, command,
+                        (List<Integer> ids) -> repositories.products().deleteAllById(toArray(ids)), null,
+                        id(args.get(0), "product"));
+                case "link" -> add(line, command, repositories.productCategories()::saveAll, null,
+                        new ProductCategory(id(args.get(0), "product"), id(args.get(1), "category")));
+                case "unlink" -> add(line, command, repositories.productCategories()::deleteAll, null,
+                        new ProductCategory(id(args.get(0), "product"), id(args.get(1), "category")));
+                case "add-customer" -> {
+                    check(InputValidator.checkCustomerName(args.get(0)));
+                    check(InputValidator.checkEmail(args.get(1)));
+                    check(InputValidator.checkPhone(args.get(2)));
+                    Customer customer = new Customer(args.get(0), args.get(1), args.get(2));
+                    repositories.customers().save(customer);
+                    created("customer", customer.getId(), "Клиент не сохранен (возможно, email уже используется)");
+                }
+                case "delete-customer" -> {
+                    int id = id(args.get(0), "customer");
+                    deleteOne(repositories.customers(), id, "Клиент с ID " + id + " не найден",
+                            "Клиент с ID " + id + " не удален (возможно, у него есть заказы или отзывы)");
+                }
+                case "add-order" -> {
+                    int customerId = id(args.get(0), "customer");
+                    Date date = args.size() > 1 ? date(args.get(1)) : Date.valueOf(LocalDate.now());
+                    String status = args.size() > 2 ? status(args.get(2)) : "в процессе";
+                    pendingOrder = new PendingOrder(line, new Order(customerId, date, status));
+                }
+                case "set-status" -> {
+                    String status = status(args.get(1));
+                    int orderId = id(args.get(0), "order");
+                    Order order = repositories.orders().findById(orderId);
+                    if (order == null) {
+                        throw new IllegalArgumentException("Заказ с ID " + orderId + " не найден");
+                    }
+                    order.setStatus(status);
+                    repositories.orders().update(order);
+                    report.transaction();
+                    report.succeeded(1);
+                }
+                case "delete-order" -> {
+                    int id = id(args.get(0), "order");
+                    deleteOne(repositories.orders(), id, "Заказ с ID " + id + " не найден",
+                            "Заказ с ID " + id + " не удален (возможно, в нем есть позиции)");
+                }
+                case "add-item" -> {
+                    int productId = id(args.get(1), "product");
+                    int quantity = InputValidator.parseIntStrict(args.get(2), "Количество должно быть целым числом!");
+                    if (quantity <= 0) {
+                        throw new IllegalArgumentException("Количество должно быть положительным!");
+                    }
+                    if (pendingOrder != null) {
+                        pendingOrder.items.add(new OrderItem(0, productId, quantity));
+                        pendingOrder.itemLines.add(line);
+                    } else {
+                        add(line, command, repositories.orderItems()::saveAll, item -> lastIds.put("item", item.getId()),
+                                new OrderItem(id(args.get(0), "order"), productId, quantity));
+                    }
+                }
+                case "delete-item" -> add(line, command,
+                        (List<Integer> ids) -> repositories.orderItems().deleteAllById(toArray(ids)), null,
+                        id(args.get(0), "item"));
+                case "add-review" -> {
+                    int rating = InputValidator.parseIntStrict(args.get(2), "Рейтинг должен быть целым числом от 1 до 5!");
+                    if (rating < 1 || rating > 5) {
+                        throw new IllegalArgumentException("Рейтинг должен быть целым числом от 1 до 5!");
+                    }
+                    add(line, command, repositories.reviews()::saveAll, review -> lastIds.put("review", review.getId()),
+                            new Review(id(args.get(0), "product"), id(args.get(1), "customer"), rating,
+                                    args.size() > 3 ? args.get(3) : null));
+                }
+                case "delete-review" -> add(line, command,
+                        (List<Integer> ids) -> repositories.reviews().deleteAllById(toArray(ids)), null,
+                        id(args.get(0), "review"));
+                default -> throw new IllegalArgumentException("Неизвестная команда: " + command);
+            }
+        }
+
+        private <T> void add(long line, String command, Function<List<T>, BatchResult> writer,
+                             Consumer<T> created, T item) {
+            if (group == null) {
+                group = new Group<>(command, writer, created);
+            }
+            @SuppressWarnings("unchecked")
+            Group<T> current = (Group<T>) group;
+            current.lines.add(line);
+            current.items.add(item);
+            if (current.items.size() >= groupSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (group != null) {
+                Group<?> current = group;
+                group = null;
+                write(current);
+            }
+            if (pendingOrder != null) {
+                PendingOrder order = pendingOrder;
+                pendingOrder = null;
+                place(order);
+            }
+        }
+
+        private <T> void write(Group<T> current) {
+            int size = current.items.size();
+            BatchResult result;
+            try {
+                result = current.writer.apply(current.items);
+            } catch (RuntimeException e) {
+                result = new BatchResult(size);
+                for (int i = 0; i < size; i++) {
+                    result.recordFailure(i, e.getMessage());
+                }
+            }
+            report.transaction();
+            boolean[] failed = new boolean[size];
+            for (BatchResult.Failure failure : result.getFailures()) {
+                if (!failed[failure.getIndex()]) {
+                    failed[failure.getIndex()] = true;
+                    report.fail(current.lines.get(failure.getIndex()), current.command + ": " + failure.getMessage());
+                }
+            }
+            int succeeded = 0;
+            for (int i = 0; i < size; i++) {
+                if (!failed[i]) {
+                    succeeded++;
+                    if (current.created != null) {
+                        current.created.accept(current.items.get(i));
+                    }
+                }
+            }
+            report.succeeded(succeeded);
+        }
+
+        private void place(PendingOrder pending) {
+            try {
+                if (pending.invalidLine != 0) {
+                    throw new IllegalArgumentException("ошибка в позиции на строке " + pending.invalidLine);
+                }
+                report.transaction();
+                orderService.placeOrder(pending.order, pending.items);
+            } catch (IllegalArgumentException | DataAccessException e) {
+                report.fail(pending.line, "add-order: " + e.getMessage());
+                for (long itemLine : pending.itemLines) {
+                    report.fail(itemLine, "add-item: заказ со строки " + pending.line + " не сохранен");
+                }
+                return;
+            }
+            lastIds.put("order", pending.order.getId());
+            if (!pending.items.isEmpty()) {
+                lastIds.put("item", pending.items.get(pending.items.size() - 1).getId());
+            }
+            report.succeeded(1 + pending.items.size());
+        }
+
+        // Товары группы читаются одним запросом, цены записываются одним пакетом
+        private BatchResult updatePrices(List<PriceChange> changes) {
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (PriceChange change : changes) {
+                ids.add(change.productId);
+            }
+            Map<Integer, Product> found = new HashMap<>();
+            for (Product product : repositories.products().findAllByIds(ids)) {
+                found.put(product.getId(), product);
+            }
+            BatchResult result = new BatchResult(changes.size());
+            List<Product> products = new ArrayList<>(changes.size());
+            List<Integer> indexes = new ArrayList<>(changes.size());
+            for (int i = 0; i < changes.size(); i++) {
+                PriceChange change = changes.get(i);
+                Product product = found.get(change.productId);
+                if (product == null) {
+                    result.recordFailure(i, "Товар с ID " + change.productId + " не найден");
+                    continue;
+                }
+                product.setPrice(change.price);
+                products.add(product);
+                indexes.add(i);
+            }
+            BatchResult written = repositories.products().updateAll(products);
+            for (BatchResult.Failure failure : written.getFailures()) {
+                result.recordFailure(indexes.get(failure.getIndex()), failure.getMessage());
+            }
+            for (int i = 0; i < written.getSucceeded(); i++) {
+                result.recordSuccess();
+            }
+            return result;
+        }
+
+        // Хранилище не сообщает об ошибке удаления: запись, которая осталась, - ошибка (обычно на нее ссылаются)
+        private void deleteOne(CrudRepository<?> repository, int id, String notFound, String notDeleted) {
+            if (!repository.existsById(id)) {
+                throw new IllegalArgumentException(notFound);
+            }
+            repository.delete(id);
+            report.transaction();
+            if (repository.existsById(id)) {
+                throw new IllegalArgumentException(notDeleted);
+            }
+            report.succeeded(1);
+        }
+
+        private void created(String kind, int id, String error) {
+            report.transaction();
+            if (id == 0) {
+                throw new IllegalArgumentException(error);
+            }
+            lastIds.put(kind, id);
+            report.succeeded(1);
+        }
+
+        // Число или @вид - id последнего созданного в файле объекта этого вида
+        private int id(String token, String kind) {
+            if (token.startsWith("@")) {
+                if (!token.substring(1).equals(kind)) {
+                    throw new IllegalArgumentException("Ожидался ID или @" + kind + ": " + token);
+                }
+                Integer id = lastIds.get(kind);
+                if (id == null) {
+                    throw new IllegalArgumentException(token + ": в файле еще не создан такой объект");
+                }
+                return id;
+            }
+            int id = InputValidator.parseIntStrict(token, "ID должен быть целым положительным числом!");
+            if (id <= 0) {
+                throw new IllegalArgumentException("ID должен быть целым положительным числом!");
+            }
+            return id;
+        }
+    }
+
+    private static void syntax(String usage, int minArgs, int maxArgs) {
+        SYNTAX.put(usage.substring(0, usage.indexOf(' ')), new Syntax(usage, minArgs, maxArgs));
+    }
+
+    private static void check(String error) {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private static Date date(String value) {
+        try {
+            return Date.valueOf(LocalDate.parse(value, DATE_FORMAT));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Дата должна быть в формате dd.MM.yyyy: " + value);
+        }
+    }
+
+    private static String status(String status) {
+        if (!Order.STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Недопустимый статус: " + status + " (допустимо " + Order.STATUSES + ")");
+        }
+        return status;
+    }
+
+    private static int[] toArray(List<Integer> ids) {
+        int[] array = new int[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        return array;
+    }
+
+    // Подряд идущие однотипные команды, которые записываются одной пакетной операцией
+    private static final class Group<T> {
+        final String command;
+        final Function<List<T>, BatchResult> writer;
+        // Вызывается для каждого записанного объекта (id для @-ссылок); null - не нужно
+        final Consumer<T> created;
+        final List<Long> lines = new ArrayList<>();
+        final List<T> items = new ArrayList<>();
+
+        Group(String command, Function<List<T>, BatchResult> writer, Consumer<T> created) {
+            this.command = command;
+            this.writer = writer;
+            this.created = created;
+        }
+    }
+
+    // Заказ и его позиции add-item @order, записываемые вместе
+    private static final class PendingOrder {
+        final long line;
+        final Order order;
+        final List<OrderItem> items = new ArrayList<>();
+        final List<Long> itemLines = new ArrayList<>();
+        // Строка add-item @order с ошибкой: тогда заказ не записывается
+        long invalidLine;
+
+        PendingOrder(long line, Order order) {
+            this.line = line;
+            this.order = order;
+        }
+    }
+
+    private static final class PriceChange {
+        final int productId;
+        final double price;
+
+        PriceChange(int productId, double price) {
+            this.productId = productId;
+            this.price = price;
+        }
+    }
+
+    private static final class Syntax {
+        final String usage;
+        final int minArgs;
+        final int maxArgs;
+
+        Syntax(String usage, int minArgs, int maxArgs) {
+            this.usage = usage;
+            this.minArgs = minArgs;
+            this.maxArgs = maxArgs;
+        }
+    }
+}
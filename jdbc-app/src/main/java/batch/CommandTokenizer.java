@@ -0,0 +1,51 @@
+package com.electronics.store.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Разбор строки файла команд: слова через пробелы или табуляцию, текст с пробелами - в двойных кавычках
+// ("" внутри кавычек - сама кавычка), # вне кавычек - начало комментария
+class CommandTokenizer {
+    List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>(6);
+        StringBuilder token = new StringBuilder();
+        boolean inToken = false;
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        token.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    token.append(c);
+                }
+            } else if (c == ' ' || c == '\t') {
+                if (inToken) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                    inToken = false;
+                }
+            } else if (c == '#') {
+                break;
+            } else if (c == '"' && !inToken) {
+                inToken = true;
+                inQuotes = true;
+            } else {
+                inToken = true;
+                token.append(c);
+            }
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("Незакрытая кавычка");
+        }
+        if (inToken) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+}
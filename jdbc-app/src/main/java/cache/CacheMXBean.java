@@ -0,0 +1,14 @@
+package com.electronics.store.cache;
+
+// Метрики кэша для JMX (com.electronics.store:type=Cache,name=...)
+public interface CacheMXBean {
+    int getSize();
+    int getCapacity();
+    long getTtlMillis();
+    long getHits();
+    long getMisses();
+    long getEvictions();
+    long getExpirations();
+    double getHitRatio();
+    void invalidateAll();
+}
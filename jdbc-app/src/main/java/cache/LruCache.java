@@ -0,0 +1,152 @@
+package com.electronics.store.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ограниченный кэш по int-ключу: вытеснение давно не использованных (LRU) и время жизни записи (TTL).
+// Чтобы не положить в кэш устаревшее значение, прочитанное параллельно с изменением,
+// читатель берет generation() до запроса к БД и передает его в put().
+public class LruCache<V> implements CacheMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(LruCache.class);
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entry<V>> entries;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public LruCache(int capacity, long ttlMillis) {
+        this.capacity = Math.max(1, capacity);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<V>> eldest) {
+                if (size() > LruCache.this.capacity) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Регистрирует метрики кэша в JMX под именем name
+    public LruCache<V> register(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("com.electronics.store:type=Cache,name=" + name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (Exception e) {
+            logger.warn("Не удалось зарегистрировать JMX-бин кэша {}: {}", name, e.getMessage());
+        }
+        return this;
+    }
+
+    public synchronized V get(int key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(key);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    // Кладет значение, только если с момента generation ничего не инвалидировалось
+    public synchronized void put(int key, V value, long generationAtRead) {
+        if (generationAtRead == generation) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    public synchronized void put(int key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    public synchronized void invalidate(int key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getTtlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : hitCount / (double) total;
+    }
+
+    private static class Entry<V> {
+        final V value;
+        final long createdAt;
+
+        Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
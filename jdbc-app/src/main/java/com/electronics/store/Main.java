@@ -1,10 +1,90 @@
 package com.electronics.store;
 
+import com.electronics.store.batch.BatchRunner;
+import com.electronics.store.http.HttpApiServer;
+import com.electronics.store.importer.CatalogImporter;
+import com.electronics.store.migration.MigrationRunner;
+import com.electronics.store.repository.Repositories;
 import com.electronics.store.service.StoreService;
 
+import config.DatabaseConfig;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // Хранилище в памяти (storage.engine=memory): без БД, миграций и импорта
+        if (!Repositories.get().isJdbc()) {
+            if (isHttp(args)) {
+                serveHttp(args);
+                return;
+            }
+            if (isBatch(args)) {
+                System.out.println(new BatchRunner().run(Path.of(args[1])));
+                return;
+            }
+            if (args.length > 0) {
+                System.out.println("Параметр " + args[0] + " доступен только для хранилища jdbc");
+                return;
+            }
+            new StoreService().start();
+            return;
+        }
+        // Только применить миграции схемы: --migrate
+        if (args.length == 1 && args[0].equals("--migrate")) {
+            new MigrationRunner().migrate();
+            return;
+        }
+        if (DatabaseConfig.MIGRATE_ON_STARTUP) {
+            new MigrationRunner().migrate();
+        } else {
+            new MigrationRunner().checkApplied();
+        }
+        // Массовая загрузка каталога: --import prices.csv
+        if (args.length == 2 && args[0].equals("--import")) {
+            System.out.println(new CatalogImporter().importFile(Path.of(args[1])));
+            return;
+        }
+        if (isHttp(args)) {
+            serveHttp(args);
+            return;
+        }
+        // Файл команд без меню: --batch ops.txt
+        if (isBatch(args)) {
+            System.out.println(new BatchRunner().run(Path.of(args[1])));
+            return;
+        }
         StoreService service = new StoreService();
         service.start();
     }
-}
\ No newline at end of file
+
+    private static boolean isBatch(String[] args) {
+        return args.length == 2 && args[0].equals("--batch");
+    }
+
+    private static boolean isHttp(String[] args) {
+        return args.length >= 1 && args.length <= 2 && args[0].equals("--http");
+    }
+
+    // HTTP API вместо меню: --http [порт]; работает до Ctrl+C
+    private static void serveHttp(String[] args) throws Exception {
+        int port = DatabaseConfig.HTTP_PORT;
+        if (args.length == 2) {
+            try {
+                port = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                System.out.println("Порт должен быть целым числом: " + args[1]);
+                return;
+            }
+        }
+        HttpApiServer server = HttpApiServer.create(port);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            stopped.countDown();
+        }, "http-shutdown"));
+        server.start();
+        stopped.await();
+    }
+}
@@ -1,7 +1,127 @@
 package config;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+// Настройки берутся из db.properties (classpath или файл из -Ddb.config=...),
+// системные свойства (-Ddb.url=...) имеют приоритет над файлом
 public class DatabaseConfig {
-    public static final String URL = "jdbc:postgresql://localhost:5432/electronics_store_db";
-    public static final String USER = "postgres";
-    public static final String PASSWORD = "password";
+    private static final Properties PROPERTIES = load();
+
+    public static final String URL = get("db.url", "jdbc:postgresql://localhost:5432/electronics_store_db");
+    public static final String USER = get("db.user", "postgres");
+    public static final String PASSWORD = get("db.password", "password");
+
+    // Пул соединений
+    public static final int POOL_MAX_SIZE = getInt("db.pool.maxSize", 10);
+    public static final int POOL_MIN_IDLE = getInt("db.pool.minIdle", 2);
+    public static final long POOL_ACQUIRE_TIMEOUT_MS = getLong("db.pool.acquireTimeoutMs", 5_000);
+    public static final long POOL_IDLE_TIMEOUT_MS = getLong("db.pool.idleTimeoutMs", 600_000);
+    // Соединение, простоявшее дольше этого времени, проверяется перед выдачей
+    public static final long POOL_VALIDATION_INTERVAL_MS = getLong("db.pool.validationIntervalMs", 5_000);
+    public static final int POOL_VALIDATION_TIMEOUT_SEC = getInt("db.pool.validationTimeoutSec", 2);
+    // 0 - поиск утечек отключен
+    public static final long POOL_LEAK_DETECTION_MS = getLong("db.pool.leakDetectionMs", 30_000);
+    public static final long POOL_HOUSEKEEPING_INTERVAL_MS = getLong("db.pool.housekeepingIntervalMs", 30_000);
+    // Число подготовленных запросов, кэшируемых на одно соединение; 0 - кэш отключен
+    public static final int STATEMENT_CACHE_SIZE = getInt("db.statementCache.size", 64);
+    // Журнал медленных запросов (SlowQueryLog): порог записи в лог (меньше 0 - не писать)
+    // и размер таблицы самых медленных запросов; -1 и 0 вместе отключают обертку запросов
+    public static final long SLOW_QUERY_THRESHOLD_MS = getLong("db.slowQuery.thresholdMs", 200);
+    public static final int SLOW_QUERY_TOP_SIZE = getInt("db.slowQuery.topSize", 20);
+    // Максимум строк в одном executeBatch для saveAll/updateAll/deleteAllById.
+    // Для многострочных INSERT ... VALUES добавьте reWriteBatchedInserts=true в db.url
+    public static final int BATCH_SIZE = getInt("db.batch.size", 500);
+    // Сколько строк за раз забирает курсор в streamAll()
+    public static final int STREAM_FETCH_SIZE = getInt("db.stream.fetchSize", 1_000);
+    // Размер пачки (и транзакции) при загрузке каталога через COPY
+    public static final int IMPORT_CHUNK_SIZE = getInt("import.chunkSize", 10_000);
+    // Сколько подряд идущих однотипных команд Main --batch записывается одной транзакцией
+    public static final int BATCH_GROUP_SIZE = getInt("batch.groupSize", 1_000);
+    // Кэш товаров по id в ProductDao: число записей и время жизни записи
+    public static final boolean PRODUCT_CACHE_ENABLED = getBoolean("cache.products.enabled", true);
+    public static final int PRODUCT_CACHE_SIZE = getInt("cache.products.size", 10_000);
+    public static final long PRODUCT_CACHE_TTL_MS = getLong("cache.products.ttlMs", 300_000);
+    // Как часто справочник категорий перечитывается из БД; 0 - только при изменениях через CategoryDao
+    public static final long CATEGORY_REFRESH_INTERVAL_MS = getLong("cache.categories.refreshMs", 60_000);
+    // Применять миграции схемы (db/migration) при запуске; false - только через Main --migrate,
+    // а при запуске проверяется, что все миграции уже применены
+    public static final boolean MIGRATE_ON_STARTUP = getBoolean("db.migrate.onStartup", true);
+
+    // Хранилище данных приложения: jdbc - PostgreSQL, memory - в памяти процесса (см. Repositories)
+    public static final String STORAGE_ENGINE = get("storage.engine", "jdbc");
+    // Асинхронные вызовы хранилища (DbExecutor): одновременно не больше размера пула соединений,
+    // очередь ожидающих и виртуальные потоки на Java 21+
+    public static final int ASYNC_MAX_CONCURRENCY = getInt("db.async.maxConcurrency", POOL_MAX_SIZE);
+    public static final int ASYNC_QUEUE_SIZE = getInt("db.async.queueSize", 1_000);
+    public static final boolean ASYNC_VIRTUAL_THREADS = getBoolean("db.async.virtualThreads", true);
+    // Метрики методов репозиториев (DaoMetrics) в JMX и логе com.electronics.store.metrics;
+    // интервал записи в лог 0 - только JMX
+    public static final boolean METRICS_ENABLED = getBoolean("metrics.enabled", true);
+    public static final long METRICS_LOG_INTERVAL_MS = getLong("metrics.logIntervalMs", 60_000);
+    // HTTP API (Main --http): порт по умолчанию, потоки обработки и очередь запросов, ждущих поток
+    public static final int HTTP_PORT = getInt("http.port", 8080);
+    public static final int HTTP_THREADS = getInt("http.threads", 16);
+    public static final int HTTP_QUEUE_SIZE = getInt("http.queueSize", 256);
+
+    private DatabaseConfig() {}
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        String path = System.getProperty("db.config");
+        try (InputStream in = path != null
+                ? new FileInputStream(path)
+                : DatabaseConfig.class.getClassLoader().getResourceAsStream("db.properties")) {
+            if (in != null) {
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось прочитать настройки БД: " + e.getMessage(), e);
+        }
+        return properties;
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = PROPERTIES.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Неверное значение параметра " + key + ": " + value);
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Неверное значение параметра " + key + ": " + value);
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
 }
\ No newline at end of file
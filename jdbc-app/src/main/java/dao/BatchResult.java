@@ -0,0 +1,63 @@
+package com.electronics.store.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Итог пакетной операции: сколько строк записано и какие строки не прошли
+public class BatchResult {
+    private final int total;
+    private int succeeded;
+    private final List<Failure> failures = new ArrayList<>();
+
+    public BatchResult(int total) {
+        this.total = total;
+    }
+
+    // Заполняется тем, кто выполняет пакет (BatchWriter, хранилище в памяти)
+    public void recordSuccess() {
+        succeeded++;
+    }
+
+    public void recordFailure(int index, String message) {
+        failures.add(new Failure(index, message));
+    }
+
+    // Ошибка, не связанная с конкретной строкой (например, нет соединения): не прошли все строки
+    void failAll(String message) {
+        succeeded = 0;
+        failures.clear();
+        for (int i = 0; i < total; i++) {
+            failures.add(new Failure(i, message));
+        }
+    }
+
+    public int getTotal() { return total; }
+    public int getSucceeded() { return succeeded; }
+    public List<Failure> getFailures() { return Collections.unmodifiableList(failures); }
+    public boolean isSuccessful() { return failures.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "Записано " + succeeded + " из " + total + ", ошибок: " + failures.size();
+    }
+
+    // Строка пакета (индекс во входном списке) и причина ошибки
+    public static class Failure {
+        private final int index;
+        private final String message;
+
+        public Failure(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "#" + index + ": " + message;
+        }
+    }
+}
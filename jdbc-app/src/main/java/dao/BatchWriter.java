@@ -0,0 +1,164 @@
+package com.electronics.store.dao;
+
+import config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Пакетная запись списка объектов одним запросом в одной транзакции.
+// Сначала весь список уходит через addBatch/executeBatch; если пакет падает,
+// транзакция откатывается и строки повторяются по одной под точками сохранения,
+// чтобы записать корректные строки и вернуть ошибку по каждой некорректной.
+final class BatchWriter {
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    interface KeySetter<T> {
+        void setKey(T item, int id);
+
+        // Строка, которую вернула вставка (RETURNING): кроме id в ней есть значения, посчитанные запросом
+        default void setGenerated(T item, ResultSet keys) throws SQLException {
+            setKey(item, keys.getInt(1));
+        }
+    }
+
+    private BatchWriter() {}
+
+    // Берет соединение у DAO; если соединение получить не удалось, ошибкой помечаются все строки
+    static <T> BatchResult write(ConnectionSource source, String sql, List<T> items,
+                                 Binder<T> binder, KeySetter<T> keySetter, boolean requireRow) {
+        try (Connection conn = source.get()) {
+            return write(conn, sql, items, binder, keySetter, requireRow);
+        } catch (SQLException e) {
+            BatchResult result = new BatchResult(items.size());
+            result.failAll(e.getMessage());
+            return result;
+        }
+    }
+
+    static List<Integer> ids(int[] ids) {
+        List<Integer> list = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    // keySetter != null - после вставки сгенерированные id записываются в объекты;
+    // requireRow - строка, не затронувшая ни одной записи (UPDATE/DELETE по id), считается ошибкой
+    static <T> BatchResult write(Connection conn, String sql, List<T> items,
+                                 Binder<T> binder, KeySetter<T> keySetter, boolean requireRow) throws SQLException {
+        BatchResult result = new BatchResult(items.size());
+        if (items.isEmpty()) {
+            return result;
+        }
+        int keys = keySetter != null ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(sql, keys)) {
+            try {
+                writeBatched(stmt, items, binder, keySetter, requireRow, result);
+                conn.commit();
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                stmt.clearBatch();
+            }
+            result = new BatchResult(items.size());
+            writeOneByOne(conn, stmt, items, binder, keySetter, requireRow, result);
+            conn.commit();
+            return result;
+        } catch (SQLException e) {
+            conn.rollback();
+            // откатаны все строки, в том числе получившие id в пакете или при построчном повторе
+            if (keySetter != null) {
+                for (T item : items) {
+                    keySetter.setKey(item, 0);
+                }
+            }
+            throw e;
+        }
+    }
+
+    // Пакетная запись внутри транзакции вызывающего: без commit и без построчного повтора.
+    // Первая ошибка пробрасывается, откат остается за вызывающим
+    static <T> void writeInTransaction(Connection conn, String sql, List<T> items,
+                                       Binder<T> binder, KeySetter<T> keySetter) throws SQLException {
+        if (items.isEmpty()) {
+            return;
+        }
+        int keys = keySetter != null ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+        try (PreparedStatement stmt = conn.prepareStatement(sql, keys)) {
+            writeBatched(stmt, items, binder, keySetter, false, new BatchResult(items.size()));
+        }
+    }
+
+    private static <T> void writeBatched(PreparedStatement stmt, List<T> items, Binder<T> binder,
+                                         KeySetter<T> keySetter, boolean requireRow, BatchResult result)
+            throws SQLException {
+        int batchSize = Math.max(1, DatabaseConfig.BATCH_SIZE);
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<T> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            for (T item : chunk) {
+                binder.bind(stmt, item);
+                stmt.addBatch();
+            }
+            int[] counts = stmt.executeBatch();
+            if (keySetter != null) {
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    for (T item : chunk) {
+                        if (!rs.next()) {
+                            throw new SQLException("Драйвер вернул меньше ключей, чем строк в пакете");
+                        }
+                        keySetter.setGenerated(item, rs);
+                    }
+                }
+            }
+            for (int i = 0; i < counts.length; i++) {
+                if (requireRow && counts[i] == 0) {
+                    result.recordFailure(from + i, "Запись не найдена");
+                } else {
+                    result.recordSuccess();
+                }
+            }
+        }
+    }
+
+    private static <T> void writeOneByOne(Connection conn, PreparedStatement stmt, List<T> items, Binder<T> binder,
+                                          KeySetter<T> keySetter, boolean requireRow, BatchResult result)
+            throws SQLException {
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                binder.bind(stmt, item);
+                int affected = stmt.executeUpdate();
+                if (keySetter != null) {
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        if (rs.next()) {
+                            keySetter.setGenerated(item, rs);
+                        }
+                    }
+                }
+                conn.releaseSavepoint(savepoint);
+                if (requireRow && affected == 0) {
+                    result.recordFailure(i, "Запись не найдена");
+                } else {
+                    result.recordSuccess();
+                }
+            } catch (SQLException e) {
+                conn.rollback(savepoint);
+                if (keySetter != null) {
+                    keySetter.setKey(item, 0);
+                }
+                result.recordFailure(i, e.getMessage());
+            }
+        }
+    }
+}
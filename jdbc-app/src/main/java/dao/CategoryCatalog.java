@@ -0,0 +1,188 @@
+package com.electronics.store.dao;
+
+import com.electronics.store.model.Category;
+import config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Таблица категорий целиком в памяти в виде неизменяемого снимка.
+// Чтение - обращение к массиву без блокировок; запись через CategoryDao строит новый снимок
+// и подменяет ссылку, а фоновое обновление подтягивает изменения, сделанные в обход приложения.
+final class CategoryCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalog.class);
+
+    private static final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private static ScheduledExecutorService refresher;
+
+    private CategoryCatalog() {}
+
+    // Текущий снимок; при первом обращении загружается из БД
+    static Snapshot get(ConnectionSource source) throws SQLException {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : load(source);
+    }
+
+    private static synchronized Snapshot load(ConnectionSource source) throws SQLException {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            snapshot = read(source);
+            current.compareAndSet(null, snapshot);
+            startRefresher(source);
+            snapshot = current.get();
+        }
+        return snapshot;
+    }
+
+    // Перечитывает таблицу. Если за время чтения снимок сменила запись через DAO, результат отбрасывается
+    static void refresh(ConnectionSource source) throws SQLException {
+        Snapshot before = current.get();
+        Snapshot loaded = read(source);
+        current.compareAndSet(before, loaded);
+    }
+
+    static void saved(Category category) {
+        Category copy = copy(category);
+        current.updateAndGet(snapshot -> snapshot == null ? null : snapshot.with(copy));
+    }
+
+    static void deleted(int id) {
+        current.updateAndGet(snapshot -> snapshot == null ? null : snapshot.without(id));
+    }
+
+    private static Snapshot read(ConnectionSource source) throws SQLException {
+        List<Category> categories = new ArrayList<>();
+        try (Connection conn = source.get();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM categories ORDER BY id")) {
+            while (rs.next()) {
+                categories.add(CategoryDao.mapRow(rs));
+            }
+        }
+        return new Snapshot(categories.toArray(new Category[0]));
+    }
+
+    private static void startRefresher(ConnectionSource source) {
+        long interval = DatabaseConfig.CATEGORY_REFRESH_INTERVAL_MS;
+        if (refresher != null || interval <= 0) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "category-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh(source);
+            } catch (SQLException e) {
+                logger.warn("Не удалось обновить справочник категорий: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    static Category copy(Category category) {
+        Category copy = new Category(category.getName());
+        copy.setId(category.getId());
+        return copy;
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // Категории, упорядоченные по id. Если id идут плотно, дополнительно строится массив,
+    // где индекс равен id; при больших дырах в нумерации поиск идет двоичным поиском
+    static final class Snapshot {
+        private final Category[] ordered;
+        private final int[] ids;
+        private final Category[] byId;
+        private final Map<String, Category> byName;
+
+        private Snapshot(Category[] ordered) {
+            this.ordered = ordered;
+            this.ids = new int[ordered.length];
+            Map<String, Category> names = new HashMap<>();
+            int maxId = 0;
+            for (int i = 0; i < ordered.length; i++) {
+                ids[i] = ordered[i].getId();
+                maxId = Math.max(maxId, ids[i]);
+                names.putIfAbsent(nameKey(ordered[i].getName()), ordered[i]);
+            }
+            this.byName = Map.copyOf(names);
+            if (maxId <= ordered.length * 4 + 1024) {
+                byId = new Category[maxId + 1];
+                for (Category category : ordered) {
+                    byId[category.getId()] = category;
+                }
+            } else {
+                byId = null;
+            }
+        }
+
+        Category findById(int id) {
+            if (byId != null) {
+                return id > 0 && id < byId.length ? byId[id] : null;
+            }
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? ordered[index] : null;
+        }
+
+        Category findByName(String name) {
+            return byName.get(nameKey(name));
+        }
+
+        int size() {
+            return ordered.length;
+        }
+
+        List<Category> copyAll() {
+            List<Category> categories = new ArrayList<>(ordered.length);
+            for (Category category : ordered) {
+                categories.add(copy(category));
+            }
+            return categories;
+        }
+
+        private Snapshot with(Category category) {
+            int index = Arrays.binarySearch(ids, category.getId());
+            Category[] next;
+            if (index >= 0) {
+                next = ordered.clone();
+                next[index] = category;
+            } else {
+                int insertAt = -index - 1;
+                next = new Category[ordered.length + 1];
+                System.arraycopy(ordered, 0, next, 0, insertAt);
+                next[insertAt] = category;
+                System.arraycopy(ordered, insertAt, next, insertAt + 1, ordered.length - insertAt);
+            }
+            return new Snapshot(next);
+        }
+
+        private Snapshot without(int id) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index < 0) {
+                return this;
+            }
+            Category[] next = new Category[ordered.length - 1];
+            System.arraycopy(ordered, 0, next, 0, index);
+            System.arraycopy(ordered, index + 1, next, index, ordered.length - index - 1);
+            return new Snapshot(next);
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.electronics.store.dao;
 
+import com.electronics.store.db.ConnectionPool;
 import com.electronics.store.model.Category;
+import com.electronics.store.repository.CategoryRepository;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import config.DatabaseConfig;
+import java.util.Map;
 
-public class CategoryDao {
+public class CategoryDao implements CategoryRepository {
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD);
+        return ConnectionPool.getInstance().getConnection();
     }
 
     public void save(Category category) {
@@ -22,27 +26,20 @@ public class CategoryDao {
                     category.setId(rs.getInt(1));
                 }
             }
+            CategoryCatalog.saved(category);
         } catch (SQLException e) {
             System.out.println("Ошибка при добавлении категории: " + e.getMessage());
         }
     }
 
+    // Чтение идет из снимка в памяти (CategoryCatalog), наружу отдаются копии
     public List<Category> findAll() {
-        List<Category> categories = new ArrayList<>();
-        String sql = "SELECT * FROM categories";
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                Category category = new Category();
-                category.setId(rs.getInt("id"));
-                category.setName(rs.getString("name"));
-                categories.add(category);
-            }
+        try {
+            return CategoryCatalog.get(this::getConnection).copyAll();
         } catch (SQLException e) {
             System.out.println("Ошибка при получении списка категорий: " + e.getMessage());
+            return new ArrayList<>();
         }
-        return categories;
     }
 
     public void update(Category category) {
@@ -51,7 +48,9 @@ public class CategoryDao {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, category.getName());
             stmt.setInt(2, category.getId());
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                CategoryCatalog.saved(category);
+            }
         } catch (SQLException e) {
             System.out.println("Ошибка при обновлении категории: " + e.getMessage());
         }
@@ -63,27 +62,85 @@ public class CategoryDao {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            CategoryCatalog.deleted(id);
         } catch (SQLException e) {
             System.out.println("Ошибка при удалении категории: " + e.getMessage());
         }
     }
 
     public Category findById(int id) {
-        String sql = "SELECT * FROM categories WHERE id = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Category category = new Category();
-                    category.setId(rs.getInt("id"));
-                    category.setName(rs.getString("name"));
-                    return category;
+        try {
+            Category category = CategoryCatalog.get(this::getConnection).findById(id);
+            return category != null ? CategoryCatalog.copy(category) : null;
+        } catch (SQLException e) {
+            System.out.println("Ошибка при поиске категории: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Первая по id категория с таким названием без учета регистра
+    public Category findByName(String name) {
+        try {
+            Category category = CategoryCatalog.get(this::getConnection).findByName(name);
+            return category != null ? CategoryCatalog.copy(category) : null;
+        } catch (SQLException e) {
+            System.out.println("Ошибка при поиске категории: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Несколько категорий в порядке запрошенных id
+    public List<Category> findAllByIds(Collection<Integer> ids) {
+        Map<Integer, Category> found = new HashMap<>();
+        try {
+            CategoryCatalog.Snapshot snapshot = CategoryCatalog.get(this::getConnection);
+            for (int id : ids) {
+                Category category = snapshot.findById(id);
+                if (category != null) {
+                    found.put(id, CategoryCatalog.copy(category));
                 }
             }
         } catch (SQLException e) {
-            System.out.println("Ошибка при поиске категории: " + e.getMessage());
+            throw new DataAccessException("Ошибка при поиске категорий: " + e.getMessage(), e);
+        }
+        return IdLists.inRequestedOrder(ids, found);
+    }
+
+    public boolean existsById(int id) {
+        try {
+            return CategoryCatalog.get(this::getConnection).findById(id) != null;
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке категории: " + e.getMessage());
+            return false;
         }
-        return null;
+    }
+
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    public long count() {
+        try {
+            return CategoryCatalog.get(this::getConnection).size();
+        } catch (SQLException e) {
+            System.out.println("Ошибка при подсчете категорий: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // Перечитать справочник из БД, не дожидаясь фонового обновления
+    public void refreshCache() {
+        try {
+            CategoryCatalog.refresh(this::getConnection);
+        } catch (SQLException e) {
+            System.out.println("Ошибка при обновлении справочника категорий: " + e.getMessage());
+        }
+    }
+
+    static Category mapRow(ResultSet rs) throws SQLException {
+        Category category = new Category();
+        category.setId(rs.getInt("id"));
+        category.setName(rs.getString("name"));
+        return category;
     }
 }
\ No newline at end of file
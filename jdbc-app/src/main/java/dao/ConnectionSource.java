@@ -0,0 +1,10 @@
+package com.electronics.store.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Источник соединений DAO (обычно this::getConnection)
+@FunctionalInterface
+interface ConnectionSource {
+    Connection get() throws SQLException;
+}
@@ -0,0 +1,99 @@
+package com.electronics.store.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Потоковое чтение через серверный курсор: PostgreSQL отдает строки порциями по fetchSize,
+// поэтому в памяти держится одна порция, а не вся таблица.
+// Курсор работает только вне режима autocommit; соединение возвращается в пул при закрытии потока.
+final class CursorStreams {
+    private CursorStreams() {}
+
+    // Поток держит соединение, пока его не закроют: try (Stream<T> s = ...) { ... };
+    // закрытие фиксирует транзакцию курсора и возвращает соединение в пул
+    static <T> Stream<T> stream(ConnectionSource source, String sql, int fetchSize, RowMapper<T> mapper) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = source.get();
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            // отдельный (некэшируемый) запрос, чтобы размер порции не достался другим вызовам
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            ResultSet rs = stmt.executeQuery();
+            Connection openConn = conn;
+            PreparedStatement openStmt = stmt;
+            return StreamSupport.stream(new CursorSpliterator<>(rs, mapper), false)
+                    .onClose(() -> close(openConn, openStmt));
+        } catch (SQLException e) {
+            close(conn, stmt);
+            throw new DataAccessException("Ошибка при открытии курсора: " + e.getMessage(), e);
+        }
+    }
+
+    private static void close(Connection conn, PreparedStatement stmt) {
+        SQLException error = null;
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            error = e;
+        }
+        if (conn != null) {
+            try {
+                conn.commit();
+            } catch (SQLException e) {
+                error = addSuppressed(error, e);
+            }
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                error = addSuppressed(error, e);
+            }
+        }
+        if (error != null) {
+            throw new DataAccessException("Ошибка при закрытии курсора: " + error.getMessage(), error);
+        }
+    }
+
+    private static SQLException addSuppressed(SQLException first, SQLException next) {
+        if (first == null) {
+            return next;
+        }
+        first.addSuppressed(next);
+        return first;
+    }
+
+    private static class CursorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+
+        CursorSpliterator(ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!rs.next()) {
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                throw new DataAccessException("Ошибка при чтении курсора: " + e.getMessage(), e);
+            }
+        }
+    }
+}
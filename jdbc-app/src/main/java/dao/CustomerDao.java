@@ -1,14 +1,18 @@
 package com.electronics.store.dao;
 
+import com.electronics.store.db.ConnectionPool;
 import com.electronics.store.model.Customer;
+import com.electronics.store.repository.CustomerRepository;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import config.DatabaseConfig;
+import java.util.Map;
 
-public class CustomerDao {
+public class CustomerDao implements CustomerRepository {
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD);
+        return ConnectionPool.getInstance().getConnection();
     }
 
     public void save(Customer customer) {
@@ -36,12 +40,7 @@ public class CustomerDao {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                Customer customer = new Customer();
-                customer.setId(rs.getInt("id"));
-                customer.setName(rs.getString("name"));
-                customer.setEmail(rs.getString("email"));
-                customer.setPhone(rs.getString("phone"));
-                customers.add(customer);
+                customers.add(mapRow(rs));
             }
         } catch (SQLException e) {
             System.out.println("Ошибка при получении списка клиентов: " + e.getMessage());
@@ -81,12 +80,7 @@ public class CustomerDao {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Customer customer = new Customer();
-                    customer.setId(rs.getInt("id"));
-                    customer.setName(rs.getString("name"));
-                    customer.setEmail(rs.getString("email"));
-                    customer.setPhone(rs.getString("phone"));
-                    return customer;
+                    return mapRow(rs);
                 }
             }
         } catch (SQLException e) {
@@ -94,4 +88,90 @@ public class CustomerDao {
         }
         return null;
     }
+
+    // Несколько клиентов одним запросом (id = ANY(массив)) в порядке запрошенных id
+    public List<Customer> findAllByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, Customer> found = new HashMap<>();
+        String sql = "SELECT * FROM customers WHERE id = ANY(?)";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setArray(1, conn.createArrayOf("integer", ids.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Customer customer = mapRow(rs);
+                    found.put(customer.getId(), customer);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Ошибка при поиске клиентов: " + e.getMessage(), e);
+        }
+        return IdLists.inRequestedOrder(ids, found);
+    }
+
+    // Страница клиентов с id больше afterId (keyset-пагинация, без OFFSET); afterId = 0 - первая страница
+    public List<Customer> findPage(int afterId, int limit) {
+        return findPage("SELECT * FROM customers WHERE id > ? ORDER BY id LIMIT ?", afterId, limit);
+    }
+
+    // Страница клиентов с id меньше beforeId, упорядоченная по возрастанию id
+    public List<Customer> findPageBefore(int beforeId, int limit) {
+        return findPage("SELECT * FROM (SELECT * FROM customers WHERE id < ? ORDER BY id DESC LIMIT ?) page ORDER BY id",
+                beforeId, limit);
+    }
+
+    private List<Customer> findPage(String sql, int boundaryId, int limit) {
+        List<Customer> page = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, boundaryId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при получении страницы клиентов: " + e.getMessage());
+        }
+        return page;
+    }
+
+    public boolean existsById(int id) {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM customers WHERE id = ?)", id);
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке клиента: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean existsAny() {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM customers)");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке клиентов: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public long count() {
+        try {
+            return ExistenceQueries.count(this::getConnection, "SELECT count(*) FROM customers");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при подсчете клиентов: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static Customer mapRow(ResultSet rs) throws SQLException {
+        Customer customer = new Customer();
+        customer.setId(rs.getInt("id"));
+        customer.setName(rs.getString("name"));
+        customer.setEmail(rs.getString("email"));
+        customer.setPhone(rs.getString("phone"));
+        return customer;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.electronics.store.dao;
+
+// Ошибка доступа к БД там, где SQLException нельзя пробросить (например, при чтении из Stream)
+public class DataAccessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,33 @@
+package com.electronics.store.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Проверки наличия и подсчет строк: возвращают одно значение вместо загрузки записей.
+// EXISTS останавливается на первой найденной строке, поэтому не зависит от размера таблицы
+final class ExistenceQueries {
+    private ExistenceQueries() {}
+
+    static boolean exists(ConnectionSource source, String sql, int... params) throws SQLException {
+        try (Connection conn = source.get();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setInt(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    static long count(ConnectionSource source, String sql) throws SQLException {
+        try (Connection conn = source.get();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.electronics.store.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+final class IdLists {
+    private IdLists() {}
+
+    // Найденные объекты в порядке запрошенных id; повторы id и отсутствующие записи пропускаются
+    static <T> List<T> inRequestedOrder(Collection<Integer> ids, Map<Integer, T> found) {
+        List<T> result = new ArrayList<>(found.size());
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            T item = found.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+}
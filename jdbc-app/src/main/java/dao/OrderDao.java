@@ -1,21 +1,35 @@
 package com.electronics.store.dao;
 
+import com.electronics.store.db.ConnectionPool;
 import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.repository.OrderRepository;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 import config.DatabaseConfig;
 
-public class OrderDao {
+public class OrderDao implements OrderRepository {
+    private final OrderItemDao orderItemDao = new OrderItemDao();
+
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD);
+        return ConnectionPool.getInstance().getConnection();
     }
 
     public void save(Order order) {
+        try (Connection conn = getConnection()) {
+            insert(conn, order);
+        } catch (SQLException e) {
+            System.out.println("Ошибка при добавлении заказа: " + e.getMessage());
+        }
+    }
+
+    // Вставка заказа на переданном соединении, например внутри транзакции OrderService
+    public void insert(Connection conn, Order order) throws SQLException {
         String sql = "INSERT INTO orders (customer_id, order_date, status) VALUES (?, ?, ?)";
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, order.getCustomerId());
             stmt.setDate(2, new java.sql.Date(order.getOrderDate().getTime()));
             stmt.setString(3, order.getStatus());
@@ -25,8 +39,31 @@ public class OrderDao {
                     order.setId(rs.getInt(1));
                 }
             }
+        }
+    }
+
+    // Заказ и позиции в одной транзакции на одном соединении
+    public void saveWithItems(Order order, List<OrderItem> items) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                insert(conn, order);
+                for (OrderItem item : items) {
+                    item.setOrderId(order.getId());
+                }
+                orderItemDao.insertAll(conn, items);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                order.setId(0);
+                for (OrderItem item : items) {
+                    item.setId(0);
+                    item.setOrderId(0);
+                }
+                throw e;
+            }
         } catch (SQLException e) {
-            System.out.println("Ошибка при добавлении заказа: " + e.getMessage());
+            throw new DataAccessException("Ошибка при оформлении заказа: " + e.getMessage(), e);
         }
     }
 
@@ -37,12 +74,7 @@ public class OrderDao {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                Order order = new Order();
-                order.setId(rs.getInt("id"));
-                order.setCustomerId(rs.getInt("customer_id"));
-                order.setOrderDate(rs.getDate("order_date"));
-                order.setStatus(rs.getString("status"));
-                orders.add(order);
+                orders.add(mapRow(rs));
             }
         } catch (SQLException e) {
             System.out.println("Ошибка при получении списка заказов: " + e.getMessage());
@@ -82,12 +114,7 @@ public class OrderDao {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Order order = new Order();
-                    order.setId(rs.getInt("id"));
-                    order.setCustomerId(rs.getInt("customer_id"));
-                    order.setOrderDate(rs.getDate("order_date"));
-                    order.setStatus(rs.getString("status"));
-                    return order;
+                    return mapRow(rs);
                 }
             }
         } catch (SQLException e) {
@@ -95,4 +122,76 @@ public class OrderDao {
         }
         return null;
     }
+
+    // Страница заказов с id больше afterId (keyset-пагинация, без OFFSET); afterId = 0 - первая страница
+    public List<Order> findPage(int afterId, int limit) {
+        return findPage("SELECT * FROM orders WHERE id > ? ORDER BY id LIMIT ?", afterId, limit);
+    }
+
+    // Страница заказов с id меньше beforeId, упорядоченная по возрастанию id
+    public List<Order> findPageBefore(int beforeId, int limit) {
+        return findPage("SELECT * FROM (SELECT * FROM orders WHERE id < ? ORDER BY id DESC LIMIT ?) page ORDER BY id",
+                beforeId, limit);
+    }
+
+    private List<Order> findPage(String sql, int boundaryId, int limit) {
+        List<Order> page = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, boundaryId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при получении страницы заказов: " + e.getMessage());
+        }
+        return page;
+    }
+
+    // Потоковое чтение всех заказов серверным курсором порциями по STREAM_FETCH_SIZE строк.
+    public Stream<Order> streamAll() {
+        String sql = "SELECT * FROM orders";
+        return CursorStreams.stream(this::getConnection, sql, DatabaseConfig.STREAM_FETCH_SIZE, OrderDao::mapRow);
+    }
+
+    public boolean existsById(int id) {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM orders WHERE id = ?)", id);
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке заказа: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean existsAny() {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM orders)");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке заказов: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public long count() {
+        try {
+            return ExistenceQueries.count(this::getConnection, "SELECT count(*) FROM orders");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при подсчете заказов: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static Order mapRow(ResultSet rs) throws SQLException {
+        Order order = new Order();
+        order.setId(rs.getInt("id"));
+        order.setCustomerId(rs.getInt("customer_id"));
+        order.setOrderDate(rs.getDate("order_date"));
+        order.setStatus(rs.getString("status"));
+        order.setTotalAmount(rs.getDouble("total_amount"));
+        order.setItemCount(rs.getInt("item_count"));
+        return order;
+    }
 }
\ No newline at end of file
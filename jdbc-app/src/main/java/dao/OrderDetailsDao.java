@@ -0,0 +1,63 @@
+package com.electronics.store.dao;
+
+import com.electronics.store.db.ConnectionPool;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderDetails;
+import com.electronics.store.model.OrderLine;
+import com.electronics.store.repository.OrderDetailsRepository;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderDetailsDao implements OrderDetailsRepository {
+    private Connection getConnection() throws SQLException {
+        return ConnectionPool.getInstance().getConnection();
+    }
+
+    // Заказ, его позиции, названия товаров и цены продажи одним запросом; null, если заказа нет
+    public OrderDetails findOrderWithLines(int orderId) {
+        String sql = "SELECT o.id, o.customer_id, o.order_date, o.status, o.total_amount, o.item_count, "
+                + "oi.id AS item_id, oi.product_id, oi.quantity, p.name AS product_name, oi.unit_price AS price, "
+                + "oi.quantity * oi.unit_price AS line_total "
+                + "FROM orders o "
+                + "LEFT JOIN order_items oi ON oi.order_id = o.id "
+                + "LEFT JOIN products p ON p.id = oi.product_id "
+                + "WHERE o.id = ? "
+                + "ORDER BY oi.id";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, orderId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                OrderDetails details = null;
+                List<OrderLine> lines = new ArrayList<>();
+                while (rs.next()) {
+                    if (details == null) {
+                        Order order = new Order();
+                        order.setId(rs.getInt("id"));
+                        order.setCustomerId(rs.getInt("customer_id"));
+                        order.setOrderDate(rs.getDate("order_date"));
+                        order.setStatus(rs.getString("status"));
+                        order.setTotalAmount(rs.getDouble("total_amount"));
+                        order.setItemCount(rs.getInt("item_count"));
+                        details = new OrderDetails(order, lines);
+                    }
+                    int itemId = rs.getInt("item_id");
+                    if (rs.wasNull()) {
+                        continue; // заказ без позиций
+                    }
+                    lines.add(new OrderLine(
+                            itemId,
+                            rs.getInt("product_id"),
+                            rs.getString("product_name"),
+                            rs.getDouble("price"),
+                            rs.getInt("quantity"),
+                            rs.getDouble("line_total")));
+                }
+                return details;
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при получении состава заказа: " + e.getMessage());
+        }
+        return null;
+    }
+}
@@ -1,28 +1,79 @@
 package com.electronics.store.dao;
 
+import com.electronics.store.db.ConnectionPool;
 import com.electronics.store.model.OrderItem;
+import com.electronics.store.repository.OrderItemRepository;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import config.DatabaseConfig;
 
-public class OrderItemDao {
+public class OrderItemDao implements OrderItemRepository {
+    // Сумма и число товаров заказа (orders.total_amount, item_count) меняются тем же запросом, что и позиция:
+    // CTE totals в той же команде, поэтому и одиночные, и пакетные операции атомарны. CTE и основная команда
+    // выполняются на одном снимке в неопределенном порядке; totals меняет только orders и не зависит от результата
+    // основной команды.
+    // Цена берется из products при добавлении позиции или смене товара и дальше хранится в unit_price
+    private static final String INSERT_SQL =
+            "WITH new AS (SELECT v.order_id, v.product_id, v.quantity, p.price AS unit_price "
+            + "FROM (VALUES (?::int, ?::int, ?::int)) v (order_id, product_id, quantity) "
+            + "LEFT JOIN products p ON p.id = v.product_id), "
+            + "totals AS (UPDATE orders o SET total_amount = o.total_amount + new.quantity * new.unit_price, "
+            + "item_count = o.item_count + new.quantity FROM new WHERE o.id = new.order_id) "
+            + "INSERT INTO order_items (order_id, product_id, quantity, unit_price) "
+            + "SELECT order_id, product_id, quantity, unit_price FROM new";
+
+    // Старая позиция читается FOR UPDATE: параллельное изменение той же позиции ждет, и delta строится
+    // по зафиксированной строке. Изменения по заказам суммируются, так как старая и новая позиция
+    // могут относиться к одному заказу
+    private static final String UPDATE_SQL =
+            "WITH old AS (SELECT id, order_id, product_id, quantity, unit_price FROM order_items WHERE id = ? FOR UPDATE), "
+            + "new AS (SELECT old.id, ?::int AS order_id, ?::int AS product_id, ?::int AS quantity, "
+            + "CASE WHEN old.product_id = ?::int THEN old.unit_price "
+            + "ELSE (SELECT price FROM products WHERE id = ?::int) END AS unit_price FROM old), "
+            + "delta AS (SELECT order_id, -quantity AS quantity, -quantity * unit_price AS amount FROM old "
+            + "UNION ALL SELECT order_id, quantity, quantity * unit_price FROM new), "
+            + "totals AS (UPDATE orders o SET total_amount = o.total_amount + d.amount, item_count = o.item_count + d.quantity "
+            + "FROM (SELECT order_id, sum(quantity) AS quantity, sum(amount) AS amount FROM delta GROUP BY order_id) d "
+            + "WHERE o.id = d.order_id) "
+            + "UPDATE order_items i SET order_id = new.order_id, product_id = new.product_id, "
+            + "quantity = new.quantity, unit_price = new.unit_price FROM new WHERE i.id = new.id";
+
+    private static final String DELETE_SQL =
+            "WITH old AS (SELECT id, order_id, quantity, unit_price FROM order_items WHERE id = ? FOR UPDATE), "
+            + "totals AS (UPDATE orders o SET total_amount = o.total_amount - old.quantity * old.unit_price, "
+            + "item_count = o.item_count - old.quantity FROM old WHERE o.id = old.order_id) "
+            + "DELETE FROM order_items i USING old WHERE i.id = old.id";
+
+    // Позициям из пакета, как и при одиночной вставке, возвращаются id и цена продажи
+    private static final BatchWriter.KeySetter<OrderItem> GENERATED = new BatchWriter.KeySetter<>() {
+        @Override
+        public void setKey(OrderItem item, int id) {
+            item.setId(id);
+        }
+
+        @Override
+        public void setGenerated(OrderItem item, ResultSet keys) throws SQLException {
+            item.setId(keys.getInt("id"));
+            item.setUnitPrice(keys.getDouble("unit_price"));
+        }
+    };
+
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD);
+        return ConnectionPool.getInstance().getConnection();
     }
 
     // Добавление товара в заказ
     public void save(OrderItem item) {
-        String sql = "INSERT INTO order_items (order_id, product_id, quantity) VALUES (?, ?, ?)";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, item.getOrderId());
-            stmt.setInt(2, item.getProductId());
-            stmt.setInt(3, item.getQuantity());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, item);
             stmt.executeUpdate();
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
-                    item.setId(rs.getInt(1));
+                    item.setId(rs.getInt("id"));
+                    item.setUnitPrice(rs.getDouble("unit_price"));
                 }
             }
         } catch (SQLException e) {
@@ -39,12 +90,7 @@ public class OrderItemDao {
             stmt.setInt(1, orderId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    OrderItem item = new OrderItem();
-                    item.setId(rs.getInt("id"));
-                    item.setOrderId(rs.getInt("order_id"));
-                    item.setProductId(rs.getInt("product_id"));
-                    item.setQuantity(rs.getInt("quantity"));
-                    items.add(item);
+                    items.add(mapRow(rs));
                 }
             }
         } catch (SQLException e) {
@@ -55,13 +101,9 @@ public class OrderItemDao {
 
     // Обновление позиции заказа
     public void update(OrderItem item) {
-        String sql = "UPDATE order_items SET order_id = ?, product_id = ?, quantity = ? WHERE id = ?";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, item.getOrderId());
-            stmt.setInt(2, item.getProductId());
-            stmt.setInt(3, item.getQuantity());
-            stmt.setInt(4, item.getId());
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+            bindUpdate(stmt, item);
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
                 System.out.println("Позиция заказа с ID " + item.getId() + " не найдена!");
@@ -73,9 +115,8 @@ public class OrderItemDao {
 
     // Удаление позиции заказа
     public void delete(int id) {
-        String sql = "DELETE FROM order_items WHERE id = ?";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
             stmt.setInt(1, id);
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
@@ -94,12 +135,7 @@ public class OrderItemDao {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    OrderItem item = new OrderItem();
-                    item.setId(rs.getInt("id"));
-                    item.setOrderId(rs.getInt("order_id"));
-                    item.setProductId(rs.getInt("product_id"));
-                    item.setQuantity(rs.getInt("quantity"));
-                    return item;
+                    return mapRow(rs);
                 }
             }
         } catch (SQLException e) {
@@ -116,16 +152,90 @@ public class OrderItemDao {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                OrderItem item = new OrderItem();
-                item.setId(rs.getInt("id"));
-                item.setOrderId(rs.getInt("order_id"));
-                item.setProductId(rs.getInt("product_id"));
-                item.setQuantity(rs.getInt("quantity"));
-                items.add(item);
+                items.add(mapRow(rs));
             }
         } catch (SQLException e) {
             System.out.println("Ошибка при получении всех позиций заказов: " + e.getMessage());
         }
         return items;
     }
+
+    // Пакетное добавление позиций заказа одной транзакцией
+    public BatchResult saveAll(List<OrderItem> items) {
+        return BatchWriter.write(this::getConnection, INSERT_SQL, items, OrderItemDao::bindInsert, GENERATED, false);
+    }
+
+    // Пакетное добавление позиций в транзакции вызывающего (соединение не закрывается и не фиксируется)
+    public void insertAll(Connection conn, List<OrderItem> items) throws SQLException {
+        BatchWriter.writeInTransaction(conn, INSERT_SQL, items, OrderItemDao::bindInsert, GENERATED);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, OrderItem item) throws SQLException {
+        stmt.setInt(1, item.getOrderId());
+        stmt.setInt(2, item.getProductId());
+        stmt.setInt(3, item.getQuantity());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, OrderItem item) throws SQLException {
+        stmt.setInt(1, item.getId());
+        stmt.setInt(2, item.getOrderId());
+        stmt.setInt(3, item.getProductId());
+        stmt.setInt(4, item.getQuantity());
+        stmt.setInt(5, item.getProductId());
+        stmt.setInt(6, item.getProductId());
+    }
+
+    // Пакетное обновление позиций заказа
+    public BatchResult updateAll(List<OrderItem> items) {
+        return BatchWriter.write(this::getConnection, UPDATE_SQL, items, OrderItemDao::bindUpdate, null, true);
+    }
+
+    // Пакетное удаление позиций заказа
+    public BatchResult deleteAllById(int[] ids) {
+        return BatchWriter.write(this::getConnection, DELETE_SQL, BatchWriter.ids(ids),
+                (stmt, id) -> stmt.setInt(1, id), null, true);
+    }
+
+    // Потоковое чтение всех позиций заказов серверным курсором порциями по STREAM_FETCH_SIZE строк.
+    public Stream<OrderItem> streamAll() {
+        String sql = "SELECT * FROM order_items";
+        return CursorStreams.stream(this::getConnection, sql, DatabaseConfig.STREAM_FETCH_SIZE, OrderItemDao::mapRow);
+    }
+
+    public boolean existsById(int id) {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM order_items WHERE id = ?)", id);
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке позиции заказа: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean existsAny() {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM order_items)");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке позиций заказов: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public long count() {
+        try {
+            return ExistenceQueries.count(this::getConnection, "SELECT count(*) FROM order_items");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при подсчете позиций заказов: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static OrderItem mapRow(ResultSet rs) throws SQLException {
+        OrderItem item = new OrderItem();
+        item.setId(rs.getInt("id"));
+        item.setOrderId(rs.getInt("order_id"));
+        item.setProductId(rs.getInt("product_id"));
+        item.setQuantity(rs.getInt("quantity"));
+        item.setUnitPrice(rs.getDouble("unit_price"));
+        return item;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,16 @@
 package com.electronics.store.dao;
 
+import com.electronics.store.db.ConnectionPool;
+import com.electronics.store.model.Category;
 import com.electronics.store.model.ProductCategory;
+import com.electronics.store.repository.ProductCategoryRepository;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
-import config.DatabaseConfig;
 
-public class ProductCategoryDao {
+public class ProductCategoryDao implements ProductCategoryRepository {
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD);
+        return ConnectionPool.getInstance().getConnection();
     }
 
     // Добавление связи товара с категорией
@@ -41,4 +43,72 @@ public class ProductCategoryDao {
         }
         return categories;
     }
+
+    // Категории товара целиком одним запросом (соединение с categories)
+    public List<Category> findCategoryObjectsByProduct(int productId) {
+        List<Category> categories = new ArrayList<>();
+        String sql = "SELECT c.id, c.name FROM product_categories pc "
+                + "JOIN categories c ON c.id = pc.category_id "
+                + "WHERE pc.product_id = ? ORDER BY c.id";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, productId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    categories.add(CategoryDao.mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при получении категорий: " + e.getMessage());
+        }
+        return categories;
+    }
+
+    // Пакетное добавление связей товаров с категориями одной транзакцией
+    public BatchResult saveAll(List<ProductCategory> links) {
+        String sql = "INSERT INTO product_categories (product_id, category_id) VALUES (?, ?)";
+        return BatchWriter.write(this::getConnection, sql, links, (stmt, link) -> {
+            stmt.setInt(1, link.getProductId());
+            stmt.setInt(2, link.getCategoryId());
+        }, null, false);
+    }
+
+    // Пакетное удаление связей
+    public BatchResult deleteAll(List<ProductCategory> links) {
+        String sql = "DELETE FROM product_categories WHERE product_id = ? AND category_id = ?";
+        return BatchWriter.write(this::getConnection, sql, links, (stmt, link) -> {
+            stmt.setInt(1, link.getProductId());
+            stmt.setInt(2, link.getCategoryId());
+        }, null, true);
+    }
+
+    // Связь задается парой (товар, категория), отдельного id у нее нет
+    public boolean exists(int productId, int categoryId) {
+        try {
+            return ExistenceQueries.exists(this::getConnection,
+                    "SELECT EXISTS(SELECT 1 FROM product_categories WHERE product_id = ? AND category_id = ?)",
+                    productId, categoryId);
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке связи: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean existsAny() {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM product_categories)");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке связей: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public long count() {
+        try {
+            return ExistenceQueries.count(this::getConnection, "SELECT count(*) FROM product_categories");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при подсчете связей: " + e.getMessage());
+            return 0;
+        }
+    }
 }
\ No newline at end of file
@@ -1,14 +1,43 @@
 package com.electronics.store.dao;
 
+import com.electronics.store.cache.LruCache;
+import com.electronics.store.db.ConnectionPool;
 import com.electronics.store.model.Product;
+import com.electronics.store.repository.ProductRepository;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 import config.DatabaseConfig;
 
-public class ProductDao {
+public class ProductDao implements ProductRepository {
+    // Столбцы товара без search_vector, чтобы не передавать его при каждом чтении
+    private static final String COLUMNS = "id, name, price, description";
+
+    // Кэш товаров по id, общий для всех экземпляров DAO. Хранит копии, наружу тоже отдаются копии.
+    // Изменения через этот DAO сбрасывают запись; изменения в обход (другой процесс, импорт) видны по истечении TTL
+    private static final LruCache<Product> cache =
+            new LruCache<Product>(DatabaseConfig.PRODUCT_CACHE_SIZE, DatabaseConfig.PRODUCT_CACHE_TTL_MS).register("products");
+    private static volatile boolean cacheEnabled = DatabaseConfig.PRODUCT_CACHE_ENABLED;
+
+    public static void setCacheEnabled(boolean enabled) {
+        cacheEnabled = enabled;
+        if (!enabled) {
+            cache.invalidateAll();
+        }
+    }
+
+    public static LruCache<Product> getCache() {
+        return cache;
+    }
+
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD);
+        return ConnectionPool.getInstance().getConnection();
     }
 
     // Добавление товара
@@ -28,6 +57,9 @@ public class ProductDao {
                     product.setId(rs.getInt(1));
                 }
             }
+            if (cacheEnabled && product.getId() > 0) {
+                cache.put(product.getId(), copy(product));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -36,19 +68,14 @@ public class ProductDao {
     // Получение всех товаров
     public List<Product> findAll() {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT * FROM products";
+        String sql = "SELECT " + COLUMNS + " FROM products";
 
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                Product product = new Product();
-                product.setId(rs.getInt("id"));
-                product.setName(rs.getString("name"));
-                product.setPrice(rs.getDouble("price"));
-                product.setDescription(rs.getString("description"));
-                products.add(product);
+                products.add(mapRow(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -66,6 +93,8 @@ public class ProductDao {
             stmt.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            cache.invalidate(product.getId());
         }
     }
 
@@ -77,20 +106,37 @@ public class ProductDao {
             stmt.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            cache.invalidate(id);
         }
     }
+
+    // Товар по id через кэш
     public Product findById(int id) {
-        String sql = "SELECT * FROM products WHERE id = ?";
+        if (!cacheEnabled) {
+            return findByIdUncached(id);
+        }
+        Product cached = cache.get(id);
+        if (cached != null) {
+            return copy(cached);
+        }
+        long generation = cache.generation();
+        Product product = findByIdUncached(id);
+        if (product != null) {
+            cache.put(id, copy(product), generation);
+        }
+        return product;
+    }
+
+    // Товар по id прямо из БД, мимо кэша - для проверок, где устаревшие данные недопустимы
+    public Product findByIdUncached(int id) {
+        String sql = "SELECT " + COLUMNS + " FROM products WHERE id = ?";
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Product product = new Product();
-                    product.setId(rs.getInt("id"));
-                    product.setName(rs.getString("name"));
-                    product.setPrice(rs.getDouble("price"));
-                    return product;
+                    return mapRow(rs);
                 }
             }
         } catch (SQLException e) {
@@ -98,4 +144,152 @@ public class ProductDao {
         }
         return null;
     }
+
+    // Пакетное добавление товаров одной транзакцией, сгенерированные id записываются в объекты
+    public BatchResult saveAll(List<Product> products) {
+        String sql = "INSERT INTO products (name, price, description) VALUES (?, ?, ?)";
+        BatchResult result = BatchWriter.write(this::getConnection, sql, products, (stmt, product) -> {
+            stmt.setString(1, product.getName());
+            stmt.setDouble(2, product.getPrice());
+            stmt.setString(3, product.getDescription());
+        }, Product::setId, false);
+        if (cacheEnabled) {
+            // в кэш попадают только записанные строки: у отвергнутых id мог остаться от откатанной попытки
+            Set<Integer> failed = new HashSet<>();
+            for (BatchResult.Failure failure : result.getFailures()) {
+                failed.add(failure.getIndex());
+            }
+            for (int i = 0; i < products.size(); i++) {
+                Product product = products.get(i);
+                if (!failed.contains(i) && product.getId() > 0) {
+                    cache.put(product.getId(), copy(product));
+                }
+            }
+        }
+        return result;
+    }
+
+    public BatchResult updateAll(List<Product> products) {
+        String sql = "UPDATE products SET name = ?, price = ? WHERE id = ?";
+        try {
+            return BatchWriter.write(this::getConnection, sql, products, (stmt, product) -> {
+                stmt.setString(1, product.getName());
+                stmt.setDouble(2, product.getPrice());
+                stmt.setInt(3, product.getId());
+            }, null, true);
+        } finally {
+            products.forEach(product -> cache.invalidate(product.getId()));
+        }
+    }
+
+    public BatchResult deleteAllById(int[] ids) {
+        String sql = "DELETE FROM products WHERE id = ?";
+        try {
+            return BatchWriter.write(this::getConnection, sql, BatchWriter.ids(ids),
+                    (stmt, id) -> stmt.setInt(1, id), null, true);
+        } finally {
+            for (int id : ids) {
+                cache.invalidate(id);
+            }
+        }
+    }
+
+    // Несколько товаров одним запросом (id = ANY(массив)) в порядке запрошенных id
+    public List<Product> findAllByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, Product> found = new HashMap<>();
+        String sql = "SELECT " + COLUMNS + " FROM products WHERE id = ANY(?)";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setArray(1, conn.createArrayOf("integer", ids.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Product product = mapRow(rs);
+                    found.put(product.getId(), product);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Ошибка при поиске товаров: " + e.getMessage(), e);
+        }
+        return IdLists.inRequestedOrder(ids, found);
+    }
+
+    // Страница товаров с id больше afterId (keyset-пагинация, без OFFSET); afterId = 0 - первая страница
+    public List<Product> findPage(int afterId, int limit) {
+        return findPage("SELECT " + COLUMNS + " FROM products WHERE id > ? ORDER BY id LIMIT ?", afterId, limit);
+    }
+
+    // Страница товаров с id меньше beforeId, упорядоченная по возрастанию id
+    public List<Product> findPageBefore(int beforeId, int limit) {
+        return findPage("SELECT * FROM (SELECT " + COLUMNS + " FROM products WHERE id < ? ORDER BY id DESC LIMIT ?) page "
+                + "ORDER BY id", beforeId, limit);
+    }
+
+    private List<Product> findPage(String sql, int boundaryId, int limit) {
+        List<Product> page = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, boundaryId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return page;
+    }
+
+    // Потоковое чтение всех товаров серверным курсором порциями по STREAM_FETCH_SIZE строк.
+    public Stream<Product> streamAll() {
+        String sql = "SELECT " + COLUMNS + " FROM products";
+        return CursorStreams.stream(this::getConnection, sql, DatabaseConfig.STREAM_FETCH_SIZE, ProductDao::mapRow);
+    }
+
+    // Наличие товара проверяется в БД, а не в кэше, чтобы не опираться на устаревшую запись
+    public boolean existsById(int id) {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM products WHERE id = ?)", id);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean existsAny() {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM products)");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public long count() {
+        try {
+            return ExistenceQueries.count(this::getConnection, "SELECT count(*) FROM products");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    private static Product copy(Product product) {
+        Product copy = new Product(product.getName(), product.getPrice(), product.getDescription());
+        copy.setId(product.getId());
+        return copy;
+    }
+
+    private static Product mapRow(ResultSet rs) throws SQLException {
+        Product product = new Product();
+        product.setId(rs.getInt("id"));
+        product.setName(rs.getString("name"));
+        product.setPrice(rs.getDouble("price"));
+        product.setDescription(rs.getString("description"));
+        return product;
+    }
 }
\ No newline at end of file
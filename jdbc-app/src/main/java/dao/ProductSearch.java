@@ -0,0 +1,67 @@
+package com.electronics.store.dao;
+
+import com.electronics.store.db.ConnectionPool;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.ProductSearchHit;
+import com.electronics.store.model.ProductSearchPage;
+import com.electronics.store.repository.ProductSearchRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Полнотекстовый поиск товаров по названию и описанию (столбец products.search_vector, индекс GIN).
+// Запрос разбирается websearch_to_tsquery: слова через пробел - все должны быть, "фраза", or, -исключение.
+// Совпадения в названии весят больше, чем в описании; фрагменты с подсветкой строятся только для строк страницы
+public class ProductSearch implements ProductSearchRepository {
+    static final String HIGHLIGHT_START = "[";
+    static final String HIGHLIGHT_STOP = "]";
+
+    private static final String SEARCH_SQL =
+            "WITH q AS (SELECT websearch_to_tsquery('russian', ?) AS query), "
+            + "page AS (SELECT p.id, p.name, p.price, p.description, "
+            + "ts_rank_cd(p.search_vector, q.query) AS rank, count(*) OVER () AS total "
+            + "FROM products p, q WHERE p.search_vector @@ q.query "
+            + "ORDER BY rank DESC, p.id LIMIT ? OFFSET ?) "
+            + "SELECT page.*, "
+            + "ts_headline('russian', page.name, q.query, 'HighlightAll=true, StartSel=" + HIGHLIGHT_START
+            + ", StopSel=" + HIGHLIGHT_STOP + "') AS name_headline, "
+            + "ts_headline('russian', coalesce(page.description, ''), q.query, 'MaxWords=20, MinWords=8, StartSel="
+            + HIGHLIGHT_START + ", StopSel=" + HIGHLIGHT_STOP + "') AS description_headline "
+            + "FROM page, q ORDER BY page.rank DESC, page.id";
+
+    private Connection getConnection() throws SQLException {
+        return ConnectionPool.getInstance().getConnection();
+    }
+
+    // offset - число пропускаемых результатов: порядок идет по релевантности, а не по id,
+    // поэтому keyset-пагинация здесь не подходит, а все совпадения все равно ранжируются целиком
+    public ProductSearchPage search(String query, int offset, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return ProductSearchPage.empty();
+        }
+        List<ProductSearchHit> hits = new ArrayList<>();
+        long total = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_SQL)) {
+            stmt.setString(1, query.trim());
+            stmt.setInt(2, limit);
+            stmt.setInt(3, offset);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Product product = new Product(rs.getString("name"), rs.getDouble("price"), rs.getString("description"));
+                    product.setId(rs.getInt("id"));
+                    hits.add(new ProductSearchHit(product, rs.getDouble("rank"),
+                            rs.getString("name_headline"), rs.getString("description_headline")));
+                    total = rs.getLong("total");
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при поиске товаров: " + e.getMessage());
+        }
+        return new ProductSearchPage(hits, total, offset);
+    }
+}
@@ -1,25 +1,61 @@
 package com.electronics.store.dao;
 
+import com.electronics.store.db.ConnectionPool;
+import com.electronics.store.model.RatingStats;
 import com.electronics.store.model.Review;
+import com.electronics.store.repository.ReviewRepository;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import config.DatabaseConfig;
 
-public class ReviewDao {
+public class ReviewDao implements ReviewRepository {
+    // Сводка product_rating_stats меняется тем же запросом, что и reviews (CTE stats в той же команде),
+    // поэтому она атомарна с изменением отзыва и в одиночных, и в пакетных операциях.
+    // delta(product_id, cnt, rating): cnt = 1 - оценка добавлена, -1 - снята
+    private static final String APPLY_RATING_DELTA =
+            "stats AS (INSERT INTO product_rating_stats AS s "
+            + "(product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5) "
+            + "SELECT product_id, sum(cnt), sum(cnt * rating), "
+            + "sum(CASE WHEN rating = 1 THEN cnt ELSE 0 END), sum(CASE WHEN rating = 2 THEN cnt ELSE 0 END), "
+            + "sum(CASE WHEN rating = 3 THEN cnt ELSE 0 END), sum(CASE WHEN rating = 4 THEN cnt ELSE 0 END), "
+            + "sum(CASE WHEN rating = 5 THEN cnt ELSE 0 END) "
+            + "FROM delta GROUP BY product_id "
+            + "ON CONFLICT (product_id) DO UPDATE SET "
+            + "review_count = s.review_count + EXCLUDED.review_count, rating_sum = s.rating_sum + EXCLUDED.rating_sum, "
+            + "stars_1 = s.stars_1 + EXCLUDED.stars_1, stars_2 = s.stars_2 + EXCLUDED.stars_2, "
+            + "stars_3 = s.stars_3 + EXCLUDED.stars_3, stars_4 = s.stars_4 + EXCLUDED.stars_4, "
+            + "stars_5 = s.stars_5 + EXCLUDED.stars_5) ";
+
+    private static final String INSERT_SQL =
+            "WITH delta AS (SELECT ?::int AS product_id, 1 AS cnt, ?::int AS rating), " + APPLY_RATING_DELTA
+            + "INSERT INTO reviews (product_id, customer_id, rating, comment) VALUES (?, ?, ?, ?)";
+
+    // CTE и основная команда выполняются на одном снимке в неопределенном порядке, поэтому корректность
+    // держится на двух вещах: old читает старые товар и оценку FOR UPDATE (параллельное изменение того же
+    // отзыва ждет, и delta строится по зафиксированной строке), а stats меняет отдельную таблицу,
+    // которую основная команда не читает
+    private static final String UPDATE_SQL =
+            "WITH old AS (SELECT id, product_id, rating FROM reviews WHERE id = ? FOR UPDATE), "
+            + "delta AS (SELECT product_id, -1 AS cnt, rating FROM old "
+            + "UNION ALL SELECT ?::int, 1, ?::int FROM old), " + APPLY_RATING_DELTA
+            + "UPDATE reviews r SET product_id = ?, customer_id = ?, rating = ?, comment = ? FROM old WHERE r.id = old.id";
+
+    private static final String DELETE_SQL =
+            "WITH old AS (SELECT id, product_id, rating FROM reviews WHERE id = ? FOR UPDATE), "
+            + "delta AS (SELECT product_id, -1 AS cnt, rating FROM old), " + APPLY_RATING_DELTA
+            + "DELETE FROM reviews r USING old WHERE r.id = old.id";
+
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD);
+        return ConnectionPool.getInstance().getConnection();
     }
 
     // Добавление отзыва
     public void save(Review review) {
-        String sql = "INSERT INTO reviews (product_id, customer_id, rating, comment) VALUES (?, ?, ?, ?)";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, review.getProductId());
-            stmt.setInt(2, review.getCustomerId());
-            stmt.setInt(3, review.getRating());
-            stmt.setString(4, review.getComment());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, review);
             stmt.executeUpdate();
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
@@ -39,13 +75,7 @@ public class ReviewDao {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                Review review = new Review();
-                review.setId(rs.getInt("id"));
-                review.setProductId(rs.getInt("product_id"));
-                review.setCustomerId(rs.getInt("customer_id"));
-                review.setRating(rs.getInt("rating"));
-                review.setComment(rs.getString("comment"));
-                reviews.add(review);
+                reviews.add(mapRow(rs));
             }
         } catch (SQLException e) {
             System.out.println("Ошибка при получении отзывов: " + e.getMessage());
@@ -55,14 +85,9 @@ public class ReviewDao {
 
     // Обновление отзыва
     public void update(Review review) {
-        String sql = "UPDATE reviews SET product_id = ?, customer_id = ?, rating = ?, comment = ? WHERE id = ?";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, review.getProductId());
-            stmt.setInt(2, review.getCustomerId());
-            stmt.setInt(3, review.getRating());
-            stmt.setString(4, review.getComment());
-            stmt.setInt(5, review.getId());
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+            bindUpdate(stmt, review);
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
                 System.out.println("Отзыв с ID " + review.getId() + " не найден!");
@@ -74,10 +99,9 @@ public class ReviewDao {
 
     // Удаление отзыва
     public void delete(int id) {
-        String sql = "DELETE FROM reviews WHERE id = ?";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
+            bindDelete(stmt, id);
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
                 System.out.println("Отзыв с ID " + id + " не найден!");
@@ -95,13 +119,7 @@ public class ReviewDao {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Review review = new Review();
-                    review.setId(rs.getInt("id"));
-                    review.setProductId(rs.getInt("product_id"));
-                    review.setCustomerId(rs.getInt("customer_id"));
-                    review.setRating(rs.getInt("rating"));
-                    review.setComment(rs.getString("comment"));
-                    return review;
+                    return mapRow(rs);
                 }
             }
         } catch (SQLException e) {
@@ -109,4 +127,165 @@ public class ReviewDao {
         }
         return null;
     }
+
+    // Пакетное добавление отзывов одной транзакцией
+    public BatchResult saveAll(List<Review> reviews) {
+        return BatchWriter.write(this::getConnection, INSERT_SQL, reviews, ReviewDao::bindInsert, Review::setId, false);
+    }
+
+    // Пакетное обновление отзывов
+    public BatchResult updateAll(List<Review> reviews) {
+        return BatchWriter.write(this::getConnection, UPDATE_SQL, reviews, ReviewDao::bindUpdate, null, true);
+    }
+
+    // Пакетное удаление отзывов
+    public BatchResult deleteAllById(int[] ids) {
+        return BatchWriter.write(this::getConnection, DELETE_SQL, BatchWriter.ids(ids), ReviewDao::bindDelete, null, true);
+    }
+
+    // Сводка оценок товара; для товара без отзывов - нулевая сводка
+    public RatingStats getRatingStats(int productId) {
+        String sql = "SELECT * FROM product_rating_stats WHERE product_id = ?";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, productId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapStats(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при получении рейтинга товара: " + e.getMessage());
+        }
+        return new RatingStats(productId);
+    }
+
+    // Товары с лучшей средней оценкой среди имеющих не меньше minReviews отзывов.
+    // Условие review_count > 0 и выражение сортировки совпадают с индексом idx_product_rating_stats_avg
+    public List<RatingStats> topRated(int limit, int minReviews) {
+        List<RatingStats> top = new ArrayList<>();
+        String sql = "SELECT s.*, p.name AS product_name FROM product_rating_stats s "
+                + "JOIN products p ON p.id = s.product_id "
+                + "WHERE s.review_count > 0 AND s.review_count >= ? "
+                + "ORDER BY (s.rating_sum::numeric / s.review_count) DESC, s.review_count DESC LIMIT ?";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, minReviews);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    RatingStats stats = mapStats(rs);
+                    stats.setProductName(rs.getString("product_name"));
+                    top.add(stats);
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при получении лучших товаров: " + e.getMessage());
+        }
+        return top;
+    }
+
+    // Страница отзывов с id больше afterId (keyset-пагинация, без OFFSET); afterId = 0 - первая страница
+    public List<Review> findPage(int afterId, int limit) {
+        return findPage("SELECT * FROM reviews WHERE id > ? ORDER BY id LIMIT ?", afterId, limit);
+    }
+
+    // Страница отзывов с id меньше beforeId, упорядоченная по возрастанию id
+    public List<Review> findPageBefore(int beforeId, int limit) {
+        return findPage("SELECT * FROM (SELECT * FROM reviews WHERE id < ? ORDER BY id DESC LIMIT ?) page ORDER BY id",
+                beforeId, limit);
+    }
+
+    private List<Review> findPage(String sql, int boundaryId, int limit) {
+        List<Review> page = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, boundaryId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Ошибка при получении страницы отзывов: " + e.getMessage());
+        }
+        return page;
+    }
+
+    // Потоковое чтение всех отзывов серверным курсором порциями по STREAM_FETCH_SIZE строк.
+    public Stream<Review> streamAll() {
+        String sql = "SELECT * FROM reviews";
+        return CursorStreams.stream(this::getConnection, sql, DatabaseConfig.STREAM_FETCH_SIZE, ReviewDao::mapRow);
+    }
+
+    public boolean existsById(int id) {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM reviews WHERE id = ?)", id);
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке отзыва: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean existsAny() {
+        try {
+            return ExistenceQueries.exists(this::getConnection, "SELECT EXISTS(SELECT 1 FROM reviews)");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при проверке отзывов: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public long count() {
+        try {
+            return ExistenceQueries.count(this::getConnection, "SELECT count(*) FROM reviews");
+        } catch (SQLException e) {
+            System.out.println("Ошибка при подсчете отзывов: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Review review) throws SQLException {
+        stmt.setInt(1, review.getProductId());
+        stmt.setInt(2, review.getRating());
+        stmt.setInt(3, review.getProductId());
+        stmt.setInt(4, review.getCustomerId());
+        stmt.setInt(5, review.getRating());
+        stmt.setString(6, review.getComment());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Review review) throws SQLException {
+        stmt.setInt(1, review.getId());
+        stmt.setInt(2, review.getProductId());
+        stmt.setInt(3, review.getRating());
+        stmt.setInt(4, review.getProductId());
+        stmt.setInt(5, review.getCustomerId());
+        stmt.setInt(6, review.getRating());
+        stmt.setString(7, review.getComment());
+    }
+
+    private static void bindDelete(PreparedStatement stmt, int id) throws SQLException {
+        stmt.setInt(1, id);
+    }
+
+    private static RatingStats mapStats(ResultSet rs) throws SQLException {
+        RatingStats stats = new RatingStats(rs.getInt("product_id"));
+        stats.setReviewCount(rs.getInt("review_count"));
+        stats.setRatingSum(rs.getInt("rating_sum"));
+        for (int stars = 1; stars <= 5; stars++) {
+            stats.setStarCount(stars, rs.getInt("stars_" + stars));
+        }
+        return stats;
+    }
+
+    private static Review mapRow(ResultSet rs) throws SQLException {
+        Review review = new Review();
+        review.setId(rs.getInt("id"));
+        review.setProductId(rs.getInt("product_id"));
+        review.setCustomerId(rs.getInt("customer_id"));
+        review.setRating(rs.getInt("rating"));
+        review.setComment(rs.getString("comment"));
+        return review;
+    }
 }
\ No newline at end of file
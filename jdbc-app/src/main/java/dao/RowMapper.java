@@ -0,0 +1,10 @@
+package com.electronics.store.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Преобразование текущей строки ResultSet в объект модели
+@FunctionalInterface
+public interface RowMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+}
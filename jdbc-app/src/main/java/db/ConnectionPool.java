@@ -0,0 +1,529 @@
+package com.electronics.store.db;
+
+import com.electronics.store.metrics.DaoMetrics;
+import config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Общий для всех DAO пул соединений с PostgreSQL.
+// Размер ограничен maxSize; простаивающие соединения закрываются фоновой задачей,
+// перед выдачей давно простаивавшее соединение проверяется через isValid().
+public class ConnectionPool implements ConnectionPoolMXBean, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final String MBEAN_NAME = "com.electronics.store:type=ConnectionPool";
+
+    private static volatile ConnectionPool instance;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long acquireTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final long validationIntervalNanos;
+    private final int validationTimeoutSec;
+    private final long leakDetectionNanos;
+    private final int statementCacheSize;
+    // null - запросы не оборачиваются StatementTracer
+    private final SlowQueryLog slowQueryLog;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // LIFO: чаще выдаются "теплые" соединения, лишние дольше простаивают и вытесняются
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private int total;
+    private int waiters;
+    private boolean closed;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String user, String password, int maxSize, int minIdle,
+                          long acquireTimeoutMs, long idleTimeoutMs, long validationIntervalMs,
+                          int validationTimeoutSec, long leakDetectionMs, long housekeepingIntervalMs,
+                          int statementCacheSize, SlowQueryLog slowQueryLog) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Размер пула должен быть положительным!");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.validationIntervalNanos = TimeUnit.MILLISECONDS.toNanos(validationIntervalMs);
+        this.validationTimeoutSec = validationTimeoutSec;
+        this.leakDetectionNanos = TimeUnit.MILLISECONDS.toNanos(leakDetectionMs);
+        this.statementCacheSize = statementCacheSize;
+        this.slowQueryLog = slowQueryLog;
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                housekeepingIntervalMs, housekeepingIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Пул, настроенный из DatabaseConfig; создается при первом обращении
+    public static ConnectionPool getInstance() {
+        ConnectionPool pool = instance;
+        if (pool == null) {
+            synchronized (ConnectionPool.class) {
+                pool = instance;
+                if (pool == null) {
+                    pool = new ConnectionPool(DatabaseConfig.URL, DatabaseConfig.USER, DatabaseConfig.PASSWORD,
+                            DatabaseConfig.POOL_MAX_SIZE, DatabaseConfig.POOL_MIN_IDLE,
+                            DatabaseConfig.POOL_ACQUIRE_TIMEOUT_MS, DatabaseConfig.POOL_IDLE_TIMEOUT_MS,
+                            DatabaseConfig.POOL_VALIDATION_INTERVAL_MS, DatabaseConfig.POOL_VALIDATION_TIMEOUT_SEC,
+                            DatabaseConfig.POOL_LEAK_DETECTION_MS, DatabaseConfig.POOL_HOUSEKEEPING_INTERVAL_MS,
+                            DatabaseConfig.STATEMENT_CACHE_SIZE,
+                            SlowQueryLog.create(DatabaseConfig.SLOW_QUERY_THRESHOLD_MS, DatabaseConfig.SLOW_QUERY_TOP_SIZE));
+                    pool.registerMBean();
+                    if (pool.slowQueryLog != null) {
+                        pool.slowQueryLog.register();
+                    }
+                    Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "connection-pool-shutdown"));
+                    instance = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    // Ошибка получения соединения отмечается в метриках текущего вызова репозитория
+    public Connection getConnection() throws SQLException {
+        try {
+            return acquire();
+        } catch (SQLException e) {
+            DaoMetrics.markFailed();
+            throw e;
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeoutNanos;
+        while (true) {
+            PooledConnection candidate = null;
+            boolean createNew = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Пул соединений закрыт");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate != null) {
+                        break;
+                    }
+                    if (total < maxSize) {
+                        total++;
+                        createNew = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        acquireTimeouts.increment();
+                        throw new SQLTimeoutException("Не удалось получить соединение за "
+                                + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " мс (активных: "
+                                + borrowed.size() + ", ожидающих: " + waiters + ")");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Ожидание соединения прервано", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (createNew) {
+                try {
+                    candidate = createPhysical();
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (!validate(candidate)) {
+                destroy(candidate);
+                continue;
+            }
+            return handOut(candidate, start);
+        }
+    }
+
+    private PooledConnection createPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        created.increment();
+        return new PooledConnection(this, physical, statementCacheSize);
+    }
+
+    private boolean validate(PooledConnection pc) {
+        if (System.nanoTime() - pc.getLastReturnedAt() < validationIntervalNanos) {
+            return true;
+        }
+        try {
+            if (pc.physical().isValid(validationTimeoutSec)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            logger.debug("Проверка соединения завершилась ошибкой", e);
+        }
+        validationFailures.increment();
+        return false;
+    }
+
+    private Connection handOut(PooledConnection pc, long start) {
+        borrowed.add(pc);
+        long elapsed = System.nanoTime() - start;
+        acquireCount.increment();
+        acquireNanos.add(elapsed);
+        maxAcquireNanos.accumulateAndGet(elapsed, Math::max);
+        return pc.borrow(leakDetectionNanos > 0);
+    }
+
+    void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        try {
+            if (pc.physical().isClosed()) {
+                destroy(pc);
+                return;
+            }
+            pc.reset();
+        } catch (SQLException e) {
+            logger.warn("Не удалось сбросить состояние соединения, оно будет закрыто: {}", e.getMessage());
+            destroy(pc);
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                total--;
+            } else {
+                idle.addFirst(pc);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        pc.closePhysical();
+        destroyed.increment();
+    }
+
+    void recordStatementCacheHit() {
+        statementCacheHits.increment();
+    }
+
+    void recordStatementCacheMiss() {
+        statementCacheMisses.increment();
+    }
+
+    void recordStatementCacheEviction() {
+        statementCacheEvictions.increment();
+    }
+
+    private void destroy(PooledConnection pc) {
+        pc.closePhysical();
+        destroyed.increment();
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Фоновая задача: вытеснение простаивающих соединений, поиск утечек, поддержание minIdle
+    private void housekeep() {
+        try {
+            evictIdle();
+            detectLeaks();
+            fillMinIdle();
+        } catch (RuntimeException e) {
+            logger.warn("Ошибка обслуживания пула соединений", e);
+        }
+    }
+
+    private void evictIdle() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            // самые старые по времени возврата лежат в конце очереди
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && total - evicted.size() > minIdle) {
+                PooledConnection pc = it.next();
+                if (now - pc.getLastReturnedAt() < idleTimeoutNanos) {
+                    break;
+                }
+                it.remove();
+                evicted.add(pc);
+            }
+            total -= evicted.size();
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : evicted) {
+            pc.closePhysical();
+            destroyed.increment();
+        }
+        if (!evicted.isEmpty()) {
+            logger.debug("Закрыто простаивающих соединений: {}", evicted.size());
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakDetectionNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection pc : borrowed) {
+            if (!pc.isLeakReported() && now - pc.getBorrowedAt() > leakDetectionNanos) {
+                pc.markLeakReported();
+                leaksDetected.increment();
+                logger.warn("Возможная утечка соединения: не возвращено в пул в течение {} мс",
+                        TimeUnit.NANOSECONDS.toMillis(now - pc.getBorrowedAt()), pc.getBorrowSite());
+            }
+        }
+    }
+
+    private void fillMinIdle() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || idle.size() >= minIdle || total >= maxSize) {
+                    return;
+                }
+                total++;
+            } finally {
+                lock.unlock();
+            }
+            PooledConnection pc;
+            try {
+                pc = createPhysical();
+            } catch (SQLException e) {
+                releaseSlot();
+                logger.debug("Не удалось открыть резервное соединение: {}", e.getMessage());
+                return;
+            }
+            lock.lock();
+            try {
+                if (closed) {
+                    total--;
+                } else {
+                    idle.addLast(pc);
+                    available.signal();
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+            pc.closePhysical();
+            destroyed.increment();
+            return;
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (Exception e) {
+            logger.warn("Не удалось зарегистрировать JMX-бин пула: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        for (PooledConnection pc : toClose) {
+            pc.closePhysical();
+            destroyed.increment();
+        }
+        logger.info("Пул соединений закрыт: {}", statsSummary());
+        if (slowQueryLog != null && slowQueryLog.getExecutions() > 0) {
+            slowQueryLog.dump();
+        }
+    }
+
+    public String statsSummary() {
+        return String.format("активных=%d, свободных=%d, ожидающих=%d, выдач=%d, среднее ожидание=%.3f мс, макс=%.3f мс, таймаутов=%d, "
+                        + "кэш запросов: попаданий=%d, промахов=%d, вытеснений=%d",
+                getActiveConnections(), getIdleConnections(), getThreadsAwaitingConnection(), getAcquireCount(),
+                getAverageAcquireMillis(), getMaxAcquireMillis(), getAcquireTimeouts(),
+                getStatementCacheHits(), getStatementCacheMisses(), getStatementCacheEvictions());
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return borrowed.size();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        lock.lock();
+        try {
+            return waiters;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+        return maxSize;
+    }
+
+    @Override
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    @Override
+    public double getAverageAcquireMillis() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0 : acquireNanos.sum() / (double) count / 1_000_000;
+    }
+
+    @Override
+    public double getMaxAcquireMillis() {
+        return maxAcquireNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public long getAcquireTimeouts() {
+        return acquireTimeouts.sum();
+    }
+
+    @Override
+    public long getConnectionsCreated() {
+        return created.sum();
+    }
+
+    @Override
+    public long getConnectionsDestroyed() {
+        return destroyed.sum();
+    }
+
+    @Override
+    public long getValidationFailures() {
+        return validationFailures.sum();
+    }
+
+    @Override
+    public long getLeaksDetected() {
+        return leaksDetected.sum();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    @Override
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions.sum();
+    }
+
+    @Override
+    public double getStatementCacheHitRatio() {
+        long hits = statementCacheHits.sum();
+        long total = hits + statementCacheMisses.sum();
+        return total == 0 ? 0 : hits / (double) total;
+    }
+}
@@ -0,0 +1,25 @@
+package com.electronics.store.db;
+
+// Статистика пула для мониторинга через JMX (com.electronics.store:type=ConnectionPool)
+public interface ConnectionPoolMXBean {
+    int getActiveConnections();
+    int getIdleConnections();
+    int getTotalConnections();
+    int getThreadsAwaitingConnection();
+    int getMaxPoolSize();
+
+    long getAcquireCount();
+    double getAverageAcquireMillis();
+    double getMaxAcquireMillis();
+    long getAcquireTimeouts();
+
+    long getConnectionsCreated();
+    long getConnectionsDestroyed();
+    long getValidationFailures();
+    long getLeaksDetected();
+
+    long getStatementCacheHits();
+    long getStatementCacheMisses();
+    long getStatementCacheEvictions();
+    double getStatementCacheHitRatio();
+}
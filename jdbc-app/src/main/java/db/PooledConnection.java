@@ -0,0 +1,145 @@
+package com.electronics.store.db;
+
+import com.electronics.store.metrics.DaoMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Физическое соединение, которым владеет пул.
+// Каждому заемщику выдается отдельная логическая обертка: её close() возвращает соединение в пул.
+class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final StatementCache statementCache;
+    private final long createdAt = System.nanoTime();
+
+    private volatile long lastReturnedAt = System.nanoTime();
+    private volatile long borrowedAt;
+    private volatile Throwable borrowSite;
+    private volatile boolean leakReported;
+    private volatile Handle currentHandle;
+
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(pool, statementCacheSize) : null;
+    }
+
+    Connection physical() { return physical; }
+    long getCreatedAt() { return createdAt; }
+    long getLastReturnedAt() { return lastReturnedAt; }
+    long getBorrowedAt() { return borrowedAt; }
+    Throwable getBorrowSite() { return borrowSite; }
+    boolean isLeakReported() { return leakReported; }
+    void markLeakReported() { leakReported = true; }
+
+    Connection borrow(boolean captureBorrowSite) {
+        borrowedAt = System.nanoTime();
+        borrowSite = captureBorrowSite ? new Throwable("Соединение взято из пула здесь") : null;
+        leakReported = false;
+        Handle handle = new Handle();
+        currentHandle = handle;
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handle);
+    }
+
+    // Возвращает соединение в исходное состояние перед повторной выдачей
+    void reset() throws SQLException {
+        if (statementCache != null) {
+            statementCache.revokeLeases();
+        }
+        if (!physical.getAutoCommit()) {
+            physical.rollback();
+            physical.setAutoCommit(true);
+        }
+        if (physical.isReadOnly()) {
+            physical.setReadOnly(false);
+        }
+        physical.clearWarnings();
+        lastReturnedAt = System.nanoTime();
+        borrowSite = null;
+    }
+
+    void closePhysical() {
+        try {
+            physical.close();
+        } catch (SQLException ignored) {
+            // соединение уже не нужно
+        }
+    }
+
+    // prepareStatement(sql) и prepareStatement(sql, autoGeneratedKeys)
+    private static boolean isCacheablePrepare(Method method) {
+        if (!method.getName().equals("prepareStatement")) {
+            return false;
+        }
+        Class<?>[] types = method.getParameterTypes();
+        return types.length == 1 || (types.length == 2 && types[1] == int.class);
+    }
+
+    private class Handle implements InvocationHandler {
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        if (currentHandle == this) {
+                            currentHandle = null;
+                            pool.release(PooledConnection.this);
+                        }
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + physical + (closed ? ", closed" : "") + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Соединение уже возвращено в пул");
+                    }
+                    if (statementCache != null && isCacheablePrepare(method)) {
+                        int keys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                        return traced(statementCache.prepare(physical, (Connection) proxy, (String) args[0], keys), args);
+                    }
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    DaoMetrics.markFailed();
+                }
+                throw e.getCause();
+            }
+            return result instanceof Statement statement ? traced(statement, args) : result;
+        }
+
+        // createStatement, prepareStatement и prepareCall - через журнал медленных запросов, если он включен
+        private Statement traced(Statement statement, Object[] args) {
+            SlowQueryLog log = pool.getSlowQueryLog();
+            if (log == null) {
+                return statement;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            return StatementTracer.wrap(statement, sql, log);
+        }
+    }
+}
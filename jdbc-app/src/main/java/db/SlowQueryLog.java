@@ -0,0 +1,190 @@
+package com.electronics.store.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Журнал медленных запросов. Выполнения измеряет StatementTracer: запрос дольше порога
+// (db.slowQuery.thresholdMs) пишется в лог с параметрами и числом строк, ошибки - всегда.
+// Кроме того ведется таблица topSize самых медленных запросов: по строке на текст SQL с худшим выполнением
+public class SlowQueryLog implements SlowQueryLogMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final String MBEAN_NAME = "com.electronics.store:type=SlowQueryLog";
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private volatile long thresholdNanos;
+    private final int topSize;
+    // Таблица по тексту SQL; читается без блокировки, меняется под блокировкой журнала
+    private final ConcurrentMap<String, Entry> top = new ConcurrentHashMap<>();
+    // Наименьшее время в заполненной таблице: более быстрые выполнения отсеиваются без поиска
+    private volatile long topFloorNanos;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder slowExecutions = new LongAdder();
+    private final LongAdder failedExecutions = new LongAdder();
+
+    public SlowQueryLog(long thresholdMs, int topSize) {
+        this.thresholdNanos = thresholdMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.topSize = Math.max(0, topSize);
+        this.topFloorNanos = this.topSize > 0 ? 0 : Long.MAX_VALUE;
+    }
+
+    // null, если не нужны ни лог, ни таблица: тогда запросы не оборачиваются
+    public static SlowQueryLog create(long thresholdMs, int topSize) {
+        return thresholdMs < 0 && topSize <= 0 ? null : new SlowQueryLog(thresholdMs, topSize);
+    }
+
+    public SlowQueryLog register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (Exception e) {
+            logger.warn("Не удалось зарегистрировать JMX-бин журнала запросов: {}", e.getMessage());
+        }
+        return this;
+    }
+
+    // Нужны ли подробности выполнения (параметры, строки): оно медленное или худшее для своего SQL
+    // и попадает в таблицу. false - дальше ничего не передается
+    boolean isInteresting(String sql, long nanos) {
+        long threshold = thresholdNanos;
+        if (threshold >= 0 && nanos >= threshold) {
+            return true;
+        }
+        if (nanos <= topFloorNanos) {
+            return false;
+        }
+        Entry entry = top.get(key(sql));
+        return entry == null || nanos > entry.nanos;
+    }
+
+    void countExecution() {
+        executions.increment();
+    }
+
+    // rows < 0 - число строк неизвестно; batchSize > 0 - пакет из стольких наборов параметров
+    void record(String sql, String binds, long nanos, long rows, int batchSize) {
+        long threshold = thresholdNanos;
+        if (threshold >= 0 && nanos >= threshold) {
+            slowExecutions.increment();
+            logger.warn("Медленный запрос {}: {}; параметры {}", describe(nanos, rows, batchSize), sql, binds);
+        }
+        if (nanos > topFloorNanos) {
+            updateTop(sql, binds, nanos, rows, batchSize);
+        }
+    }
+
+    void recordFailure(String sql, String binds, long nanos, Throwable error) {
+        failedExecutions.increment();
+        logger.warn("Ошибка запроса ({} мс): {}; {}; параметры {}",
+                String.format("%.1f", nanos / 1_000_000.0), error.getMessage(), sql, binds);
+    }
+
+    private synchronized void updateTop(String sql, String binds, long nanos, long rows, int batchSize) {
+        String key = key(sql);
+        Entry current = top.get(key);
+        if (current != null && nanos <= current.nanos) {
+            return;
+        }
+        if (current == null && top.size() >= topSize) {
+            Entry fastest = top.values().stream().min(Comparator.comparingLong(e -> e.nanos)).orElseThrow();
+            if (nanos <= fastest.nanos) {
+                return;
+            }
+            top.remove(fastest.sql);
+        }
+        top.put(key, new Entry(key, nanos, binds, rows, batchSize, LocalDateTime.now()));
+        topFloorNanos = top.size() < topSize ? 0 : top.values().stream().mapToLong(e -> e.nanos).min().orElse(0);
+    }
+
+    private static String key(String sql) {
+        return sql != null ? sql : "?";
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        long threshold = thresholdNanos;
+        return threshold < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(threshold);
+    }
+
+    @Override
+    public void setThresholdMillis(long thresholdMillis) {
+        thresholdNanos = thresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    @Override public int getTopSize() { return topSize; }
+    @Override public long getExecutions() { return executions.sum(); }
+    @Override public long getSlowExecutions() { return slowExecutions.sum(); }
+    @Override public long getFailedExecutions() { return failedExecutions.sum(); }
+
+    @Override
+    public synchronized String[] getTopStatements() {
+        return top.values().stream()
+                .sorted(Comparator.comparingLong((Entry e) -> e.nanos).reversed())
+                .map(e -> describe(e.nanos, e.rows, e.batchSize) + ", " + e.at.format(TIME) + ": " + e.sql
+                        + "; параметры " + e.binds)
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public String dump() {
+        String[] statements = getTopStatements();
+        StringBuilder sb = new StringBuilder("Самые медленные запросы (выполнений ")
+                .append(getExecutions()).append(", медленных ").append(getSlowExecutions())
+                .append(", с ошибкой ").append(getFailedExecutions()).append("):");
+        for (int i = 0; i < statements.length; i++) {
+            sb.append(System.lineSeparator()).append(String.format("%3d. ", i + 1)).append(statements[i]);
+        }
+        String text = sb.toString();
+        logger.info(text);
+        return text;
+    }
+
+    @Override
+    public synchronized void reset() {
+        top.clear();
+        topFloorNanos = topSize > 0 ? 0 : Long.MAX_VALUE;
+        executions.reset();
+        slowExecutions.reset();
+        failedExecutions.reset();
+    }
+
+    private static String describe(long nanos, long rows, int batchSize) {
+        String text = String.format("%.1f мс", nanos / 1_000_000.0);
+        if (batchSize > 0) {
+            text += ", пакет " + batchSize;
+        }
+        return rows >= 0 ? text + ", строк " + rows : text;
+    }
+
+    private static class Entry {
+        private final String sql;
+        private final long nanos;
+        private final String binds;
+        private final long rows;
+        private final int batchSize;
+        private final LocalDateTime at;
+
+        Entry(String sql, long nanos, String binds, long rows, int batchSize, LocalDateTime at) {
+            this.sql = sql;
+            this.nanos = nanos;
+            this.binds = binds;
+            this.rows = rows;
+            this.batchSize = batchSize;
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.electronics.store.db;
+
+// Журнал медленных запросов в JMX (com.electronics.store:type=SlowQueryLog)
+public interface SlowQueryLogMXBean {
+    long getThresholdMillis();
+    // Меньше 0 - медленные запросы не пишутся в лог (таблица самых медленных ведется по-прежнему)
+    void setThresholdMillis(long thresholdMillis);
+    int getTopSize();
+
+    long getExecutions();
+    long getSlowExecutions();
+    long getFailedExecutions();
+
+    // Таблица самых медленных запросов, по строке на запрос
+    String[] getTopStatements();
+    // Пишет таблицу в лог и возвращает ее
+    String dump();
+    void reset();
+}
@@ -0,0 +1,174 @@
+package com.electronics.store.db;
+
+import com.electronics.store.metrics.DaoMetrics;
+import org.postgresql.PGStatement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+// Кэш подготовленных запросов одного физического соединения, ключ - текст SQL.
+// Запросы переводятся в именованные серверные (prepareThreshold = 1), поэтому
+// повторный вызов DAO не тратит время PostgreSQL на разбор и планирование.
+// Соединением в каждый момент пользуется один заемщик, синхронизация не нужна.
+class StatementCache {
+    private final ConnectionPool pool;
+    private final int capacity;
+    // accessOrder = true: итерация начинается с давно не использованных запросов (LRU)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(ConnectionPool pool, int capacity) {
+        this.pool = pool;
+        this.capacity = capacity;
+    }
+
+    PreparedStatement prepare(Connection physical, Connection logical, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "keys:" + sql : sql;
+        Entry entry = entries.get(key);
+        if (entry != null && entry.lease == null) {
+            pool.recordStatementCacheHit();
+            return entry.lease(logical);
+        }
+        pool.recordStatementCacheMiss();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        useServerPrepare(statement);
+        if (entry != null) {
+            // тот же запрос уже выдан (вложенное использование) - отдаем некэшируемую копию
+            return statement;
+        }
+        entry = new Entry(key, statement);
+        entries.put(key, entry);
+        evictOverflow();
+        return entry.lease(logical);
+    }
+
+    private void useServerPrepare(PreparedStatement statement) throws SQLException {
+        if (statement.isWrapperFor(PGStatement.class)) {
+            statement.unwrap(PGStatement.class).setPrepareThreshold(1);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest.lease != null) {
+                continue;
+            }
+            it.remove();
+            eldest.closeQuietly();
+            pool.recordStatementCacheEviction();
+        }
+    }
+
+    // Вызывается при возврате соединения в пул: незакрытые заемщиком запросы отзываются
+    void revokeLeases() {
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            if (entry.lease != null) {
+                entry.lease.closed = true;
+                entry.release();
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private class Entry {
+        private final String key;
+        private final PreparedStatement statement;
+        private Lease lease;
+
+        Entry(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        PreparedStatement lease(Connection logical) {
+            lease = new Lease(this, logical);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, lease);
+        }
+
+        void release() {
+            lease = null;
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                entries.remove(key);
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // запрос уже не нужен
+            }
+        }
+    }
+
+    private static class Lease implements InvocationHandler {
+        private final Entry entry;
+        private final Connection logical;
+        private boolean closed;
+
+        Lease(Entry entry, Connection logical) {
+            this.entry = entry;
+            this.logical = logical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        entry.release();
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "CachedStatement[" + entry.statement + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Запрос уже закрыт");
+                    }
+                    if (method.getName().equals("getConnection")) {
+                        return logical;
+                    }
+                }
+            }
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    DaoMetrics.markFailed();
+                }
+                throw e.getCause();
+            }
+        }
+    }
+}
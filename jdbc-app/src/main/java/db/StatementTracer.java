@@ -0,0 +1,249 @@
+package com.electronics.store.db;
+
+import com.electronics.store.metrics.DaoMetrics;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+// Обертка над запросом соединения из пула: запоминает параметры (setXxx), измеряет каждое выполнение
+// и передает его в SlowQueryLog. Подробности собираются, только если выполнение интересно журналу;
+// для executeQuery число строк известно после закрытия ResultSet (или самого запроса)
+final class StatementTracer implements InvocationHandler {
+    private static final int MAX_VALUE_LENGTH = 100;
+    private static final Object NULL = new Object();
+
+    private final Statement statement;
+    // Текст подготовленного запроса; для Statement текст приходит в execute
+    private final String sql;
+    private final SlowQueryLog log;
+    private Object[] binds = new Object[8];
+    private int bindCount;
+    private int batchSize;
+    private PendingQuery pending;
+
+    private StatementTracer(Statement statement, String sql, SlowQueryLog log) {
+        this.statement = statement;
+        this.sql = sql;
+        this.log = log;
+    }
+
+    static Statement wrap(Statement statement, String sql, SlowQueryLog log) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                new StatementTracer(statement, sql, log));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("execute")) {
+            return execute(method, args);
+        }
+        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+            bind(index, name.equals("setNull") || args[1] == null ? NULL : args[1]);
+        } else {
+            switch (name) {
+                case "clearParameters" -> bindCount = 0;
+                case "addBatch" -> batchSize++;
+                case "clearBatch" -> batchSize = 0;
+                case "close" -> finishPending();
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+        }
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        // Повторное выполнение закрывает предыдущий ResultSet
+        finishPending();
+        String text = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+        int batch = batchSize;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            long elapsed = System.nanoTime() - start;
+            log.countExecution();
+            if (e.getCause() instanceof SQLException) {
+                DaoMetrics.markFailed();
+                log.recordFailure(text, formatBinds(), elapsed, e.getCause());
+            }
+            throw e.getCause();
+        }
+        long elapsed = System.nanoTime() - start;
+        log.countExecution();
+        String name = method.getName();
+        if (name.endsWith("Batch")) {
+            batchSize = 0;
+        }
+        if (!log.isInteresting(text, elapsed)) {
+            return result;
+        }
+        switch (name) {
+            case "executeQuery" -> {
+                pending = new PendingQuery(text, formatBinds(), elapsed);
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                        new RowCounter((ResultSet) result, pending));
+            }
+            case "executeUpdate", "executeLargeUpdate" ->
+                    log.record(text, formatBinds(), elapsed, ((Number) result).longValue(), 0);
+            case "executeBatch" -> log.record(text, formatBinds(), elapsed, sum((int[]) result), batch);
+            case "executeLargeBatch" -> log.record(text, formatBinds(), elapsed, sum((long[]) result), batch);
+            default -> log.record(text, formatBinds(), elapsed, -1, 0);
+        }
+        return result;
+    }
+
+    private void finishPending() {
+        if (pending != null) {
+            pending.finish();
+            pending = null;
+        }
+    }
+
+    private void bind(int index, Object value) {
+        if (index < 1) {
+            return;
+        }
+        if (index > binds.length) {
+            binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+        }
+        binds[index - 1] = value;
+        bindCount = Math.max(bindCount, index);
+    }
+
+    // Параметры последнего набора; при пакете - последнего добавленного
+    private String formatBinds() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < bindCount; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(i + 1).append('=').append(format(binds[i]));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String format(Object value) {
+        if (value == NULL) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " байт>";
+        }
+        if (value instanceof InputStream || value instanceof Reader) {
+            return "<поток>";
+        }
+        String text = String.valueOf(value);
+        if (text.length() > MAX_VALUE_LENGTH) {
+            text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+        }
+        return value instanceof String ? "'" + text + "'" : text;
+    }
+
+    private static long sum(int[] counts) {
+        long rows = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                rows += count;
+            }
+        }
+        return rows;
+    }
+
+    private static long sum(long[] counts) {
+        long rows = 0;
+        for (long count : counts) {
+            if (count > 0) {
+                rows += count;
+            }
+        }
+        return rows;
+    }
+
+    // Выполненный запрос, ждущий закрытия ResultSet, чтобы узнать число строк
+    private final class PendingQuery {
+        private final String text;
+        private final String binds;
+        private final long nanos;
+        private long rows;
+        private boolean finished;
+
+        PendingQuery(String text, String binds, long nanos) {
+            this.text = text;
+            this.binds = binds;
+            this.nanos = nanos;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                log.record(text, binds, nanos, rows, 0);
+            }
+        }
+    }
+
+    private static final class RowCounter implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final PendingQuery query;
+
+        RowCounter(ResultSet resultSet, PendingQuery query) {
+            this.resultSet = resultSet;
+            this.query = query;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            switch (method.getName()) {
+                case "next" -> {
+                    if ((Boolean) result) {
+                        query.rows++;
+                    }
+                }
+                case "close" -> query.finish();
+                default -> {
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.electronics.store.http;
+
+// Ошибка запроса к API с HTTP-статусом; текст уходит клиенту в {"error": "..."}
+class ApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    // Текст ошибки проверки (InputValidator.check*) - в 400; null - значение корректно
+    static void check(String error) {
+        if (error != null) {
+            throw badRequest(error);
+        }
+    }
+
+    static ApiException badRequest(String message) {
+        return new ApiException(400, message);
+    }
+
+    static ApiException notFound(String message) {
+        return new ApiException(404, message);
+    }
+
+    static ApiException methodNotAllowed() {
+        return new ApiException(405, "Метод не поддерживается");
+    }
+
+    static ApiException conflict(String message) {
+        return new ApiException(409, message);
+    }
+}
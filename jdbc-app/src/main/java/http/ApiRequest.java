@@ -0,0 +1,189 @@
+package com.electronics.store.http;
+
+import com.electronics.store.validation.InputValidator;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Разобранный запрос: метод, сегменты пути после /api/, параметры строки запроса и JSON-тело
+final class ApiRequest {
+    // Тело больше этого размера не читается
+    private static final int MAX_BODY_BYTES = 1 << 20;
+
+    private final String method;
+    private final List<String> segments;
+    private final Map<String, String> query;
+    private final HttpExchange exchange;
+    private Map<String, Object> body;
+
+    private ApiRequest(String method, List<String> segments, Map<String, String> query, HttpExchange exchange) {
+        this.method = method;
+        this.segments = segments;
+        this.query = query;
+        this.exchange = exchange;
+    }
+
+    static ApiRequest from(HttpExchange exchange, String prefix) {
+        String path = exchange.getRequestURI().getRawPath().substring(prefix.length());
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        Map<String, String> query = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                query.put(name, value);
+            }
+        }
+        return new ApiRequest(exchange.getRequestMethod(), segments, query, exchange);
+    }
+
+    String method() { return method; }
+
+    void requireMethod(String expected) {
+        if (!method.equals(expected)) {
+            throw ApiException.methodNotAllowed();
+        }
+    }
+    int segmentCount() { return segments.size(); }
+
+    String segment(int index) {
+        return index < segments.size() ? segments.get(index) : null;
+    }
+
+    // Сегмент пути как id: не число или не положительное - 404, как и несуществующий id
+    int id(int index) {
+        String segment = segment(index);
+        try {
+            int id = InputValidator.parseIntStrict(segment, "id");
+            if (id > 0) {
+                return id;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // ниже
+        }
+        throw ApiException.notFound("Не найдено: " + segment);
+    }
+
+    String query(String name) {
+        return query.get(name);
+    }
+
+    int queryInt(String name, int defaultValue, int min, int max) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = InputValidator.parseIntStrict(value, name);
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // ниже
+        }
+        throw ApiException.badRequest("Параметр " + name + " должен быть целым числом от " + min + " до " + max);
+    }
+
+    // Тело запроса как JSON-объект
+    Map<String, Object> body() {
+        if (body == null) {
+            Object parsed = Json.parse(readBody());
+            if (!(parsed instanceof Map<?, ?>)) {
+                throw ApiException.badRequest("Тело запроса должно быть JSON-объектом");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> object = (Map<String, Object>) parsed;
+            body = object;
+        }
+        return body;
+    }
+
+    String string(String field, boolean required) {
+        Object value = body().get(field);
+        if (value == null) {
+            if (required) {
+                throw ApiException.badRequest("Не задано поле " + field);
+            }
+            return null;
+        }
+        if (!(value instanceof String s)) {
+            throw ApiException.badRequest("Поле " + field + " должно быть строкой");
+        }
+        return s;
+    }
+
+    int integer(String field) {
+        BigDecimal value = number(field);
+        try {
+            return value.intValueExact();
+        } catch (ArithmeticException e) {
+            throw ApiException.badRequest("Поле " + field + " должно быть целым числом");
+        }
+    }
+
+    double decimal(String field) {
+        return number(field).doubleValue();
+    }
+
+    boolean has(String field) {
+        return body().get(field) != null;
+    }
+
+    private BigDecimal number(String field) {
+        Object value = body().get(field);
+        if (value == null) {
+            throw ApiException.badRequest("Не задано поле " + field);
+        }
+        if (!(value instanceof BigDecimal number)) {
+            throw ApiException.badRequest("Поле " + field + " должно быть числом");
+        }
+        return number;
+    }
+
+    List<Object> list(String field) {
+        Object value = body().get(field);
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?>)) {
+            throw ApiException.badRequest("Поле " + field + " должно быть массивом");
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> list = (List<Object>) value;
+        return list;
+    }
+
+    String header(String name) {
+        return exchange.getRequestHeaders().getFirst(name);
+    }
+
+    private String readBody() {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Тело запроса слишком большое");
+            }
+            if (bytes.length == 0) {
+                throw ApiException.badRequest("Пустое тело запроса");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw ApiException.badRequest("Не удалось прочитать тело запроса: " + e.getMessage());
+        }
+    }
+}
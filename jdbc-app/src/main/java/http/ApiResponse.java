@@ -0,0 +1,34 @@
+package com.electronics.store.http;
+
+// Ответ ресурса. cacheable - ответ на чтение каталога: сервер добавляет ETag и отвечает 304 на If-None-Match
+final class ApiResponse {
+    private final int status;
+    private final String body;
+    private final boolean cacheable;
+
+    private ApiResponse(int status, String body, boolean cacheable) {
+        this.status = status;
+        this.body = body;
+        this.cacheable = cacheable;
+    }
+
+    static ApiResponse ok(JsonWriter json) {
+        return new ApiResponse(200, json.toString(), false);
+    }
+
+    static ApiResponse cacheable(JsonWriter json) {
+        return new ApiResponse(200, json.toString(), true);
+    }
+
+    static ApiResponse created(JsonWriter json) {
+        return new ApiResponse(201, json.toString(), false);
+    }
+
+    static ApiResponse noContent() {
+        return new ApiResponse(204, null, false);
+    }
+
+    int getStatus() { return status; }
+    String getBody() { return body; }
+    boolean isCacheable() { return cacheable; }
+}
@@ -0,0 +1,73 @@
+package com.electronics.store.http;
+
+import com.electronics.store.model.Category;
+import com.electronics.store.repository.CategoryRepository;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.validation.InputValidator;
+
+// /api/categories: GET, GET /{id}, POST, PUT /{id}, DELETE /{id}
+class CategoryResource implements Resource {
+    private final CategoryRepository categoryRepository;
+
+    CategoryResource(Repositories repositories) {
+        this.categoryRepository = repositories.categories();
+    }
+
+    @Override
+    public ApiResponse handle(ApiRequest request) {
+        if (request.segmentCount() == 1) {
+            return switch (request.method()) {
+                case "GET" -> ApiResponse.cacheable(ModelJson.list(categoryRepository.findAll(), ModelJson::category));
+                case "POST" -> create(request);
+                default -> throw ApiException.methodNotAllowed();
+            };
+        }
+        if (request.segmentCount() > 2) {
+            throw ApiException.notFound("Нет ресурса");
+        }
+        int id = request.id(1);
+        return switch (request.method()) {
+            case "GET" -> ApiResponse.cacheable(ModelJson.one(requireCategory(id), ModelJson::category));
+            case "PUT" -> update(request, id);
+            case "DELETE" -> delete(id);
+            default -> throw ApiException.methodNotAllowed();
+        };
+    }
+
+    private ApiResponse create(ApiRequest request) {
+        String name = request.string("name", true);
+        ApiException.check(InputValidator.checkCategoryName(name));
+        Category category = new Category(name.trim());
+        categoryRepository.save(category);
+        if (category.getId() == 0) {
+            throw ApiException.conflict("Категория не сохранена");
+        }
+        return ApiResponse.created(ModelJson.one(category, ModelJson::category));
+    }
+
+    private ApiResponse update(ApiRequest request, int id) {
+        Category category = requireCategory(id);
+        String name = request.string("name", true);
+        ApiException.check(InputValidator.checkCategoryName(name));
+        category.setName(name.trim());
+        categoryRepository.update(category);
+        return ApiResponse.ok(ModelJson.one(category, ModelJson::category));
+    }
+
+    private ApiResponse delete(int id) {
+        requireCategory(id);
+        categoryRepository.delete(id);
+        if (categoryRepository.existsById(id)) {
+            throw ApiException.conflict("Категория не удалена: в ней есть товары");
+        }
+        return ApiResponse.noContent();
+    }
+
+    private Category requireCategory(int id) {
+        Category category = categoryRepository.findById(id);
+        if (category == null) {
+            throw ApiException.notFound("Категория с ID " + id + " не найдена");
+        }
+        return category;
+    }
+}
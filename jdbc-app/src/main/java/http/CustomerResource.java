@@ -0,0 +1,106 @@
+package com.electronics.store.http;
+
+import com.electronics.store.model.Customer;
+import com.electronics.store.repository.CustomerRepository;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.validation.InputValidator;
+
+import java.util.List;
+
+// /api/customers: GET ?after=&limit=, GET /{id}, POST, PUT /{id}, DELETE /{id}
+class CustomerResource implements Resource {
+    private static final int MAX_LIMIT = 200;
+
+    private final CustomerRepository customerRepository;
+
+    CustomerResource(Repositories repositories) {
+        this.customerRepository = repositories.customers();
+    }
+
+    @Override
+    public ApiResponse handle(ApiRequest request) {
+        if (request.segmentCount() == 1) {
+            return switch (request.method()) {
+                case "GET" -> list(request);
+                case "POST" -> create(request);
+                default -> throw ApiException.methodNotAllowed();
+            };
+        }
+        if (request.segmentCount() > 2) {
+            throw ApiException.notFound("Нет ресурса");
+        }
+        int id = request.id(1);
+        return switch (request.method()) {
+            case "GET" -> ApiResponse.ok(ModelJson.one(requireCustomer(id), ModelJson::customer));
+            case "PUT" -> update(request, id);
+            case "DELETE" -> delete(id);
+            default -> throw ApiException.methodNotAllowed();
+        };
+    }
+
+    private ApiResponse list(ApiRequest request) {
+        int after = request.queryInt("after", 0, 0, Integer.MAX_VALUE);
+        int limit = request.queryInt("limit", 50, 1, MAX_LIMIT);
+        List<Customer> page = customerRepository.findPage(after, limit);
+        int lastId = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        return ApiResponse.ok(ModelJson.page(page, limit, ModelJson::customer, lastId));
+    }
+
+    private ApiResponse create(ApiRequest request) {
+        String name = request.string("name", true);
+        String email = request.string("email", true);
+        String phone = request.string("phone", true);
+        ApiException.check(InputValidator.checkCustomerName(name));
+        ApiException.check(InputValidator.checkEmail(email));
+        ApiException.check(InputValidator.checkPhone(phone));
+        Customer customer = new Customer(name, email, phone);
+        customerRepository.save(customer);
+        if (customer.getId() == 0) {
+            throw ApiException.conflict("Клиент не сохранен: возможно, email " + email + " уже используется");
+        }
+        return ApiResponse.created(ModelJson.one(customer, ModelJson::customer));
+    }
+
+    // Меняются только переданные поля
+    private ApiResponse update(ApiRequest request, int id) {
+        Customer customer = requireCustomer(id);
+        if (request.has("name")) {
+            String name = request.string("name", true);
+            ApiException.check(InputValidator.checkCustomerName(name));
+            customer.setName(name);
+        }
+        if (request.has("email")) {
+            String email = request.string("email", true);
+            ApiException.check(InputValidator.checkEmail(email));
+            customer.setEmail(email);
+        }
+        if (request.has("phone")) {
+            String phone = request.string("phone", true);
+            ApiException.check(InputValidator.checkPhone(phone));
+            customer.setPhone(phone);
+        }
+        customerRepository.update(customer);
+        Customer saved = requireCustomer(id);
+        if (!saved.getEmail().equals(customer.getEmail())) {
+            throw ApiException.conflict("Клиент не изменен: возможно, email " + customer.getEmail() + " уже используется");
+        }
+        return ApiResponse.ok(ModelJson.one(saved, ModelJson::customer));
+    }
+
+    private ApiResponse delete(int id) {
+        requireCustomer(id);
+        customerRepository.delete(id);
+        if (customerRepository.existsById(id)) {
+            throw ApiException.conflict("Клиент не удален (возможно, у него есть заказы или отзывы)");
+        }
+        return ApiResponse.noContent();
+    }
+
+    private Customer requireCustomer(int id) {
+        Customer customer = customerRepository.findById(id);
+        if (customer == null) {
+            throw ApiException.notFound("Клиент с ID " + id + " не найден");
+        }
+        return customer;
+    }
+}
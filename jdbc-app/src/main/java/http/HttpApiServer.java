@@ -0,0 +1,158 @@
+package com.electronics.store.http;
+
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.repository.async.AsyncRepositories;
+import com.electronics.store.service.OrderService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+// HTTP API с JSON поверх репозиториев: /api/products, /api/categories, /api/customers, /api/orders, /api/reviews.
+// Запросы обрабатываются параллельно пулом из http.threads потоков; когда пул и очередь заняты,
+// новые соединения принимаются медленнее (запрос выполняет поток приема). Чтение каталога отдается с ETag,
+// на совпавший If-None-Match сервер отвечает 304 без тела
+public class HttpApiServer {
+    private static final Logger logger = LoggerFactory.getLogger(HttpApiServer.class);
+    private static final String PREFIX = "/api/";
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Resource> resources = new HashMap<>();
+
+    public HttpApiServer(int port, int threads, int queueSize, Repositories repositories) throws IOException {
+        AsyncRepositories async = new AsyncRepositories(repositories);
+        resources.put("products", new ProductResource(repositories));
+        resources.put("categories", new CategoryResource(repositories));
+        resources.put("customers", new CustomerResource(repositories));
+        resources.put("orders", new OrderResource(repositories, new OrderService(repositories)));
+        resources.put("reviews", new ReviewResource(repositories, async));
+        resources.put("health", request -> ApiResponse.ok(new JsonWriter().beginObject()
+                .field("status", "ok").field("engine", repositories.engine()).endObject()));
+
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+                    Thread thread = new Thread(r, "http-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+    }
+
+    // Сервер из настроек (http.*)
+    public static HttpApiServer create(int port) throws IOException {
+        return new HttpApiServer(port, DatabaseConfig.HTTP_THREADS, DatabaseConfig.HTTP_QUEUE_SIZE, Repositories.get());
+    }
+
+    public void start() {
+        server.start();
+        logger.info("HTTP API запущен: http://localhost:{}{} (потоков: {})",
+                server.getAddress().getPort(), PREFIX, executor.getMaximumPoolSize());
+    }
+
+    // Ждет завершения текущих запросов не дольше delaySeconds
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        logger.info("HTTP API остановлен");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            ApiResponse response;
+            ApiRequest request = null;
+            try {
+                request = ApiRequest.from(exchange, PREFIX);
+                Resource resource = resources.get(request.segment(0));
+                if (resource == null) {
+                    throw ApiException.notFound("Нет ресурса: " + exchange.getRequestURI().getPath());
+                }
+                response = resource.handle(request);
+            } catch (ApiException e) {
+                sendError(exchange, e.getStatus(), e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Ошибка обработки {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.toString());
+                sendError(exchange, 500, "Внутренняя ошибка сервера");
+                return;
+            }
+            send(exchange, request, response);
+        }
+    }
+
+    private static void send(HttpExchange exchange, ApiRequest request, ApiResponse response) throws IOException {
+        if (response.getBody() == null) {
+            exchange.sendResponseHeaders(response.getStatus(), -1);
+            return;
+        }
+        byte[] bytes = response.getBody().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (response.isCacheable() && request.method().equals("GET")) {
+            String etag = etag(bytes);
+            exchange.getResponseHeaders().set("ETag", etag);
+            // Кэшировать можно, но перед использованием - сверять ETag
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (matches(request.header("If-None-Match"), etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        exchange.sendResponseHeaders(response.getStatus(), bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = new JsonWriter().beginObject().field("error", message).endObject().toString()
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // ETag по содержимому ответа: совпадает, пока не изменились данные, из которых он построен
+    private static String etag(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return "\"" + Integer.toHexString(body.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,130 @@
+package com.electronics.store.http;
+
+import java.math.BigDecimal;
+
+// Построение JSON-ответа в один StringBuilder. Запятые между элементами расставляются сами:
+// new JsonWriter().beginObject().field("id", 1).field("name", "Мышь").endObject().toString()
+final class JsonWriter {
+    private final StringBuilder sb = new StringBuilder(256);
+    // Нужна ли запятая перед следующим элементом текущего уровня
+    private boolean comma;
+
+    JsonWriter beginObject() {
+        separate();
+        sb.append('{');
+        comma = false;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        sb.append('}');
+        comma = true;
+        return this;
+    }
+
+    JsonWriter beginArray() {
+        separate();
+        sb.append('[');
+        comma = false;
+        return this;
+    }
+
+    JsonWriter endArray() {
+        sb.append(']');
+        comma = true;
+        return this;
+    }
+
+    // Имя поля; значение - следующим вызовом (value, beginObject, beginArray)
+    JsonWriter name(String name) {
+        separate();
+        string(name);
+        sb.append(':');
+        comma = false;
+        return this;
+    }
+
+    JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, boolean value) {
+        name(name);
+        sb.append(value);
+        comma = true;
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            sb.append("null");
+        } else {
+            string(value);
+        }
+        comma = true;
+        return this;
+    }
+
+    JsonWriter value(long value) {
+        separate();
+        sb.append(value);
+        comma = true;
+        return this;
+    }
+
+    // Деньги и средние оценки: без экспоненты и лишних знаков
+    JsonWriter value(double value) {
+        separate();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append("null");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            sb.append((long) value);
+        } else {
+            sb.append(BigDecimal.valueOf(value).stripTrailingZeros().toPlainString());
+        }
+        comma = true;
+        return this;
+    }
+
+    private void separate() {
+        if (comma) {
+            sb.append(',');
+        }
+    }
+
+    private void string(String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
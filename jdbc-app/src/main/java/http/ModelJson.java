@@ -0,0 +1,136 @@
+package com.electronics.store.http;
+
+import com.electronics.store.model.Category;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderDetails;
+import com.electronics.store.model.OrderLine;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.RatingStats;
+import com.electronics.store.model.Review;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// Представление моделей в JSON-ответах API
+final class ModelJson {
+    private ModelJson() {}
+
+    static void product(JsonWriter json, Product product) {
+        json.beginObject()
+                .field("id", product.getId())
+                .field("name", product.getName())
+                .field("price", product.getPrice())
+                .field("description", product.getDescription())
+                .endObject();
+    }
+
+    static void category(JsonWriter json, Category category) {
+        json.beginObject().field("id", category.getId()).field("name", category.getName()).endObject();
+    }
+
+    static void customer(JsonWriter json, Customer customer) {
+        json.beginObject()
+                .field("id", customer.getId())
+                .field("name", customer.getName())
+                .field("email", customer.getEmail())
+                .field("phone", customer.getPhone())
+                .endObject();
+    }
+
+    static void order(JsonWriter json, Order order) {
+        json.beginObject();
+        orderFields(json, order);
+        json.endObject();
+    }
+
+    static void orderDetails(JsonWriter json, OrderDetails details) {
+        json.beginObject();
+        orderFields(json, details.getOrder());
+        json.name("lines").beginArray();
+        for (OrderLine line : details.getLines()) {
+            json.beginObject()
+                    .field("itemId", line.getItemId())
+                    .field("productId", line.getProductId())
+                    .field("productName", line.getProductName())
+                    .field("price", line.getPrice())
+                    .field("quantity", line.getQuantity())
+                    .field("lineTotal", line.getLineTotal())
+                    .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    static void review(JsonWriter json, Review review) {
+        json.beginObject()
+                .field("id", review.getId())
+                .field("productId", review.getProductId())
+                .field("customerId", review.getCustomerId())
+                .field("rating", review.getRating())
+                .field("comment", review.getComment())
+                .endObject();
+    }
+
+    static void ratingStats(JsonWriter json, RatingStats stats) {
+        json.beginObject()
+                .field("productId", stats.getProductId())
+                .field("productName", stats.getProductName())
+                .field("reviewCount", stats.getReviewCount())
+                .field("average", stats.getAverage())
+                .name("stars").beginArray();
+        for (int stars = 1; stars <= 5; stars++) {
+            json.value(stats.getStarCount(stars));
+        }
+        json.endArray().endObject();
+    }
+
+    // Страница keyset-пагинации: {"items": [...], "nextAfter": id последнего или null, если страница неполная}
+    static <T> JsonWriter page(List<T> items, int limit, BiConsumer<JsonWriter, T> writer, int lastId) {
+        JsonWriter json = new JsonWriter().beginObject().name("items").beginArray();
+        for (T item : items) {
+            writer.accept(json, item);
+        }
+        json.endArray().name("nextAfter");
+        if (items.size() < limit) {
+            json.value((String) null);
+        } else {
+            json.value(lastId);
+        }
+        return json.endObject();
+    }
+
+    static <T> JsonWriter list(List<T> items, BiConsumer<JsonWriter, T> writer) {
+        JsonWriter json = new JsonWriter().beginArray();
+        for (T item : items) {
+            writer.accept(json, item);
+        }
+        return json.endArray();
+    }
+
+    static <T> JsonWriter one(T item, BiConsumer<JsonWriter, T> writer) {
+        JsonWriter json = new JsonWriter();
+        writer.accept(json, item);
+        return json;
+    }
+
+    private static void orderFields(JsonWriter json, Order order) {
+        json.field("id", order.getId())
+                .field("customerId", order.getCustomerId())
+                .field("date", date(order.getOrderDate()))
+                .field("status", order.getStatus())
+                .field("itemCount", order.getItemCount())
+                .field("totalAmount", order.getTotalAmount());
+    }
+
+    private static String date(Date date) {
+        if (date == null) {
+            return null;
+        }
+        LocalDate local = date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate()
+                : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        return local.toString();
+    }
+}
@@ -0,0 +1,145 @@
+package com.electronics.store.http;
+
+import com.electronics.store.dao.DataAccessException;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderDetails;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.repository.OrderDetailsRepository;
+import com.electronics.store.repository.OrderRepository;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.service.OrderService;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// /api/orders: GET ?after=&limit=, GET /{id} (с позициями), POST (заказ с позициями одной транзакцией),
+// PUT /{id} (статус, дата), DELETE /{id}
+class OrderResource implements Resource {
+    private static final int MAX_LIMIT = 200;
+
+    private final OrderRepository orderRepository;
+    private final OrderDetailsRepository orderDetailsRepository;
+    private final OrderService orderService;
+
+    OrderResource(Repositories repositories, OrderService orderService) {
+        this.orderRepository = repositories.orders();
+        this.orderDetailsRepository = repositories.orderDetails();
+        this.orderService = orderService;
+    }
+
+    @Override
+    public ApiResponse handle(ApiRequest request) {
+        if (request.segmentCount() == 1) {
+            return switch (request.method()) {
+                case "GET" -> list(request);
+                case "POST" -> create(request);
+                default -> throw ApiException.methodNotAllowed();
+            };
+        }
+        if (request.segmentCount() > 2) {
+            throw ApiException.notFound("Нет ресурса");
+        }
+        int id = request.id(1);
+        return switch (request.method()) {
+            case "GET" -> ApiResponse.ok(ModelJson.one(requireDetails(id), ModelJson::orderDetails));
+            case "PUT" -> update(request, id);
+            case "DELETE" -> delete(id);
+            default -> throw ApiException.methodNotAllowed();
+        };
+    }
+
+    private ApiResponse list(ApiRequest request) {
+        int after = request.queryInt("after", 0, 0, Integer.MAX_VALUE);
+        int limit = request.queryInt("limit", 50, 1, MAX_LIMIT);
+        List<Order> page = orderRepository.findPage(after, limit);
+        int lastId = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        return ApiResponse.ok(ModelJson.page(page, limit, ModelJson::order, lastId));
+    }
+
+    // {"customerId": 1, "date": "2025-06-27", "status": "в процессе", "items": [{"productId": 2, "quantity": 1}]}
+    // date по умолчанию - сегодня, status - "в процессе"
+    private ApiResponse create(ApiRequest request) {
+        int customerId = request.integer("customerId");
+        Date date = request.has("date") ? parseDate(request.string("date", true)) : Date.valueOf(LocalDate.now());
+        String status = request.has("status") ? checkStatus(request.string("status", true)) : "в процессе";
+        List<OrderItem> items = new ArrayList<>();
+        for (Object element : request.list("items")) {
+            if (!(element instanceof Map<?, ?> item)) {
+                throw ApiException.badRequest("Позиция заказа должна быть объектом {productId, quantity}");
+            }
+            items.add(new OrderItem(0, intOf(item, "productId"), intOf(item, "quantity")));
+        }
+        Order order = new Order(customerId, date, status);
+        try {
+            orderService.placeOrder(order, items);
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest(e.getMessage());
+        } catch (DataAccessException e) {
+            throw new ApiException(500, "Заказ не оформлен: " + e.getMessage());
+        }
+        return ApiResponse.created(ModelJson.one(requireDetails(order.getId()), ModelJson::orderDetails));
+    }
+
+    private ApiResponse update(ApiRequest request, int id) {
+        Order order = orderRepository.findById(id);
+        if (order == null) {
+            throw ApiException.notFound("Заказ с ID " + id + " не найден");
+        }
+        if (request.has("status")) {
+            order.setStatus(checkStatus(request.string("status", true)));
+        }
+        if (request.has("date")) {
+            order.setOrderDate(parseDate(request.string("date", true)));
+        }
+        orderRepository.update(order);
+        return ApiResponse.ok(ModelJson.one(requireDetails(id), ModelJson::orderDetails));
+    }
+
+    private ApiResponse delete(int id) {
+        requireDetails(id);
+        orderRepository.delete(id);
+        if (orderRepository.existsById(id)) {
+            throw ApiException.conflict("Заказ не удален (возможно, в нем есть позиции)");
+        }
+        return ApiResponse.noContent();
+    }
+
+    private OrderDetails requireDetails(int id) {
+        OrderDetails details = orderDetailsRepository.findOrderWithLines(id);
+        if (details == null) {
+            throw ApiException.notFound("Заказ с ID " + id + " не найден");
+        }
+        return details;
+    }
+
+    private static String checkStatus(String status) {
+        if (!Order.STATUSES.contains(status)) {
+            throw ApiException.badRequest("Недопустимый статус: " + status + " (допустимо " + Order.STATUSES + ")");
+        }
+        return status;
+    }
+
+    private static Date parseDate(String value) {
+        try {
+            return Date.valueOf(LocalDate.parse(value));
+        } catch (DateTimeParseException e) {
+            throw ApiException.badRequest("Дата должна быть в формате ГГГГ-ММ-ДД: " + value);
+        }
+    }
+
+    private static int intOf(Map<?, ?> item, String field) {
+        if (!(item.get(field) instanceof BigDecimal number)) {
+            throw ApiException.badRequest("В позиции заказа не задано число " + field);
+        }
+        try {
+            return number.intValueExact();
+        } catch (ArithmeticException e) {
+            throw ApiException.badRequest("Поле " + field + " позиции заказа должно быть целым числом");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.electronics.store.http;
+
+import com.electronics.store.model.Product;
+import com.electronics.store.model.ProductSearchHit;
+import com.electronics.store.model.ProductSearchPage;
+import com.electronics.store.repository.ProductCategoryRepository;
+import com.electronics.store.repository.ProductRepository;
+import com.electronics.store.repository.ProductSearchRepository;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.repository.ReviewRepository;
+import com.electronics.store.validation.InputValidator;
+
+import java.util.List;
+
+// /api/products: GET ?after=&limit=, GET /search?q=&offset=&limit=, GET /{id}, GET /{id}/rating,
+// GET /{id}/categories, POST, PUT /{id}, DELETE /{id}
+class ProductResource implements Resource {
+    private static final int MAX_LIMIT = 200;
+
+    private final ProductRepository productRepository;
+    private final ProductSearchRepository productSearch;
+    private final ProductCategoryRepository productCategoryRepository;
+    private final ReviewRepository reviewRepository;
+
+    ProductResource(Repositories repositories) {
+        this.productRepository = repositories.products();
+        this.productSearch = repositories.productSearch();
+        this.productCategoryRepository = repositories.productCategories();
+        this.reviewRepository = repositories.reviews();
+    }
+
+    @Override
+    public ApiResponse handle(ApiRequest request) {
+        if (request.segmentCount() == 1) {
+            return switch (request.method()) {
+                case "GET" -> list(request);
+                case "POST" -> create(request);
+                default -> throw ApiException.methodNotAllowed();
+            };
+        }
+        if ("search".equals(request.segment(1))) {
+            request.requireMethod("GET");
+            return search(request);
+        }
+        int id = request.id(1);
+        if (request.segmentCount() == 3) {
+            request.requireMethod("GET");
+            requireProduct(id);
+            return switch (request.segment(2)) {
+                case "rating" -> ApiResponse.cacheable(ModelJson.one(reviewRepository.getRatingStats(id), ModelJson::ratingStats));
+                case "categories" -> ApiResponse.cacheable(ModelJson.list(
+                        productCategoryRepository.findCategoryObjectsByProduct(id), ModelJson::category));
+                default -> throw ApiException.notFound("Нет ресурса: " + request.segment(2));
+            };
+        }
+        if (request.segmentCount() > 3) {
+            throw ApiException.notFound("Нет ресурса");
+        }
+        return switch (request.method()) {
+            case "GET" -> ApiResponse.cacheable(ModelJson.one(requireProduct(id), ModelJson::product));
+            case "PUT" -> update(request, id);
+            case "DELETE" -> delete(id);
+            default -> throw ApiException.methodNotAllowed();
+        };
+    }
+
+    private ApiResponse list(ApiRequest request) {
+        int after = request.queryInt("after", 0, 0, Integer.MAX_VALUE);
+        int limit = request.queryInt("limit", 50, 1, MAX_LIMIT);
+        List<Product> page = productRepository.findPage(after, limit);
+        int lastId = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        return ApiResponse.cacheable(ModelJson.page(page, limit, ModelJson::product, lastId));
+    }
+
+    private ApiResponse search(ApiRequest request) {
+        String query = request.query("q");
+        if (query == null || query.isBlank()) {
+            throw ApiException.badRequest("Не задан параметр q");
+        }
+        int offset = request.queryInt("offset", 0, 0, Integer.MAX_VALUE);
+        int limit = request.queryInt("limit", 20, 1, MAX_LIMIT);
+        ProductSearchPage page = productSearch.search(query, offset, limit);
+        JsonWriter json = new JsonWriter().beginObject()
+                .field("total", page.getTotalMatches())
+                .field("offset", page.getOffset())
+                .name("items").beginArray();
+        for (ProductSearchHit hit : page.getHits()) {
+            json.beginObject().name("product");
+            ModelJson.product(json, hit.getProduct());
+            json.field("rank", hit.getRank())
+                    .field("nameHighlight", hit.getNameHighlight())
+                    .field("descriptionHighlight", hit.getDescriptionHighlight())
+                    .endObject();
+        }
+        return ApiResponse.cacheable(json.endArray().endObject());
+    }
+
+    private ApiResponse create(ApiRequest request) {
+        String name = request.string("name", true);
+        double price = request.decimal("price");
+        String description = request.string("description", true);
+        ApiException.check(InputValidator.checkProductName(name));
+        ApiException.check(InputValidator.checkPrice(price));
+        ApiException.check(InputValidator.checkProductDescription(description));
+        Product product = new Product(name.trim(), price, description.trim());
+        productRepository.save(product);
+        if (product.getId() == 0) {
+            throw ApiException.conflict("Товар не сохранен");
+        }
+        return ApiResponse.created(ModelJson.one(product, ModelJson::product));
+    }
+
+    // Меняются название и цена, как и в консоли
+    private ApiResponse update(ApiRequest request, int id) {
+        Product product = requireProduct(id);
+        if (request.has("name")) {
+            String name = request.string("name", true);
+            ApiException.check(InputValidator.checkProductName(name));
+            product.setName(name.trim());
+        }
+        if (request.has("price")) {
+            double price = request.decimal("price");
+            ApiException.check(InputValidator.checkPrice(price));
+            product.setPrice(price);
+        }
+        productRepository.update(product);
+        return ApiResponse.ok(ModelJson.one(product, ModelJson::product));
+    }
+
+    private ApiResponse delete(int id) {
+        requireProduct(id);
+        productRepository.delete(id);
+        if (productRepository.existsById(id)) {
+            throw ApiException.conflict("Товар не удален: на него ссылаются заказы, отзывы или категории");
+        }
+        return ApiResponse.noContent();
+    }
+
+    private Product requireProduct(int id) {
+        Product product = productRepository.findById(id);
+        if (product == null) {
+            throw ApiException.notFound("Товар с ID " + id + " не найден");
+        }
+        return product;
+    }
+}
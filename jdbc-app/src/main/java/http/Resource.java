@@ -0,0 +1,6 @@
+package com.electronics.store.http;
+
+// Обработчик запросов к /api/<имя ресурса>/...; вызывается параллельно из потоков сервера
+interface Resource {
+    ApiResponse handle(ApiRequest request);
+}
@@ -0,0 +1,115 @@
+package com.electronics.store.http;
+
+import com.electronics.store.model.Review;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.repository.ReviewRepository;
+import com.electronics.store.repository.async.AsyncRepositories;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// /api/reviews: GET ?after=&limit=, GET /top?limit=&minReviews=, GET /{id}, POST, PUT /{id}, DELETE /{id}
+class ReviewResource implements Resource {
+    private static final int MAX_LIMIT = 200;
+
+    private final ReviewRepository reviewRepository;
+    private final AsyncRepositories async;
+
+    ReviewResource(Repositories repositories, AsyncRepositories async) {
+        this.reviewRepository = repositories.reviews();
+        this.async = async;
+    }
+
+    @Override
+    public ApiResponse handle(ApiRequest request) {
+        if (request.segmentCount() == 1) {
+            return switch (request.method()) {
+                case "GET" -> list(request);
+                case "POST" -> create(request);
+                default -> throw ApiException.methodNotAllowed();
+            };
+        }
+        if (request.segmentCount() > 2) {
+            throw ApiException.notFound("Нет ресурса");
+        }
+        if ("top".equals(request.segment(1))) {
+            request.requireMethod("GET");
+            int limit = request.queryInt("limit", 10, 1, MAX_LIMIT);
+            int minReviews = request.queryInt("minReviews", 1, 1, Integer.MAX_VALUE);
+            return ApiResponse.cacheable(ModelJson.list(reviewRepository.topRated(limit, minReviews), ModelJson::ratingStats));
+        }
+        int id = request.id(1);
+        return switch (request.method()) {
+            case "GET" -> ApiResponse.ok(ModelJson.one(requireReview(id), ModelJson::review));
+            case "PUT" -> update(request, id);
+            case "DELETE" -> delete(id);
+            default -> throw ApiException.methodNotAllowed();
+        };
+    }
+
+    private ApiResponse list(ApiRequest request) {
+        int after = request.queryInt("after", 0, 0, Integer.MAX_VALUE);
+        int limit = request.queryInt("limit", 50, 1, MAX_LIMIT);
+        List<Review> page = reviewRepository.findPage(after, limit);
+        int lastId = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        return ApiResponse.ok(ModelJson.page(page, limit, ModelJson::review, lastId));
+    }
+
+    private ApiResponse create(ApiRequest request) {
+        int productId = request.integer("productId");
+        int customerId = request.integer("customerId");
+        int rating = checkRating(request.integer("rating"));
+        String comment = request.string("comment", false);
+
+        // Товар и клиент проверяются параллельно, как при добавлении отзыва из меню
+        CompletableFuture<Boolean> productFound = async.products().supply(r -> r.existsById(productId));
+        CompletableFuture<Boolean> customerFound = async.customers().supply(r -> r.existsById(customerId));
+        if (!productFound.join()) {
+            throw ApiException.badRequest("Товар с ID " + productId + " не найден");
+        }
+        if (!customerFound.join()) {
+            throw ApiException.badRequest("Клиент с ID " + customerId + " не найден");
+        }
+
+        Review review = new Review(productId, customerId, rating, comment);
+        reviewRepository.save(review);
+        if (review.getId() == 0) {
+            throw new ApiException(500, "Отзыв не сохранен");
+        }
+        return ApiResponse.created(ModelJson.one(review, ModelJson::review));
+    }
+
+    // Меняются оценка и комментарий; товар и клиент отзыва остаются прежними
+    private ApiResponse update(ApiRequest request, int id) {
+        Review review = requireReview(id);
+        if (request.has("rating")) {
+            review.setRating(checkRating(request.integer("rating")));
+        }
+        if (request.has("comment")) {
+            review.setComment(request.string("comment", false));
+        }
+        reviewRepository.update(review);
+        return ApiResponse.ok(ModelJson.one(requireReview(id), ModelJson::review));
+    }
+
+    private ApiResponse delete(int id) {
+        requireReview(id);
+        reviewRepository.delete(id);
+        return ApiResponse.noContent();
+    }
+
+    private Review requireReview(int id) {
+        Review review = reviewRepository.findById(id);
+        if (review == null) {
+            throw ApiException.notFound("Отзыв с ID " + id + " не найден");
+        }
+        return review;
+    }
+
+    private static int checkRating(int rating) {
+        if (rating < 1 || rating > 5) {
+            throw ApiException.badRequest("Рейтинг должен быть целым числом от 1 до 5");
+        }
+        return rating;
+    }
+}
@@ -0,0 +1,336 @@
+package com.electronics.store.importer;
+
+import com.electronics.store.db.ConnectionPool;
+import com.electronics.store.validation.InputValidator;
+import config.DatabaseConfig;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Массовая загрузка прайс-листа через COPY.
+// Формат строки: название, цена, описание[, категории через '|'], первая строка может быть заголовком.
+// Файл читается построчно и отправляется пачками по chunkSize строк (одна транзакция на пачку),
+// поэтому расход памяти не зависит от размера файла.
+public class CatalogImporter {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImporter.class);
+
+    // Ограничения схемы (database/schema.sql)
+    private static final int MAX_PRODUCT_NAME_LENGTH = 200;
+    private static final int MAX_CATEGORY_NAME_LENGTH = 100;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final ConnectionPool pool;
+    private final int chunkSize;
+
+    public CatalogImporter() {
+        this(ConnectionPool.getInstance(), DatabaseConfig.IMPORT_CHUNK_SIZE);
+    }
+
+    public CatalogImporter(ConnectionPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public ImportReport importFile(Path file) throws IOException, SQLException {
+        char delimiter = detectDelimiter(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, delimiter);
+        }
+    }
+
+    public ImportReport importFrom(BufferedReader reader, char delimiter) throws IOException, SQLException {
+        ImportReport report = new ImportReport();
+        long start = System.nanoTime();
+        DelimitedLineParser parser = new DelimitedLineParser(delimiter);
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+            Map<String, Integer> categories = loadCategories(conn);
+            conn.commit();
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1) {
+                    if (line.startsWith("\uFEFF")) {
+                        line = line.substring(1);
+                    }
+                    if (isHeader(line)) {
+                        continue;
+                    }
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.lineRead();
+                Row row = parseRow(parser, line, lineNumber, report);
+                if (row != null) {
+                    chunk.add(row);
+                    if (chunk.size() >= chunkSize) {
+                        flush(conn, copyManager, chunk, categories, report);
+                        chunk.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flush(conn, copyManager, chunk, categories, report);
+            }
+        }
+        report.finish(System.nanoTime() - start);
+        logger.info("Импорт каталога: {} товаров, отклонено {}, {} строк/с",
+                report.getProductsImported(), report.getRejected(), String.format("%.0f", report.getRowsPerSecond()));
+        return report;
+    }
+
+    private static char detectDelimiter(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".tsv") || name.endsWith(".tab")) {
+            return '\t';
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String first = reader.readLine();
+            return first != null && first.indexOf('\t') >= 0 ? '\t' : ',';
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        String lower = line.toLowerCase(Locale.ROOT);
+        return lower.startsWith("name") || lower.startsWith("\"name") || lower.startsWith("название");
+    }
+
+    private Row parseRow(DelimitedLineParser parser, String line, long lineNumber, ImportReport report) {
+        List<String> fields;
+        try {
+            fields = parser.parse(line);
+        } catch (IllegalArgumentException e) {
+            report.reject(lineNumber, e.getMessage());
+            return null;
+        }
+        if (fields.size() < 3) {
+            report.reject(lineNumber, "Ожидается минимум 3 поля: название, цена, описание");
+            return null;
+        }
+
+        String name = fields.get(0).trim();
+        String error = InputValidator.checkProductName(name);
+        if (error == null && name.length() > MAX_PRODUCT_NAME_LENGTH) {
+            error = "Название длиннее " + MAX_PRODUCT_NAME_LENGTH + " символов!";
+        }
+        if (error != null) {
+            report.reject(lineNumber, error);
+            return null;
+        }
+
+        BigDecimal price;
+        try {
+            String priceText = fields.get(1).trim();
+            error = InputValidator.checkPrice(InputValidator.parseDoubleStrict(priceText, "Цена должна быть числом!"));
+            price = new BigDecimal(priceText).setScale(2, RoundingMode.HALF_UP);
+        } catch (IllegalArgumentException e) {
+            report.reject(lineNumber, e.getMessage());
+            return null;
+        }
+        if (error == null && price.compareTo(MAX_PRICE) > 0) {
+            error = "Цена не может превышать " + MAX_PRICE + "!";
+        }
+        if (error != null) {
+            report.reject(lineNumber, error);
+            return null;
+        }
+
+        String description = fields.get(2).trim();
+        error = InputValidator.checkProductDescription(description);
+        if (error != null) {
+            report.reject(lineNumber, error);
+            return null;
+        }
+
+        // ключ - название в нижнем регистре, значение - название как в файле
+        Map<String, String> categoryNames = new LinkedHashMap<>();
+        if (fields.size() > 3) {
+            for (String category : fields.get(3).split("\\|")) {
+                String trimmed = category.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                error = InputValidator.checkCategoryName(trimmed);
+                if (error == null && trimmed.length() > MAX_CATEGORY_NAME_LENGTH) {
+                    error = "Название категории длиннее " + MAX_CATEGORY_NAME_LENGTH + " символов!";
+                }
+                if (error != null) {
+                    report.reject(lineNumber, error);
+                    return null;
+                }
+                categoryNames.putIfAbsent(categoryKey(trimmed), trimmed);
+            }
+        }
+        return new Row(lineNumber, name, price, description, categoryNames);
+    }
+
+    private static String categoryKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private Map<String, Integer> loadCategories(Connection conn) throws SQLException {
+        Map<String, Integer> categories = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, name FROM categories ORDER BY id")) {
+            while (rs.next()) {
+                categories.putIfAbsent(categoryKey(rs.getString("name")), rs.getInt("id"));
+            }
+        }
+        return categories;
+    }
+
+    private void flush(Connection conn, CopyManager copyManager, List<Row> chunk,
+                       Map<String, Integer> categories, ImportReport report) throws SQLException {
+        List<String> createdCategories = new ArrayList<>();
+        try {
+            for (Row row : chunk) {
+                for (Map.Entry<String, String> category : row.categoryNames.entrySet()) {
+                    if (!categories.containsKey(category.getKey())) {
+                        categories.put(category.getKey(), insertCategory(conn, category.getValue()));
+                        createdCategories.add(category.getKey());
+                    }
+                }
+            }
+
+            int[] ids = reserveProductIds(conn, chunk.size());
+            StringBuilder sb = new StringBuilder(256);
+            CopyIn products = copyManager.copyIn("COPY products (id, name, price, description) FROM STDIN");
+            try {
+                for (int i = 0; i < chunk.size(); i++) {
+                    Row row = chunk.get(i);
+                    sb.setLength(0);
+                    sb.append(ids[i]).append('\t');
+                    appendEscaped(sb, row.name).append('\t');
+                    sb.append(row.price.toPlainString()).append('\t');
+                    appendEscaped(sb, row.description).append('\n');
+                    write(products, sb);
+                }
+                products.endCopy();
+            } finally {
+                if (products.isActive()) {
+                    products.cancelCopy();
+                }
+            }
+
+            int links = 0;
+            CopyIn productCategories = copyManager.copyIn("COPY product_categories (product_id, category_id) FROM STDIN");
+            try {
+                for (int i = 0; i < chunk.size(); i++) {
+                    for (String key : chunk.get(i).categoryNames.keySet()) {
+                        sb.setLength(0);
+                        sb.append(ids[i]).append('\t').append(categories.get(key)).append('\n');
+                        write(productCategories, sb);
+                        links++;
+                    }
+                }
+                productCategories.endCopy();
+            } finally {
+                if (productCategories.isActive()) {
+                    productCategories.cancelCopy();
+                }
+            }
+
+            conn.commit();
+            report.productsImported(chunk.size());
+            report.linksImported(links);
+            for (int i = 0; i < createdCategories.size(); i++) {
+                report.categoryCreated();
+            }
+            logger.debug("Загружена пачка из {} товаров", chunk.size());
+        } catch (SQLException e) {
+            conn.rollback();
+            createdCategories.forEach(categories::remove);
+            logger.warn("Пачка из {} товаров не загружена: {}", chunk.size(), e.getMessage());
+            for (Row row : chunk) {
+                report.reject(row.lineNumber, "Пачка не загружена: " + e.getMessage());
+            }
+        }
+    }
+
+    private int insertCategory(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO categories (name) VALUES (?) RETURNING id")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    // id берутся из последовательности заранее, чтобы сразу записать связи с категориями
+    private int[] reserveProductIds(Connection conn, int count) throws SQLException {
+        int[] ids = new int[count];
+        String sql = "SELECT nextval(pg_get_serial_sequence('products', 'id')) FROM generate_series(1, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, count);
+            try (ResultSet rs = stmt.executeQuery()) {
+                for (int i = 0; i < count && rs.next(); i++) {
+                    ids[i] = rs.getInt(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder sb) throws SQLException {
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+    }
+
+    // Экранирование для текстового формата COPY
+    private static StringBuilder appendEscaped(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    private static class Row {
+        final long lineNumber;
+        final String name;
+        final BigDecimal price;
+        final String description;
+        final Map<String, String> categoryNames;
+
+        Row(long lineNumber, String name, BigDecimal price, String description, Map<String, String> categoryNames) {
+            this.lineNumber = lineNumber;
+            this.name = name;
+            this.price = price;
+            this.description = description;
+            this.categoryNames = categoryNames;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.electronics.store.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Разбор одной строки CSV (поля в кавычках, "" внутри кавычек) или TSV (только табуляция)
+class DelimitedLineParser {
+    private final char delimiter;
+    private final boolean quoted;
+
+    DelimitedLineParser(char delimiter) {
+        this.delimiter = delimiter;
+        this.quoted = delimiter != '\t';
+    }
+
+    List<String> parse(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (quoted && c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("Незакрытая кавычка");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,78 @@
+package com.electronics.store.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Итог импорта: счетчики, скорость и первые отклоненные строки (остальные только считаются)
+public class ImportReport {
+    static final int MAX_REJECTED_SAMPLES = 100;
+
+    private long linesRead;
+    private long productsImported;
+    private long linksImported;
+    private long categoriesCreated;
+    private long rejected;
+    private long elapsedNanos;
+    private final List<RejectedLine> rejectedSamples = new ArrayList<>();
+
+    void lineRead() { linesRead++; }
+    void productsImported(int count) { productsImported += count; }
+    void linksImported(int count) { linksImported += count; }
+    void categoryCreated() { categoriesCreated++; }
+    void finish(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+
+    void reject(long lineNumber, String reason) {
+        rejected++;
+        if (rejectedSamples.size() < MAX_REJECTED_SAMPLES) {
+            rejectedSamples.add(new RejectedLine(lineNumber, reason));
+        }
+    }
+
+    public long getLinesRead() { return linesRead; }
+    public long getProductsImported() { return productsImported; }
+    public long getLinksImported() { return linksImported; }
+    public long getCategoriesCreated() { return categoriesCreated; }
+    public long getRejected() { return rejected; }
+    public List<RejectedLine> getRejectedSamples() { return Collections.unmodifiableList(rejectedSamples); }
+    public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : productsImported * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Импорт завершен за %.1f с: строк прочитано %d, товаров загружено %d, связей %d, "
+                        + "новых категорий %d, отклонено %d, скорость %.0f строк/с",
+                elapsedNanos / 1e9, linesRead, productsImported, linksImported,
+                categoriesCreated, rejected, getRowsPerSecond()));
+        for (RejectedLine line : rejectedSamples) {
+            sb.append("\n  ").append(line);
+        }
+        if (rejected > rejectedSamples.size()) {
+            sb.append("\n  ... и еще ").append(rejected - rejectedSamples.size());
+        }
+        return sb.toString();
+    }
+
+    public static class RejectedLine {
+        private final long lineNumber;
+        private final String reason;
+
+        RejectedLine(long lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "строка " + lineNumber + ": " + reason;
+        }
+    }
+}
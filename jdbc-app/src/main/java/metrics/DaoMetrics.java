@@ -0,0 +1,220 @@
+package com.electronics.store.metrics;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.ProductSearchPage;
+import config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Метрики методов репозиториев (имя вида OrderDao.findAll): вызовы, ошибки, строки и гистограмма задержек.
+// Репозиторий оборачивается динамическим прокси (instrument), метрики регистрируются в JMX
+// (com.electronics.store:type=DaoMetrics,name=...) и раз в metrics.logIntervalMs пишутся в лог
+public final class DaoMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(DaoMetrics.class);
+    private static final String MBEAN_PREFIX = "com.electronics.store:type=DaoMetrics,name=";
+
+    private static final ConcurrentMap<String, MethodMetrics> METRICS = new ConcurrentHashMap<>();
+    // DAO перехватывают SQLException и только печатают сообщение, поэтому такие ошибки отмечаются
+    // в состоянии текущего вызова (markFailed): ConnectionPool, PooledConnection, StatementCache,
+    // StatementTracer и хранилищем в памяти (MemoryStore)
+    private static final ThreadLocal<CallState> CALL = ThreadLocal.withInitial(CallState::new);
+
+    private static ScheduledExecutorService reporter;
+    private static long callsAtLastReport;
+
+    private DaoMetrics() {}
+
+    // Прокси над target, измеряющий каждый метод интерфейса type
+    @SuppressWarnings("unchecked")
+    public static <T> T instrument(Class<T> type, T target) {
+        String prefix = target.getClass().getSimpleName() + ".";
+        Map<Method, MethodMetrics> byMethod = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            byMethod.put(method, metrics(prefix + method.getName()));
+        }
+        startReporter();
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new MeteringHandler(target, byMethod));
+    }
+
+    // Отмечает текущий вызов репозитория как неуспешный. Вне вызова (depth == 0, например при чтении потока
+    // streamAll после возврата) отметка игнорируется и не переходит на следующий вызов
+    public static void markFailed() {
+        CallState state = CALL.get();
+        if (state.depth > 0) {
+            state.failed = true;
+        }
+    }
+
+    public static MethodMetrics get(String name) {
+        return METRICS.get(name);
+    }
+
+    // Методы, которые вызывались, по убыванию суммарного времени
+    public static List<MethodMetrics> all() {
+        List<MethodMetrics> list = new ArrayList<>();
+        for (MethodMetrics metrics : METRICS.values()) {
+            if (metrics.getCalls() > 0) {
+                list.add(metrics);
+            }
+        }
+        list.sort(Comparator.comparingLong((MethodMetrics m) -> m.getLatency().getTotalNanos()).reversed());
+        return list;
+    }
+
+    public static void resetAll() {
+        METRICS.values().forEach(MethodMetrics::reset);
+    }
+
+    public static String summary() {
+        List<MethodMetrics> list = all();
+        if (list.isEmpty()) {
+            return "Метрики DAO: вызовов не было";
+        }
+        StringBuilder sb = new StringBuilder("Метрики DAO (мс):\n");
+        sb.append(String.format("  %-52s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "метод", "вызовов", "ошибок", "строк", "среднее", "p50", "p95", "p99", "макс"));
+        for (MethodMetrics m : list) {
+            long[] p = m.getLatency().percentiles(50, 95, 99);
+            sb.append(String.format("  %-52s %9d %7d %9d %8.3f %8.3f %8.3f %8.3f %8.3f%n",
+                    m.getName(), m.getCalls(), m.getErrors(), m.getRows(), m.getMeanMillis(),
+                    p[0] / 1_000_000.0, p[1] / 1_000_000.0, p[2] / 1_000_000.0, m.getMaxMillis()));
+        }
+        return sb.toString().stripTrailing();
+    }
+
+    private static MethodMetrics metrics(String name) {
+        return METRICS.computeIfAbsent(name, key -> {
+            MethodMetrics metrics = new MethodMetrics(key);
+            registerMBean(metrics);
+            return metrics;
+        });
+    }
+
+    private static void registerMBean(MethodMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_PREFIX + metrics.getName());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (Exception e) {
+            logger.warn("Не удалось зарегистрировать JMX-бин метрик {}: {}", metrics.getName(), e.getMessage());
+        }
+    }
+
+    // Периодическая запись в лог (только если с прошлой записи были вызовы) и итог при завершении
+    private static synchronized void startReporter() {
+        long interval = DatabaseConfig.METRICS_LOG_INTERVAL_MS;
+        if (reporter != null || interval <= 0) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dao-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleWithFixedDelay(DaoMetrics::report, interval, interval, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(DaoMetrics::report, "dao-metrics-shutdown"));
+    }
+
+    private static synchronized void report() {
+        long calls = 0;
+        for (MethodMetrics metrics : METRICS.values()) {
+            calls += metrics.getCalls();
+        }
+        if (calls != callsAtLastReport) {
+            callsAtLastReport = calls;
+            logger.info(summary());
+        }
+    }
+
+    // Число строк в результате: размер коллекции или страницы, успешные строки пакета, 1 для найденного объекта.
+    // Для скалярных результатов (count, exists) строки не считаются
+    private static long rows(Object result) {
+        if (result == null || result instanceof Number || result instanceof Boolean) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof BatchResult batch) {
+            return batch.getSucceeded();
+        }
+        if (result instanceof ProductSearchPage page) {
+            return page.getHits().size();
+        }
+        if (result instanceof Stream<?>) {
+            return 0;
+        }
+        return 1;
+    }
+
+    private static class CallState {
+        // Число вложенных измеряемых вызовов в этом потоке (репозиторий может вызывать другой репозиторий)
+        int depth;
+        boolean failed;
+    }
+
+    private static class MeteringHandler implements InvocationHandler {
+        private final Object target;
+        private final Map<Method, MethodMetrics> byMethod;
+
+        MeteringHandler(Object target, Map<Method, MethodMetrics> byMethod) {
+            this.target = target;
+            this.byMethod = byMethod;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            MethodMetrics metrics = byMethod.get(method);
+            if (metrics == null) {
+                // equals, hashCode, toString
+                return method.invoke(target, args);
+            }
+            CallState state = CALL.get();
+            boolean outerFailed = state.failed;
+            state.failed = false;
+            state.depth++;
+            boolean failed = false;
+            Object result = null;
+            long start = System.nanoTime();
+            try {
+                result = method.invoke(target, args);
+                if (result instanceof Stream<?> stream) {
+                    result = stream.peek(row -> metrics.addRows(1));
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                failed = true;
+                throw e.getCause();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                state.depth--;
+                failed |= state.failed;
+                state.failed = outerFailed || failed;
+                metrics.record(elapsed, failed, failed ? 0 : rows(result));
+            }
+        }
+    }
+}
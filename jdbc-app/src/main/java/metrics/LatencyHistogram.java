@@ -0,0 +1,109 @@
+package com.electronics.store.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Гистограмма задержек в наносекундах с лог-линейными корзинами, как в HdrHistogram:
+// значения до 64 нс хранятся точно, дальше на каждую степень двойки приходится 32 корзины,
+// поэтому погрешность перцентиля не больше 1/32 (~3%). record() не выделяет память и не берет блокировок
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    // Значения от 2^43 нс (~2.4 часа) попадают в последнюю корзину
+    private static final int MAX_SHIFT = 37;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + MAX_SHIFT * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public long getCount() { return count.get(); }
+    public long getTotalNanos() { return totalNanos.get(); }
+    public long getMaxNanos() { return maxNanos.get(); }
+
+    // Значение перцентиля (0..100) в наносекундах; 0, если записей нет
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        return percentile(snapshot, total, percentile);
+    }
+
+    // Несколько перцентилей по одному снимку корзин, чтобы p50 <= p95 <= p99 при параллельной записи
+    public long[] percentiles(double... percentiles) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            values[i] = percentile(snapshot, total, percentiles[i]);
+        }
+        return values;
+    }
+
+    // Записи, идущие параллельно со сбросом, могут частично сохраниться - для статистики это допустимо
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    private long percentile(long[] snapshot, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // value >>> shift попадает в [SUB_BUCKET_HALF, SUB_BUCKET_COUNT)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        if (shift > MAX_SHIFT) {
+            return BUCKET_COUNT - 1;
+        }
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) (value >>> shift) - SUB_BUCKET_HALF;
+    }
+
+    // Наибольшее значение, попадающее в корзину
+    static long highestValueIn(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.electronics.store.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Счетчики одного метода: вызовы и задержки (гистограмма), ошибки, строки в результатах
+public class MethodMetrics implements MethodMetricsMXBean {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    MethodMetrics(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, boolean failed, long rowCount) {
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    // Строки потока (streamAll) считаются по мере чтения, уже после возврата из метода
+    void addRows(long rowCount) {
+        rows.add(rowCount);
+    }
+
+    public String getName() { return name; }
+    public LatencyHistogram getLatency() { return latency; }
+
+    @Override public long getCalls() { return latency.getCount(); }
+    @Override public long getErrors() { return errors.sum(); }
+    @Override public long getRows() { return rows.sum(); }
+
+    @Override
+    public double getMeanMillis() {
+        long calls = latency.getCount();
+        return calls == 0 ? 0 : latency.getTotalNanos() / 1_000_000.0 / calls;
+    }
+
+    @Override public double getP50Millis() { return latency.percentile(50) / 1_000_000.0; }
+    @Override public double getP95Millis() { return latency.percentile(95) / 1_000_000.0; }
+    @Override public double getP99Millis() { return latency.percentile(99) / 1_000_000.0; }
+    @Override public double getMaxMillis() { return latency.getMaxNanos() / 1_000_000.0; }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+    }
+}
@@ -0,0 +1,14 @@
+package com.electronics.store.metrics;
+
+// Метрики одного метода репозитория для JMX (com.electronics.store:type=DaoMetrics,name=OrderDao.findAll)
+public interface MethodMetricsMXBean {
+    long getCalls();
+    long getErrors();
+    long getRows();
+    double getMeanMillis();
+    double getP50Millis();
+    double getP95Millis();
+    double getP99Millis();
+    double getMaxMillis();
+    void reset();
+}
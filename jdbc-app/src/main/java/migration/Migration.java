@@ -0,0 +1,54 @@
+package com.electronics.store.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// Один файл миграции: V<версия>__<описание>.sql.
+// Строка "-- migration: no-transaction" означает, что команды выполняются без общей транзакции
+// (нужно для CREATE INDEX CONCURRENTLY)
+class Migration {
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String NO_TRANSACTION = "-- migration: no-transaction";
+
+    private final int version;
+    private final String description;
+    private final String script;
+    private final long checksum;
+    private final boolean transactional;
+
+    Migration(String fileName, String script) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            throw new MigrationException("Неверное имя файла миграции: " + fileName + " (ожидается V<номер>__<описание>.sql)");
+        }
+        this.version = Integer.parseInt(matcher.group(1));
+        this.description = matcher.group(2).replace('_', ' ');
+        // контрольная сумма не зависит от переводов строк Windows/Unix
+        this.script = script.replace("\r\n", "\n");
+        this.checksum = crc32(this.script);
+        this.transactional = !this.script.lines().anyMatch(line -> line.trim().equalsIgnoreCase(NO_TRANSACTION));
+    }
+
+    int getVersion() { return version; }
+    String getDescription() { return description; }
+    long getChecksum() { return checksum; }
+    boolean isTransactional() { return transactional; }
+
+    List<String> statements() {
+        return SqlScripts.split(script);
+    }
+
+    private static long crc32(String text) {
+        CRC32 crc = new CRC32();
+        crc.update(text.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " (" + description + ")";
+    }
+}
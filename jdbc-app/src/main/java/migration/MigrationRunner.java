@@ -0,0 +1,236 @@
+package com.electronics.store.migration;
+
+import com.electronics.store.db.ConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Применяет миграции из classpath (db/migration/index.txt) при запуске приложения.
+// Примененные версии с контрольными суммами хранятся в schema_migrations; если уже примененный файл
+// изменился, запуск останавливается. Обычная миграция выполняется в одной транзакции вместе с записью
+// в историю, миграция с пометкой no-transaction - по одной команде (CREATE INDEX CONCURRENTLY)
+public class MigrationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+
+    private static final String LOCATION = "db/migration/";
+    private static final String INDEX_FILE = LOCATION + "index.txt";
+    // Ключ pg_advisory_lock: если приложение стартует в нескольких экземплярах, миграции выполняет один
+    private static final long LOCK_KEY = 0x5354_4F52_454DL;
+
+    private final ConnectionPool pool;
+
+    public MigrationRunner() {
+        this(ConnectionPool.getInstance());
+    }
+
+    public MigrationRunner(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    // Возвращает число примененных за этот запуск миграций
+    public int migrate() {
+        List<Migration> migrations = load();
+        long start = System.nanoTime();
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(true);
+            execute(conn, "SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            try {
+                createHistoryTable(conn);
+                Map<Integer, Long> applied = appliedChecksums(conn);
+                verify(migrations, applied);
+                int count = 0;
+                for (Migration migration : migrations) {
+                    if (!applied.containsKey(migration.getVersion())) {
+                        apply(conn, migration);
+                        count++;
+                    }
+                }
+                if (count > 0) {
+                    logger.info("Применено миграций: {} за {} мс", count, millis(System.nanoTime() - start));
+                } else {
+                    logger.debug("Схема актуальна, версия {}", migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion());
+                }
+                return count;
+            } finally {
+                execute(conn, "SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        } catch (SQLException e) {
+            throw new MigrationException("Ошибка миграции схемы: " + e.getMessage(), e);
+        }
+    }
+
+    // Для запуска без миграций (db.migrate.onStartup=false): схема из database/schema.sql без примененных
+    // миграций не подходит приложению, поэтому запуск останавливается, а не падает позже на отсутствующем столбце
+    public void checkApplied() {
+        List<Migration> migrations = load();
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(true);
+            Map<Integer, Long> applied = historyExists(conn) ? appliedChecksums(conn) : new HashMap<>();
+            verify(migrations, applied);
+            List<String> pending = new ArrayList<>();
+            for (Migration migration : migrations) {
+                if (!applied.containsKey(migration.getVersion())) {
+                    pending.add(migration.toString());
+                }
+            }
+            if (!pending.isEmpty()) {
+                throw new MigrationException("Схема БД не актуальна, не применены миграции: " + String.join(", ", pending)
+                        + ". Запустите Main --migrate или включите db.migrate.onStartup");
+            }
+        } catch (SQLException e) {
+            throw new MigrationException("Ошибка проверки схемы: " + e.getMessage(), e);
+        }
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        logger.info("Применяется миграция {}", migration);
+        long start = System.nanoTime();
+        List<String> statements = migration.statements();
+        if (migration.isTransactional()) {
+            conn.setAutoCommit(false);
+            try {
+                for (String sql : statements) {
+                    execute(conn, sql);
+                }
+                recordApplied(conn, migration, System.nanoTime() - start);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new MigrationException("Миграция " + migration + " не применена и откатена: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } else {
+            for (String sql : statements) {
+                try {
+                    execute(conn, sql);
+                } catch (SQLException e) {
+                    // прерванный CREATE INDEX CONCURRENTLY оставляет недействительный индекс,
+                    // который IF NOT EXISTS при повторе пропустит
+                    throw new MigrationException("Миграция " + migration + " прервана на команде: " + sql
+                            + "\n" + e.getMessage() + "\nЕсли остался недействительный индекс, удалите его "
+                            + "(DROP INDEX CONCURRENTLY) и запустите приложение снова", e);
+                }
+            }
+            recordApplied(conn, migration, System.nanoTime() - start);
+        }
+        logger.info("Миграция {} применена за {} мс", migration, millis(System.nanoTime() - start));
+    }
+
+    private void verify(List<Migration> migrations, Map<Integer, Long> applied) {
+        Map<Integer, Long> known = new HashMap<>();
+        for (Migration migration : migrations) {
+            known.put(migration.getVersion(), migration.getChecksum());
+            Long checksum = applied.get(migration.getVersion());
+            if (checksum != null && checksum != migration.getChecksum()) {
+                throw new MigrationException("Миграция " + migration + " уже применена, но ее файл изменился "
+                        + "(контрольная сумма " + checksum + " -> " + migration.getChecksum() + ")");
+            }
+        }
+        for (Integer version : applied.keySet()) {
+            if (!known.containsKey(version)) {
+                logger.warn("В БД применена миграция V{}, которой нет в приложении - возможно, БД новее приложения", version);
+            }
+        }
+    }
+
+    private static void createHistoryTable(Connection conn) throws SQLException {
+        execute(conn, "CREATE TABLE IF NOT EXISTS schema_migrations ("
+                + "version INT PRIMARY KEY, "
+                + "description VARCHAR(200) NOT NULL, "
+                + "checksum BIGINT NOT NULL, "
+                + "execution_ms BIGINT NOT NULL, "
+                + "installed_at TIMESTAMP NOT NULL DEFAULT now())");
+    }
+
+    private static boolean historyExists(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT to_regclass('schema_migrations') IS NOT NULL")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static Map<Integer, Long> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private static void recordApplied(Connection conn, Migration migration, long elapsedNanos) throws SQLException {
+        String sql = "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.getVersion());
+            stmt.setString(2, migration.getDescription());
+            stmt.setLong(3, migration.getChecksum());
+            stmt.setLong(4, elapsedNanos / 1_000_000);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    // Файлы читаются по списку из index.txt: содержимое каталога в jar перечислить нельзя
+    private static List<Migration> load() {
+        List<Migration> migrations = new ArrayList<>();
+        int lastVersion = 0;
+        for (String fileName : readLines(INDEX_FILE)) {
+            Migration migration = new Migration(fileName, String.join("\n", readLines(LOCATION + fileName)) + "\n");
+            if (migration.getVersion() <= lastVersion) {
+                throw new MigrationException("Миграции в " + INDEX_FILE + " должны идти по возрастанию версий: " + fileName);
+            }
+            lastVersion = migration.getVersion();
+            migrations.add(migration);
+        }
+        return migrations;
+    }
+
+    // Строки ресурса без пустых и без комментариев '#' (для index.txt); для .sql возвращаются все строки
+    private static List<String> readLines(String resource) {
+        InputStream in = MigrationRunner.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new MigrationException("Не найден ресурс " + resource);
+        }
+        boolean index = resource.equals(INDEX_FILE);
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!index) {
+                    lines.add(line);
+                } else if (!line.isBlank() && !line.trim().startsWith("#")) {
+                    lines.add(line.trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new MigrationException("Не удалось прочитать " + resource + ": " + e.getMessage(), e);
+        }
+        return lines;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
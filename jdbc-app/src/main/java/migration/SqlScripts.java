@@ -0,0 +1,84 @@
+package com.electronics.store.migration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Разбивка SQL-скрипта на отдельные команды по ';' с учетом строк, идентификаторов в кавычках,
+// комментариев и $$-блоков. Команды выполняются по одной: несколько команд в одном execute
+// драйвер отправляет одной неявной транзакцией, а CREATE INDEX CONCURRENTLY в ней запрещен
+final class SqlScripts {
+    private SqlScripts() {}
+
+    static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        int length = script.length();
+        while (i < length) {
+            char c = script.charAt(i);
+            if (c == '-' && i + 1 < length && script.charAt(i + 1) == '-') {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+                current.append('\n');
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                current.append(' ');
+            } else if (c == '\'' || c == '"') {
+                int end = closingQuote(script, i, c);
+                current.append(script, i, end);
+                i = end;
+            } else if (c == '$' && dollarTag(script, i) != null) {
+                String tag = dollarTag(script, i);
+                int end = script.indexOf(tag, i + tag.length());
+                end = end < 0 ? length : end + tag.length();
+                current.append(script, i, end);
+                i = end;
+            } else if (c == ';') {
+                add(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        add(statements, current);
+        return statements;
+    }
+
+    // Индекс после закрывающей кавычки; удвоенная кавычка внутри строки - экранирование
+    private static int closingQuote(String script, int start, char quote) {
+        int i = start + 1;
+        while (i < script.length()) {
+            if (script.charAt(i) == quote) {
+                if (i + 1 < script.length() && script.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return script.length();
+    }
+
+    // $$ или $tag$, начинающийся в позиции start, иначе null
+    private static String dollarTag(String script, int start) {
+        int i = start + 1;
+        while (i < script.length() && (Character.isLetterOrDigit(script.charAt(i)) || script.charAt(i) == '_')) {
+            i++;
+        }
+        if (i < script.length() && script.charAt(i) == '$') {
+            return script.substring(start, i + 1);
+        }
+        return null;
+    }
+
+    private static void add(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+}
@@ -1,12 +1,19 @@
 package com.electronics.store.model;
 
 import java.util.Date;
+import java.util.List;
 
 public class Order {
+    // Допустимые статусы заказа
+    public static final List<String> STATUSES = List.of("без товара", "в процессе", "готов к выдаче");
+
     private int id;
     private int customerId;
     private Date orderDate;
     private String status;
+    // Поддерживаются OrderItemDao при изменении позиций
+    private double totalAmount;
+    private int itemCount;
 
     public Order() {}
 
@@ -27,4 +34,10 @@ public class Order {
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
+
+    public double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(double totalAmount) { this.totalAmount = totalAmount; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
 }
\ No newline at end of file
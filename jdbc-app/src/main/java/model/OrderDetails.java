@@ -0,0 +1,35 @@
+package com.electronics.store.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Заказ с позициями и суммой (модель для чтения, собирается одним запросом)
+public class OrderDetails {
+    private Order order;
+    private List<OrderLine> lines = new ArrayList<>();
+
+    public OrderDetails() {}
+
+    public OrderDetails(Order order, List<OrderLine> lines) {
+        this.order = order;
+        this.lines = lines;
+    }
+
+    public Order getOrder() { return order; }
+    public void setOrder(Order order) { this.order = order; }
+
+    public List<OrderLine> getLines() { return lines; }
+    public void setLines(List<OrderLine> lines) { this.lines = lines; }
+
+    public boolean hasItem(int itemId) {
+        return lines.stream().anyMatch(line -> line.getItemId() == itemId);
+    }
+
+    public double getTotal() {
+        double total = 0;
+        for (OrderLine line : lines) {
+            total += line.getLineTotal();
+        }
+        return total;
+    }
+}
@@ -5,6 +5,8 @@ public class OrderItem {
     private int orderId;
     private int productId;
     private int quantity;
+    // Цена товара на момент добавления в заказ
+    private double unitPrice;
 
     // Конструкторы
     public OrderItem() {}
@@ -24,4 +26,6 @@ public class OrderItem {
     public void setProductId(int productId) { this.productId = productId; }
     public int getQuantity() { return quantity; }
     public void setQuantity(int quantity) { this.quantity = quantity; }
+    public double getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(double unitPrice) { this.unitPrice = unitPrice; }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.electronics.store.model;
+
+// Позиция заказа вместе с названием и ценой товара (модель для чтения)
+public class OrderLine {
+    private int itemId;
+    private int productId;
+    private String productName;
+    private double price;
+    private int quantity;
+    private double lineTotal;
+
+    public OrderLine() {}
+
+    public OrderLine(int itemId, int productId, String productName, double price, int quantity, double lineTotal) {
+        this.itemId = itemId;
+        this.productId = productId;
+        this.productName = productName;
+        this.price = price;
+        this.quantity = quantity;
+        this.lineTotal = lineTotal;
+    }
+
+    // Геттеры и сеттеры
+    public int getItemId() { return itemId; }
+    public void setItemId(int itemId) { this.itemId = itemId; }
+    public int getProductId() { return productId; }
+    public void setProductId(int productId) { this.productId = productId; }
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public double getLineTotal() { return lineTotal; }
+    public void setLineTotal(double lineTotal) { this.lineTotal = lineTotal; }
+}
@@ -0,0 +1,27 @@
+package com.electronics.store.model;
+
+// Найденный товар: релевантность и фрагменты с выделенными совпадениями
+public class ProductSearchHit {
+    private Product product;
+    private double rank;
+    private String nameHighlight;
+    private String descriptionHighlight;
+
+    public ProductSearchHit() {}
+
+    public ProductSearchHit(Product product, double rank, String nameHighlight, String descriptionHighlight) {
+        this.product = product;
+        this.rank = rank;
+        this.nameHighlight = nameHighlight;
+        this.descriptionHighlight = descriptionHighlight;
+    }
+
+    public Product getProduct() { return product; }
+    public void setProduct(Product product) { this.product = product; }
+    public double getRank() { return rank; }
+    public void setRank(double rank) { this.rank = rank; }
+    public String getNameHighlight() { return nameHighlight; }
+    public void setNameHighlight(String nameHighlight) { this.nameHighlight = nameHighlight; }
+    public String getDescriptionHighlight() { return descriptionHighlight; }
+    public void setDescriptionHighlight(String descriptionHighlight) { this.descriptionHighlight = descriptionHighlight; }
+}
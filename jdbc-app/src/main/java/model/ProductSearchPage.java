@@ -0,0 +1,29 @@
+package com.electronics.store.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Страница результатов поиска и общее число найденных товаров
+public class ProductSearchPage {
+    private final List<ProductSearchHit> hits;
+    private final long totalMatches;
+    private final int offset;
+
+    public ProductSearchPage(List<ProductSearchHit> hits, long totalMatches, int offset) {
+        this.hits = hits;
+        this.totalMatches = totalMatches;
+        this.offset = offset;
+    }
+
+    public static ProductSearchPage empty() {
+        return new ProductSearchPage(new ArrayList<>(), 0, 0);
+    }
+
+    public List<ProductSearchHit> getHits() { return hits; }
+    public long getTotalMatches() { return totalMatches; }
+    public int getOffset() { return offset; }
+
+    public boolean hasNext() {
+        return offset + hits.size() < totalMatches;
+    }
+}
@@ -0,0 +1,33 @@
+package com.electronics.store.model;
+
+// Сводка оценок товара из product_rating_stats
+public class RatingStats {
+    private int productId;
+    private String productName;
+    private int reviewCount;
+    private int ratingSum;
+    // starCounts[0] - число оценок 1, ..., starCounts[4] - число оценок 5
+    private int[] starCounts = new int[5];
+
+    public RatingStats() {}
+
+    public RatingStats(int productId) {
+        this.productId = productId;
+    }
+
+    public int getProductId() { return productId; }
+    public void setProductId(int productId) { this.productId = productId; }
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+    public int getReviewCount() { return reviewCount; }
+    public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
+    public int getRatingSum() { return ratingSum; }
+    public void setRatingSum(int ratingSum) { this.ratingSum = ratingSum; }
+
+    public int getStarCount(int stars) { return starCounts[stars - 1]; }
+    public void setStarCount(int stars, int count) { starCounts[stars - 1] = count; }
+
+    public double getAverage() {
+        return reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+    }
+}
@@ -0,0 +1,14 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.Category;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryRepository extends CrudRepository<Category> {
+    // Первая по id категория с таким названием без учета регистра
+    Category findByName(String name);
+
+    // Как ProductRepository.findAllByIds: ошибка БД - DataAccessException
+    List<Category> findAllByIds(Collection<Integer> ids);
+}
@@ -0,0 +1,28 @@
+package com.electronics.store.repository;
+
+import java.util.List;
+
+// Общие операции хранилища сущностей с целочисленным id.
+// Реализации сообщают об ошибках так же, как JDBC-DAO: печатают сообщение и не бросают исключений,
+// поэтому после неудачного save id объекта остается 0.
+// streamAll() в репозиториях возвращает поток, который держит соединение, пока его не закроют:
+// try (Stream<T> s = repository.streamAll()) { ... }
+public interface CrudRepository<T> {
+    // Записывает сущность и присваивает ей id
+    void save(T entity);
+
+    List<T> findAll();
+
+    // null, если записи нет
+    T findById(int id);
+
+    void update(T entity);
+
+    void delete(int id);
+
+    boolean existsById(int id);
+
+    boolean existsAny();
+
+    long count();
+}
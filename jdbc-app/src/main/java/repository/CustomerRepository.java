@@ -0,0 +1,15 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.Customer;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CustomerRepository extends CrudRepository<Customer> {
+    // Как ProductRepository.findAllByIds: ошибка БД - DataAccessException
+    List<Customer> findAllByIds(Collection<Integer> ids);
+
+    List<Customer> findPage(int afterId, int limit);
+
+    List<Customer> findPageBefore(int beforeId, int limit);
+}
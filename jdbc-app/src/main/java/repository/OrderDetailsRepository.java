@@ -0,0 +1,8 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.OrderDetails;
+
+public interface OrderDetailsRepository {
+    // Заказ с позициями, названиями товаров и ценами продажи; null, если заказа нет
+    OrderDetails findOrderWithLines(int orderId);
+}
@@ -0,0 +1,21 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.OrderItem;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Добавление, изменение и удаление позиции меняют суммы ее заказа в той же операции;
+// цена продажи (unitPrice) фиксируется при добавлении позиции и при смене товара
+public interface OrderItemRepository extends CrudRepository<OrderItem> {
+    List<OrderItem> findByOrderId(int orderId);
+
+    BatchResult saveAll(List<OrderItem> items);
+
+    BatchResult updateAll(List<OrderItem> items);
+
+    BatchResult deleteAllById(int[] ids);
+
+    Stream<OrderItem> streamAll();
+}
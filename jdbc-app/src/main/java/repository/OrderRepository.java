@@ -0,0 +1,20 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Суммы заказа (totalAmount, itemCount) ведет хранилище позиций; update их не меняет
+public interface OrderRepository extends CrudRepository<Order> {
+    // Заказ и все позиции атомарно: либо записано все, либо ничего.
+    // id присваиваются заказу и позициям; при ошибке они сбрасываются в 0 и бросается DataAccessException
+    void saveWithItems(Order order, List<OrderItem> items);
+
+    List<Order> findPage(int afterId, int limit);
+
+    List<Order> findPageBefore(int beforeId, int limit);
+
+    Stream<Order> streamAll();
+}
@@ -0,0 +1,27 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Category;
+import com.electronics.store.model.ProductCategory;
+
+import java.util.List;
+
+// Связь задается парой (товар, категория), отдельного id у нее нет
+public interface ProductCategoryRepository {
+    void addProductToCategory(int productId, int categoryId);
+
+    List<Integer> findCategoriesByProduct(int productId);
+
+    // Категории товара по возрастанию id
+    List<Category> findCategoryObjectsByProduct(int productId);
+
+    BatchResult saveAll(List<ProductCategory> links);
+
+    BatchResult deleteAll(List<ProductCategory> links);
+
+    boolean exists(int productId, int categoryId);
+
+    boolean existsAny();
+
+    long count();
+}
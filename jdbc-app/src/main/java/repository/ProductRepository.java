@@ -0,0 +1,27 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepository extends CrudRepository<Product> {
+    BatchResult saveAll(List<Product> products);
+
+    BatchResult updateAll(List<Product> products);
+
+    BatchResult deleteAllById(int[] ids);
+
+    // В порядке запрошенных id; повторы и отсутствующие id пропускаются.
+    // Ошибка БД - DataAccessException, а не неполный список
+    List<Product> findAllByIds(Collection<Integer> ids);
+
+    // Keyset-пагинация: товары с id больше afterId / меньше beforeId, по возрастанию id
+    List<Product> findPage(int afterId, int limit);
+
+    List<Product> findPageBefore(int beforeId, int limit);
+
+    Stream<Product> streamAll();
+}
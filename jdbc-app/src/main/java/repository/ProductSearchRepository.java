@@ -0,0 +1,8 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.ProductSearchPage;
+
+public interface ProductSearchRepository {
+    // Товары по релевантности; совпадения в названии и описании выделены [ ]
+    ProductSearchPage search(String query, int offset, int limit);
+}
@@ -0,0 +1,130 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.CategoryDao;
+import com.electronics.store.dao.CustomerDao;
+import com.electronics.store.dao.OrderDao;
+import com.electronics.store.dao.OrderDetailsDao;
+import com.electronics.store.dao.OrderItemDao;
+import com.electronics.store.dao.ProductCategoryDao;
+import com.electronics.store.dao.ProductDao;
+import com.electronics.store.dao.ProductSearch;
+import com.electronics.store.dao.ReviewDao;
+import com.electronics.store.metrics.DaoMetrics;
+import com.electronics.store.repository.memory.MemoryCategoryRepository;
+import com.electronics.store.repository.memory.MemoryCustomerRepository;
+import com.electronics.store.repository.memory.MemoryOrderDetailsRepository;
+import com.electronics.store.repository.memory.MemoryOrderItemRepository;
+import com.electronics.store.repository.memory.MemoryOrderRepository;
+import com.electronics.store.repository.memory.MemoryProductCategoryRepository;
+import com.electronics.store.repository.memory.MemoryProductRepository;
+import com.electronics.store.repository.memory.MemoryProductSearch;
+import com.electronics.store.repository.memory.MemoryReviewRepository;
+import com.electronics.store.repository.memory.MemoryStore;
+import config.DatabaseConfig;
+
+// Набор репозиториев одного хранилища. Хранилище по умолчанию выбирается параметром storage.engine:
+// jdbc - PostgreSQL через DAO (по умолчанию), memory - MemoryStore в памяти процесса (данные не сохраняются)
+public final class Repositories {
+    public static final String JDBC = "jdbc";
+    public static final String MEMORY = "memory";
+
+    private static volatile Repositories instance;
+
+    private final String engine;
+    private final ProductRepository products;
+    private final ProductSearchRepository productSearch;
+    private final CategoryRepository categories;
+    private final CustomerRepository customers;
+    private final OrderRepository orders;
+    private final OrderDetailsRepository orderDetails;
+    private final OrderItemRepository orderItems;
+    private final ProductCategoryRepository productCategories;
+    private final ReviewRepository reviews;
+
+    private Repositories(String engine, ProductRepository products, ProductSearchRepository productSearch,
+                         CategoryRepository categories, CustomerRepository customers, OrderRepository orders,
+                         OrderDetailsRepository orderDetails, OrderItemRepository orderItems,
+                         ProductCategoryRepository productCategories, ReviewRepository reviews) {
+        this.engine = engine;
+        this.products = products;
+        this.productSearch = productSearch;
+        this.categories = categories;
+        this.customers = customers;
+        this.orders = orders;
+        this.orderDetails = orderDetails;
+        this.orderItems = orderItems;
+        this.productCategories = productCategories;
+        this.reviews = reviews;
+    }
+
+    // Хранилище из настроек; создается при первом обращении
+    public static Repositories get() {
+        Repositories repositories = instance;
+        if (repositories == null) {
+            synchronized (Repositories.class) {
+                repositories = instance;
+                if (repositories == null) {
+                    repositories = create(DatabaseConfig.STORAGE_ENGINE);
+                    instance = repositories;
+                }
+            }
+        }
+        return repositories;
+    }
+
+    public static Repositories create(String engine) {
+        return switch (engine) {
+            case JDBC -> jdbc();
+            case MEMORY -> memory(new MemoryStore());
+            default -> throw new IllegalStateException("Неизвестное хранилище storage.engine: " + engine
+                    + " (допустимо " + JDBC + " или " + MEMORY + ")");
+        };
+    }
+
+    public static Repositories jdbc() {
+        return new Repositories(JDBC, new ProductDao(), new ProductSearch(), new CategoryDao(), new CustomerDao(),
+                new OrderDao(), new OrderDetailsDao(), new OrderItemDao(), new ProductCategoryDao(), new ReviewDao())
+                .metered();
+    }
+
+    public static Repositories memory(MemoryStore store) {
+        MemoryOrderItemRepository orderItems = new MemoryOrderItemRepository(store);
+        return new Repositories(MEMORY, new MemoryProductRepository(store), new MemoryProductSearch(store),
+                new MemoryCategoryRepository(store), new MemoryCustomerRepository(store),
+                new MemoryOrderRepository(store, orderItems), new MemoryOrderDetailsRepository(store), orderItems,
+                new MemoryProductCategoryRepository(store), new MemoryReviewRepository(store))
+                .metered();
+    }
+
+    // Каждый репозиторий за прокси DaoMetrics, если метрики включены (metrics.enabled)
+    private Repositories metered() {
+        if (!DatabaseConfig.METRICS_ENABLED) {
+            return this;
+        }
+        return new Repositories(engine,
+                DaoMetrics.instrument(ProductRepository.class, products),
+                DaoMetrics.instrument(ProductSearchRepository.class, productSearch),
+                DaoMetrics.instrument(CategoryRepository.class, categories),
+                DaoMetrics.instrument(CustomerRepository.class, customers),
+                DaoMetrics.instrument(OrderRepository.class, orders),
+                DaoMetrics.instrument(OrderDetailsRepository.class, orderDetails),
+                DaoMetrics.instrument(OrderItemRepository.class, orderItems),
+                DaoMetrics.instrument(ProductCategoryRepository.class, productCategories),
+                DaoMetrics.instrument(ReviewRepository.class, reviews));
+    }
+
+    public String engine() { return engine; }
+
+    // Отчеты, импорт и миграции работают напрямую с PostgreSQL
+    public boolean isJdbc() { return JDBC.equals(engine); }
+
+    public ProductRepository products() { return products; }
+    public ProductSearchRepository productSearch() { return productSearch; }
+    public CategoryRepository categories() { return categories; }
+    public CustomerRepository customers() { return customers; }
+    public OrderRepository orders() { return orders; }
+    public OrderDetailsRepository orderDetails() { return orderDetails; }
+    public OrderItemRepository orderItems() { return orderItems; }
+    public ProductCategoryRepository productCategories() { return productCategories; }
+    public ReviewRepository reviews() { return reviews; }
+}
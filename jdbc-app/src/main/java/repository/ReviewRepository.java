@@ -0,0 +1,29 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.RatingStats;
+import com.electronics.store.model.Review;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Сводка оценок товара меняется вместе с отзывами в той же операции
+public interface ReviewRepository extends CrudRepository<Review> {
+    BatchResult saveAll(List<Review> reviews);
+
+    BatchResult updateAll(List<Review> reviews);
+
+    BatchResult deleteAllById(int[] ids);
+
+    // Для товара без отзывов - нулевая сводка
+    RatingStats getRatingStats(int productId);
+
+    // Лучшие по средней оценке среди товаров с не меньше чем minReviews отзывами
+    List<RatingStats> topRated(int limit, int minReviews);
+
+    List<Review> findPage(int afterId, int limit);
+
+    List<Review> findPageBefore(int beforeId, int limit);
+
+    Stream<Review> streamAll();
+}
@@ -0,0 +1,53 @@
+package com.electronics.store.repository.async;
+
+import com.electronics.store.repository.CategoryRepository;
+import com.electronics.store.repository.CustomerRepository;
+import com.electronics.store.repository.OrderDetailsRepository;
+import com.electronics.store.repository.OrderItemRepository;
+import com.electronics.store.repository.OrderRepository;
+import com.electronics.store.repository.ProductCategoryRepository;
+import com.electronics.store.repository.ProductRepository;
+import com.electronics.store.repository.ProductSearchRepository;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.repository.ReviewRepository;
+
+import java.util.concurrent.Executor;
+
+// Асинхронные фасады над всеми репозиториями хранилища, общий исполнитель
+public final class AsyncRepositories {
+    private final AsyncRepository<ProductRepository> products;
+    private final AsyncRepository<ProductSearchRepository> productSearch;
+    private final AsyncRepository<CategoryRepository> categories;
+    private final AsyncRepository<CustomerRepository> customers;
+    private final AsyncRepository<OrderRepository> orders;
+    private final AsyncRepository<OrderDetailsRepository> orderDetails;
+    private final AsyncRepository<OrderItemRepository> orderItems;
+    private final AsyncRepository<ProductCategoryRepository> productCategories;
+    private final AsyncRepository<ReviewRepository> reviews;
+
+    public AsyncRepositories(Repositories repositories) {
+        this(repositories, DbExecutor.getInstance());
+    }
+
+    public AsyncRepositories(Repositories repositories, Executor executor) {
+        products = new AsyncRepository<>(repositories.products(), executor);
+        productSearch = new AsyncRepository<>(repositories.productSearch(), executor);
+        categories = new AsyncRepository<>(repositories.categories(), executor);
+        customers = new AsyncRepository<>(repositories.customers(), executor);
+        orders = new AsyncRepository<>(repositories.orders(), executor);
+        orderDetails = new AsyncRepository<>(repositories.orderDetails(), executor);
+        orderItems = new AsyncRepository<>(repositories.orderItems(), executor);
+        productCategories = new AsyncRepository<>(repositories.productCategories(), executor);
+        reviews = new AsyncRepository<>(repositories.reviews(), executor);
+    }
+
+    public AsyncRepository<ProductRepository> products() { return products; }
+    public AsyncRepository<ProductSearchRepository> productSearch() { return productSearch; }
+    public AsyncRepository<CategoryRepository> categories() { return categories; }
+    public AsyncRepository<CustomerRepository> customers() { return customers; }
+    public AsyncRepository<OrderRepository> orders() { return orders; }
+    public AsyncRepository<OrderDetailsRepository> orderDetails() { return orderDetails; }
+    public AsyncRepository<OrderItemRepository> orderItems() { return orderItems; }
+    public AsyncRepository<ProductCategoryRepository> productCategories() { return productCategories; }
+    public AsyncRepository<ReviewRepository> reviews() { return reviews; }
+}
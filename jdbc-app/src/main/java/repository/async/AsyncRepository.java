@@ -0,0 +1,35 @@
+package com.electronics.store.repository.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Асинхронный фасад над репозиторием: вызов выполняется на исполнителе, результат - CompletableFuture.
+// Независимые запросы можно запустить вместе и дождаться обоих:
+//   var product = async.products().supply(r -> r.existsById(productId));
+//   var customer = async.customers().supply(r -> r.existsById(customerId));
+//   product.join(); customer.join();
+public final class AsyncRepository<R> {
+    private final R repository;
+    private final Executor executor;
+
+    AsyncRepository(R repository, Executor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    // Переполненный исполнитель отклоняет вызов сразу (RejectedExecutionException), а не через future
+    public <T> CompletableFuture<T> supply(Function<? super R, ? extends T> call) {
+        return CompletableFuture.supplyAsync(() -> call.apply(repository), executor);
+    }
+
+    public CompletableFuture<Void> run(Consumer<? super R> call) {
+        return CompletableFuture.runAsync(() -> call.accept(repository), executor);
+    }
+
+    // Сам репозиторий для синхронных вызовов
+    public R sync() {
+        return repository;
+    }
+}
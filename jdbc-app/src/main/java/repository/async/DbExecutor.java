@@ -0,0 +1,125 @@
+package com.electronics.store.repository.async;
+
+import config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Исполнитель вызовов хранилища для асинхронного API. Одновременно выполняется не больше maxConcurrency задач
+// (по умолчанию - размер пула соединений: остальные все равно ждали бы соединения), еще queueSize ждут,
+// дальше задачи отклоняются RejectedExecutionException. На Java 21+ задачи идут в виртуальных потоках,
+// на Java 17 - в пуле платформенных потоков
+public final class DbExecutor implements Executor {
+    private static final Logger logger = LoggerFactory.getLogger(DbExecutor.class);
+
+    private static volatile DbExecutor instance;
+
+    private final ExecutorService delegate;
+    private final boolean virtualThreads;
+    private final int maxConcurrency;
+    // Только для виртуальных потоков: ограничение одновременных задач и общего числа принятых
+    private final Semaphore running;
+    private final Semaphore accepted;
+
+    public DbExecutor(int maxConcurrency, int queueSize, boolean preferVirtualThreads) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Число одновременных задач должно быть положительным!");
+        }
+        this.maxConcurrency = maxConcurrency;
+        ExecutorService virtual = preferVirtualThreads ? newVirtualThreadExecutor() : null;
+        if (virtual != null) {
+            delegate = virtual;
+            virtualThreads = true;
+            running = new Semaphore(maxConcurrency);
+            accepted = new Semaphore(maxConcurrency + Math.max(0, queueSize));
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+                        Thread thread = new Thread(r, "db-async-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            delegate = pool;
+            virtualThreads = false;
+            running = null;
+            accepted = null;
+        }
+    }
+
+    // Исполнитель из настроек (db.async.*); создается при первом обращении
+    public static DbExecutor getInstance() {
+        DbExecutor executor = instance;
+        if (executor == null) {
+            synchronized (DbExecutor.class) {
+                executor = instance;
+                if (executor == null) {
+                    executor = new DbExecutor(DatabaseConfig.ASYNC_MAX_CONCURRENCY, DatabaseConfig.ASYNC_QUEUE_SIZE,
+                            DatabaseConfig.ASYNC_VIRTUAL_THREADS);
+                    logger.info("Асинхронные вызовы хранилища: {} потоки, до {} одновременно",
+                            executor.virtualThreads ? "виртуальные" : "платформенные", executor.maxConcurrency);
+                    instance = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!virtualThreads) {
+            delegate.execute(task);
+            return;
+        }
+        if (!accepted.tryAcquire()) {
+            throw new RejectedExecutionException("Очередь асинхронных вызовов заполнена");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    running.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    accepted.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            accepted.release();
+            throw e;
+        }
+    }
+
+    public boolean usesVirtualThreads() { return virtualThreads; }
+    public int getMaxConcurrency() { return maxConcurrency; }
+
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() через отражение: сборка идет под Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Виртуальные потоки недоступны, используются платформенные: {}", e.getMessage());
+            return null;
+        }
+    }
+}
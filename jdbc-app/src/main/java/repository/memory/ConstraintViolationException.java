@@ -0,0 +1,10 @@
+package com.electronics.store.repository.memory;
+
+// Нарушение ограничения, которое в PostgreSQL проверила бы схема (внешний ключ, уникальность, NOT NULL, CHECK)
+class ConstraintViolationException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    ConstraintViolationException(String message) {
+        super(message);
+    }
+}
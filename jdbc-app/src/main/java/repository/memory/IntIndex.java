@@ -0,0 +1,69 @@
+package com.electronics.store.repository.memory;
+
+import java.util.Arrays;
+
+// Неуникальный вторичный индекс: значение внешнего ключа -> отсортированный набор id строк.
+// Наборы хранятся как int[] с размером, без Integer и без отдельных объектов на каждую строку
+final class IntIndex {
+    private static final int[] NONE = new int[0];
+
+    private static final class IdSet {
+        int[] ids = new int[4];
+        int size;
+    }
+
+    private final IntMap<IdSet> sets = new IntMap<>();
+
+    void add(int key, int id) {
+        IdSet set = sets.get(key);
+        if (set == null) {
+            set = new IdSet();
+            sets.put(key, set);
+        }
+        int pos = search(set, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (set.size == set.ids.length) {
+            set.ids = Arrays.copyOf(set.ids, set.size * 2);
+        }
+        System.arraycopy(set.ids, pos, set.ids, pos + 1, set.size - pos);
+        set.ids[pos] = id;
+        set.size++;
+    }
+
+    void remove(int key, int id) {
+        IdSet set = sets.get(key);
+        if (set == null) {
+            return;
+        }
+        int pos = search(set, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(set.ids, pos + 1, set.ids, pos, set.size - pos - 1);
+        if (--set.size == 0) {
+            sets.remove(key);
+        }
+    }
+
+    boolean contains(int key, int id) {
+        IdSet set = sets.get(key);
+        return set != null && search(set, id) >= 0;
+    }
+
+    boolean containsKey(int key) {
+        return sets.containsKey(key);
+    }
+
+    // Копия набора по возрастанию id
+    int[] get(int key) {
+        IdSet set = sets.get(key);
+        return set == null ? NONE : Arrays.copyOf(set.ids, set.size);
+    }
+
+    private static int search(IdSet set, int id) {
+        return Arrays.binarySearch(set.ids, 0, set.size, id);
+    }
+}
@@ -0,0 +1,142 @@
+package com.electronics.store.repository.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Хэш-таблица int -> V с открытой адресацией и линейным пробированием: ключи лежат в int[] без упаковки в Integer.
+// Ключ 0 зарезервирован под пустую ячейку (id и ссылки в хранилище всегда положительные).
+// Удаление сдвигает следующие элементы цепочки назад, поэтому "надгробий" нет и поиск не деградирует.
+// Не потокобезопасна: доступ защищает блокировка MemoryStore
+final class IntMap<V> {
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    IntMap() {
+        this(16);
+    }
+
+    IntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(int key) {
+        return slotOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int slot = slotOf(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Ключ 0 не поддерживается");
+        }
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // элемент можно перенести в дыру, если она не ближе к его "домашней" ячейке, чем он сам
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    private int slotOf(int key) {
+        if (key == EMPTY) {
+            return -1;
+        }
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity / 4 * 3;
+    }
+
+    // Последовательные id иначе ложились бы в соседние ячейки длинными цепочками
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
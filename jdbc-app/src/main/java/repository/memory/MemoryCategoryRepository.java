@@ -0,0 +1,108 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.model.Category;
+import com.electronics.store.repository.CategoryRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import static com.electronics.store.repository.memory.MemoryStore.copy;
+
+public class MemoryCategoryRepository implements CategoryRepository {
+    private final MemoryStore store;
+
+    public MemoryCategoryRepository(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void save(Category category) {
+        try {
+            store.write(() -> {
+                MemoryStore.requireNotNull(category.getName(), "name");
+                Category row = copy(category);
+                row.setId(store.categories.nextId());
+                store.categories.put(row);
+                category.setId(row.getId());
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при добавлении категории: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return store.read(() -> store.categories.all().stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Category findById(int id) {
+        return store.read(() -> {
+            Category category = store.categories.get(id);
+            return category != null ? copy(category) : null;
+        });
+    }
+
+    @Override
+    public Category findByName(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        return store.read(() -> store.categories.all().stream()
+                .filter(category -> category.getName().toLowerCase(Locale.ROOT).equals(key))
+                .findFirst()
+                .map(MemoryStore::copy)
+                .orElse(null));
+    }
+
+    @Override
+    public List<Category> findAllByIds(Collection<Integer> ids) {
+        return store.read(() -> MemoryStore.inRequestedOrder(ids, id -> {
+            Category category = store.categories.get(id);
+            return category != null ? copy(category) : null;
+        }));
+    }
+
+    @Override
+    public void update(Category category) {
+        try {
+            store.write(() -> {
+                Category row = store.categories.get(category.getId());
+                if (row != null) {
+                    MemoryStore.requireNotNull(category.getName(), "name");
+                    row.setName(category.getName());
+                }
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при обновлении категории: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        try {
+            store.write(() -> {
+                if (store.categories.contains(id)) {
+                    MemoryStore.requireNoReferences(store.productsByCategory.containsKey(id), "категорию", id);
+                    store.categories.remove(id);
+                }
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при удалении категории: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return store.read(() -> store.categories.contains(id));
+    }
+
+    @Override
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> (long) store.categories.size());
+    }
+}
@@ -0,0 +1,138 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.model.Customer;
+import com.electronics.store.repository.CustomerRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.electronics.store.repository.memory.MemoryStore.copy;
+
+public class MemoryCustomerRepository implements CustomerRepository {
+    private final MemoryStore store;
+
+    public MemoryCustomerRepository(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void save(Customer customer) {
+        try {
+            store.write(() -> {
+                int id = store.customers.nextId();
+                MemoryStore.requireNotNull(customer.getName(), "name");
+                requireUniqueEmail(customer.getEmail(), id);
+                Customer row = copy(customer);
+                row.setId(id);
+                store.customers.put(row);
+                if (row.getEmail() != null) {
+                    store.customerByEmail.put(row.getEmail(), id);
+                }
+                customer.setId(id);
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при добавлении клиента: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Customer> findAll() {
+        return store.read(() -> store.customers.all().stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Customer findById(int id) {
+        return store.read(() -> {
+            Customer customer = store.customers.get(id);
+            return customer != null ? copy(customer) : null;
+        });
+    }
+
+    @Override
+    public List<Customer> findAllByIds(Collection<Integer> ids) {
+        return store.read(() -> MemoryStore.inRequestedOrder(ids, id -> {
+            Customer customer = store.customers.get(id);
+            return customer != null ? copy(customer) : null;
+        }));
+    }
+
+    @Override
+    public List<Customer> findPage(int afterId, int limit) {
+        return store.read(() -> store.customers.page(afterId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public List<Customer> findPageBefore(int beforeId, int limit) {
+        return store.read(() -> store.customers.pageBefore(beforeId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public void update(Customer customer) {
+        try {
+            store.write(() -> {
+                Customer row = store.customers.get(customer.getId());
+                if (row == null) {
+                    return;
+                }
+                MemoryStore.requireNotNull(customer.getName(), "name");
+                requireUniqueEmail(customer.getEmail(), row.getId());
+                if (row.getEmail() != null) {
+                    store.customerByEmail.remove(row.getEmail());
+                }
+                row.setName(customer.getName());
+                row.setEmail(customer.getEmail());
+                row.setPhone(customer.getPhone());
+                if (row.getEmail() != null) {
+                    store.customerByEmail.put(row.getEmail(), row.getId());
+                }
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при обновлении клиента: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        try {
+            store.write(() -> {
+                Customer row = store.customers.get(id);
+                if (row == null) {
+                    return;
+                }
+                MemoryStore.requireNoReferences(store.ordersByCustomer.containsKey(id)
+                        || store.reviewsByCustomer.containsKey(id), "клиента", id);
+                store.customers.remove(id);
+                if (row.getEmail() != null) {
+                    store.customerByEmail.remove(row.getEmail());
+                }
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при удалении клиента: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return store.read(() -> store.customers.contains(id));
+    }
+
+    @Override
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> (long) store.customers.size());
+    }
+
+    private void requireUniqueEmail(String email, int id) {
+        if (email == null) {
+            return;
+        }
+        Integer owner = store.customerByEmail.get(email);
+        if (owner != null && owner != id) {
+            throw MemoryStore.violation("повторяющееся значение ключа нарушает ограничение уникальности: email " + email);
+        }
+    }
+}
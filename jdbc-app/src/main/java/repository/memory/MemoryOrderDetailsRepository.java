@@ -0,0 +1,39 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderDetails;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.OrderLine;
+import com.electronics.store.repository.OrderDetailsRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MemoryOrderDetailsRepository implements OrderDetailsRepository {
+    private final MemoryStore store;
+
+    public MemoryOrderDetailsRepository(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public OrderDetails findOrderWithLines(int orderId) {
+        return store.read(() -> {
+            Order order = store.orders.get(orderId);
+            if (order == null) {
+                return null;
+            }
+            List<OrderLine> lines = new ArrayList<>();
+            for (int itemId : store.itemsByOrder.get(orderId)) {
+                OrderItem item = store.orderItems.get(itemId);
+                double lineTotal = BigDecimal.valueOf(item.getUnitPrice())
+                        .multiply(BigDecimal.valueOf(item.getQuantity())).doubleValue();
+                lines.add(new OrderLine(item.getId(), item.getProductId(),
+                        store.products.get(item.getProductId()).getName(),
+                        item.getUnitPrice(), item.getQuantity(), lineTotal));
+            }
+            return new OrderDetails(MemoryStore.copy(order), lines);
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import com.electronics.store.repository.OrderItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.electronics.store.repository.memory.MemoryStore.copy;
+
+public class MemoryOrderItemRepository implements OrderItemRepository {
+    private final MemoryStore store;
+
+    public MemoryOrderItemRepository(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void save(OrderItem item) {
+        try {
+            store.write(() -> insert(item));
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при добавлении товара в заказ: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<OrderItem> findByOrderId(int orderId) {
+        return store.read(() -> {
+            List<OrderItem> items = new ArrayList<>();
+            for (int id : store.itemsByOrder.get(orderId)) {
+                items.add(copy(store.orderItems.get(id)));
+            }
+            return items;
+        });
+    }
+
+    @Override
+    public void update(OrderItem item) {
+        try {
+            if (!store.write(() -> modify(item))) {
+                System.out.println("Позиция заказа с ID " + item.getId() + " не найдена!");
+            }
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при обновлении позиции заказа: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        if (!store.write(() -> remove(id))) {
+            System.out.println("Позиция заказа с ID " + id + " не найдена!");
+        }
+    }
+
+    @Override
+    public OrderItem findById(int id) {
+        return store.read(() -> {
+            OrderItem item = store.orderItems.get(id);
+            return item != null ? copy(item) : null;
+        });
+    }
+
+    @Override
+    public List<OrderItem> findAll() {
+        return store.read(() -> store.orderItems.all().stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public BatchResult saveAll(List<OrderItem> items) {
+        return store.batch(items, this::insert);
+    }
+
+    @Override
+    public BatchResult updateAll(List<OrderItem> items) {
+        return store.batch(items, this::modify);
+    }
+
+    @Override
+    public BatchResult deleteAllById(int[] ids) {
+        return store.batch(MemoryStore.ids(ids), this::remove);
+    }
+
+    @Override
+    public Stream<OrderItem> streamAll() {
+        return findAll().stream();
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return store.read(() -> store.orderItems.contains(id));
+    }
+
+    @Override
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> (long) store.orderItems.size());
+    }
+
+    // Проверки, которые в БД выполнили бы внешние ключи order_items; вызывается до любых изменений
+    void checkReferences(OrderItem item) {
+        MemoryStore.requireReference(store.orders, item.getOrderId(), "заказ");
+        MemoryStore.requireReference(store.products, item.getProductId(), "товар");
+    }
+
+    // Вызывается под блокировкой записи; цена продажи - текущая цена товара
+    boolean insert(OrderItem item) {
+        int id = store.orderItems.nextId();
+        checkReferences(item);
+        OrderItem row = copy(item);
+        row.setId(id);
+        row.setUnitPrice(store.products.get(item.getProductId()).getPrice());
+        store.orderItems.put(row);
+        store.itemsByOrder.add(row.getOrderId(), id);
+        store.itemsByProduct.add(row.getProductId(), id);
+        addToTotals(row, 1);
+        item.setId(id);
+        item.setUnitPrice(row.getUnitPrice());
+        return true;
+    }
+
+    private boolean modify(OrderItem item) {
+        OrderItem row = store.orderItems.get(item.getId());
+        if (row == null) {
+            return false;
+        }
+        checkReferences(item);
+        double unitPrice = row.getProductId() == item.getProductId()
+                ? row.getUnitPrice()
+                : store.products.get(item.getProductId()).getPrice();
+        addToTotals(row, -1);
+        store.itemsByOrder.remove(row.getOrderId(), row.getId());
+        store.itemsByProduct.remove(row.getProductId(), row.getId());
+        row.setOrderId(item.getOrderId());
+        row.setProductId(item.getProductId());
+        row.setQuantity(item.getQuantity());
+        row.setUnitPrice(unitPrice);
+        store.itemsByOrder.add(row.getOrderId(), row.getId());
+        store.itemsByProduct.add(row.getProductId(), row.getId());
+        addToTotals(row, 1);
+        return true;
+    }
+
+    private boolean remove(int id) {
+        OrderItem row = store.orderItems.remove(id);
+        if (row == null) {
+            return false;
+        }
+        store.itemsByOrder.remove(row.getOrderId(), id);
+        store.itemsByProduct.remove(row.getProductId(), id);
+        addToTotals(row, -1);
+        return true;
+    }
+
+    // sign = 1 - позиция добавлена в заказ, -1 - снята
+    private void addToTotals(OrderItem row, int sign) {
+        Order order = store.orders.get(row.getOrderId());
+        int quantity = sign * row.getQuantity();
+        order.setTotalAmount(MemoryStore.addMoney(order.getTotalAmount(), row.getUnitPrice(), quantity));
+        order.setItemCount(order.getItemCount() + quantity);
+    }
+}
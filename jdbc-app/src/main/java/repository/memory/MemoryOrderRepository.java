@@ -0,0 +1,153 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.dao.DataAccessException;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.repository.OrderRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.electronics.store.repository.memory.MemoryStore.copy;
+
+public class MemoryOrderRepository implements OrderRepository {
+    private final MemoryStore store;
+    private final MemoryOrderItemRepository items;
+
+    public MemoryOrderRepository(MemoryStore store, MemoryOrderItemRepository items) {
+        this.store = store;
+        this.items = items;
+    }
+
+    @Override
+    public void save(Order order) {
+        try {
+            store.write(() -> insert(order));
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при добавлении заказа: " + e.getMessage());
+        }
+    }
+
+    // Все проверки выполняются до изменений, поэтому при ошибке хранилище остается прежним
+    @Override
+    public void saveWithItems(Order order, List<OrderItem> orderItems) {
+        try {
+            store.write(() -> {
+                checkReferences(order);
+                for (OrderItem item : orderItems) {
+                    MemoryStore.requireReference(store.products, item.getProductId(), "товар");
+                }
+                insert(order);
+                for (OrderItem item : orderItems) {
+                    item.setOrderId(order.getId());
+                    items.insert(item);
+                }
+            });
+        } catch (ConstraintViolationException e) {
+            order.setId(0);
+            for (OrderItem item : orderItems) {
+                item.setId(0);
+                item.setOrderId(0);
+            }
+            throw new DataAccessException("Ошибка при оформлении заказа: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return store.read(() -> store.orders.all().stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Order findById(int id) {
+        return store.read(() -> {
+            Order order = store.orders.get(id);
+            return order != null ? copy(order) : null;
+        });
+    }
+
+    // Суммы заказа не меняются: их ведут позиции
+    @Override
+    public void update(Order order) {
+        try {
+            store.write(() -> {
+                Order row = store.orders.get(order.getId());
+                if (row == null) {
+                    return;
+                }
+                checkReferences(order);
+                store.ordersByCustomer.remove(row.getCustomerId(), row.getId());
+                row.setCustomerId(order.getCustomerId());
+                row.setOrderDate(MemoryStore.day(order.getOrderDate()));
+                row.setStatus(order.getStatus());
+                store.ordersByCustomer.add(row.getCustomerId(), row.getId());
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при обновлении заказа: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        try {
+            store.write(() -> {
+                Order row = store.orders.get(id);
+                if (row == null) {
+                    return;
+                }
+                MemoryStore.requireNoReferences(store.itemsByOrder.containsKey(id), "заказ", id);
+                store.orders.remove(id);
+                store.ordersByCustomer.remove(row.getCustomerId(), id);
+            });
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при удалении заказа: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Order> findPage(int afterId, int limit) {
+        return store.read(() -> store.orders.page(afterId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public List<Order> findPageBefore(int beforeId, int limit) {
+        return store.read(() -> store.orders.pageBefore(beforeId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Stream<Order> streamAll() {
+        return findAll().stream();
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return store.read(() -> store.orders.contains(id));
+    }
+
+    @Override
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> (long) store.orders.size());
+    }
+
+    private void checkReferences(Order order) {
+        MemoryStore.requireReference(store.customers, order.getCustomerId(), "клиент");
+        MemoryStore.requireNotNull(order.getOrderDate(), "order_date");
+    }
+
+    private void insert(Order order) {
+        int id = store.orders.nextId();
+        checkReferences(order);
+        Order row = copy(order);
+        row.setId(id);
+        row.setTotalAmount(0);
+        row.setItemCount(0);
+        store.orders.put(row);
+        store.ordersByCustomer.add(row.getCustomerId(), id);
+        order.setId(id);
+    }
+}
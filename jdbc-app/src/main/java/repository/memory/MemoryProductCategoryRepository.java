@@ -0,0 +1,96 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Category;
+import com.electronics.store.model.ProductCategory;
+import com.electronics.store.repository.ProductCategoryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MemoryProductCategoryRepository implements ProductCategoryRepository {
+    private final MemoryStore store;
+
+    public MemoryProductCategoryRepository(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void addProductToCategory(int productId, int categoryId) {
+        try {
+            store.write(() -> link(new ProductCategory(productId, categoryId)));
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при добавлении связи: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Integer> findCategoriesByProduct(int productId) {
+        return store.read(() -> {
+            List<Integer> categories = new ArrayList<>();
+            for (int categoryId : store.categoriesByProduct.get(productId)) {
+                categories.add(categoryId);
+            }
+            return categories;
+        });
+    }
+
+    @Override
+    public List<Category> findCategoryObjectsByProduct(int productId) {
+        return store.read(() -> {
+            List<Category> categories = new ArrayList<>();
+            for (int categoryId : store.categoriesByProduct.get(productId)) {
+                categories.add(MemoryStore.copy(store.categories.get(categoryId)));
+            }
+            return categories;
+        });
+    }
+
+    @Override
+    public BatchResult saveAll(List<ProductCategory> links) {
+        return store.batch(links, this::link);
+    }
+
+    @Override
+    public BatchResult deleteAll(List<ProductCategory> links) {
+        return store.batch(links, this::unlink);
+    }
+
+    @Override
+    public boolean exists(int productId, int categoryId) {
+        return store.read(() -> store.categoriesByProduct.contains(productId, categoryId));
+    }
+
+    @Override
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> (long) store.productCategoryCount);
+    }
+
+    private boolean link(ProductCategory link) {
+        MemoryStore.requireReference(store.products, link.getProductId(), "товар");
+        MemoryStore.requireReference(store.categories, link.getCategoryId(), "категория");
+        if (store.categoriesByProduct.contains(link.getProductId(), link.getCategoryId())) {
+            throw MemoryStore.violation("повторяющееся значение ключа нарушает ограничение уникальности: товар "
+                    + link.getProductId() + " уже связан с категорией " + link.getCategoryId());
+        }
+        store.categoriesByProduct.add(link.getProductId(), link.getCategoryId());
+        store.productsByCategory.add(link.getCategoryId(), link.getProductId());
+        store.productCategoryCount++;
+        return true;
+    }
+
+    private boolean unlink(ProductCategory link) {
+        if (!store.categoriesByProduct.contains(link.getProductId(), link.getCategoryId())) {
+            return false;
+        }
+        store.categoriesByProduct.remove(link.getProductId(), link.getCategoryId());
+        store.productsByCategory.remove(link.getCategoryId(), link.getProductId());
+        store.productCategoryCount--;
+        return true;
+    }
+}
@@ -0,0 +1,146 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Product;
+import com.electronics.store.repository.ProductRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.electronics.store.repository.memory.MemoryStore.copy;
+
+public class MemoryProductRepository implements ProductRepository {
+    private final MemoryStore store;
+
+    public MemoryProductRepository(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void save(Product product) {
+        try {
+            store.write(() -> insert(product));
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при добавлении товара: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return store.read(() -> store.products.all().stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Product findById(int id) {
+        return store.read(() -> {
+            Product product = store.products.get(id);
+            return product != null ? copy(product) : null;
+        });
+    }
+
+    // Как и UPDATE в ProductDao, меняются только название и цена
+    @Override
+    public void update(Product product) {
+        try {
+            store.write(() -> modify(product));
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при обновлении товара: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        try {
+            store.write(() -> remove(id));
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при удалении товара: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public BatchResult saveAll(List<Product> products) {
+        return store.batch(products, this::insert);
+    }
+
+    @Override
+    public BatchResult updateAll(List<Product> products) {
+        return store.batch(products, this::modify);
+    }
+
+    @Override
+    public BatchResult deleteAllById(int[] ids) {
+        return store.batch(MemoryStore.ids(ids), this::remove);
+    }
+
+    @Override
+    public List<Product> findAllByIds(Collection<Integer> ids) {
+        return store.read(() -> MemoryStore.inRequestedOrder(ids, id -> {
+            Product product = store.products.get(id);
+            return product != null ? copy(product) : null;
+        }));
+    }
+
+    @Override
+    public List<Product> findPage(int afterId, int limit) {
+        return store.read(() -> store.products.page(afterId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public List<Product> findPageBefore(int beforeId, int limit) {
+        return store.read(() -> store.products.pageBefore(beforeId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return findAll().stream();
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return store.read(() -> store.products.contains(id));
+    }
+
+    @Override
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> (long) store.products.size());
+    }
+
+    private boolean insert(Product product) {
+        MemoryStore.requireNotNull(product.getName(), "name");
+        Product row = copy(product);
+        row.setId(store.products.nextId());
+        row.setPrice(MemoryStore.money(product.getPrice()));
+        store.products.put(row);
+        product.setId(row.getId());
+        return true;
+    }
+
+    private boolean modify(Product product) {
+        Product row = store.products.get(product.getId());
+        if (row == null) {
+            return false;
+        }
+        MemoryStore.requireNotNull(product.getName(), "name");
+        row.setName(product.getName());
+        row.setPrice(MemoryStore.money(product.getPrice()));
+        return true;
+    }
+
+    private boolean remove(int id) {
+        if (!store.products.contains(id)) {
+            return false;
+        }
+        MemoryStore.requireNoReferences(store.itemsByProduct.containsKey(id) || store.reviewsByProduct.containsKey(id)
+                || store.categoriesByProduct.containsKey(id), "товар", id);
+        store.products.remove(id);
+        // сводка оценок удаляется вместе с товаром (ON DELETE CASCADE)
+        store.ratingStats.remove(id);
+        return true;
+    }
+}
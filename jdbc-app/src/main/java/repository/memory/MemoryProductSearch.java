@@ -0,0 +1,116 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.model.Product;
+import com.electronics.store.model.ProductSearchHit;
+import com.electronics.store.model.ProductSearchPage;
+import com.electronics.store.repository.ProductSearchRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Упрощенный поиск для хранилища в памяти: без стемминга, слово запроса совпадает с началом слова товара
+// ("смартф" находит "смартфон"). Все слова запроса обязательны, -слово исключает товар; "or" и фразы
+// в кавычках, в отличие от websearch_to_tsquery, не поддерживаются (кавычки игнорируются).
+// Веса как у ts_rank_cd с весами по умолчанию: название 1.0, описание 0.4
+public class MemoryProductSearch implements ProductSearchRepository {
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 0.4;
+
+    private final MemoryStore store;
+
+    public MemoryProductSearch(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public ProductSearchPage search(String query, int offset, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return ProductSearchPage.empty();
+        }
+        List<String> required = new ArrayList<>();
+        List<String> excluded = new ArrayList<>();
+        for (String term : query.toLowerCase(Locale.ROOT).split("\\s+")) {
+            boolean negative = term.startsWith("-");
+            Matcher word = WORD.matcher(term);
+            while (word.find()) {
+                (negative ? excluded : required).add(word.group());
+            }
+        }
+        if (required.isEmpty()) {
+            return ProductSearchPage.empty();
+        }
+
+        List<ProductSearchHit> matches = store.read(() -> {
+            List<ProductSearchHit> found = new ArrayList<>();
+            for (Product product : store.products.all()) {
+                String name = product.getName();
+                String description = product.getDescription() != null ? product.getDescription() : "";
+                double rank = rank(name, description, required, excluded);
+                if (rank > 0) {
+                    found.add(new ProductSearchHit(MemoryStore.copy(product), rank, null, null));
+                }
+            }
+            return found;
+        });
+        matches.sort(Comparator.comparingDouble(ProductSearchHit::getRank).reversed()
+                .thenComparingInt(hit -> hit.getProduct().getId()));
+
+        List<ProductSearchHit> page = new ArrayList<>();
+        for (int i = offset; i < matches.size() && page.size() < limit; i++) {
+            ProductSearchHit hit = matches.get(i);
+            hit.setNameHighlight(highlight(hit.getProduct().getName(), required));
+            String description = hit.getProduct().getDescription();
+            hit.setDescriptionHighlight(highlight(description != null ? description : "", required));
+            page.add(hit);
+        }
+        return new ProductSearchPage(page, matches.size(), offset);
+    }
+
+    // 0 - товар не подходит
+    private static double rank(String name, String description, List<String> required, List<String> excluded) {
+        for (String term : excluded) {
+            if (contains(name, term) || contains(description, term)) {
+                return 0;
+            }
+        }
+        double rank = 0;
+        for (String term : required) {
+            boolean inName = contains(name, term);
+            boolean inDescription = contains(description, term);
+            if (!inName && !inDescription) {
+                return 0;
+            }
+            rank += (inName ? NAME_WEIGHT : 0) + (inDescription ? DESCRIPTION_WEIGHT : 0);
+        }
+        return rank;
+    }
+
+    private static boolean contains(String text, String term) {
+        Matcher word = WORD.matcher(text);
+        while (word.find()) {
+            if (word.group().toLowerCase(Locale.ROOT).startsWith(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String highlight(String text, List<String> terms) {
+        StringBuilder result = new StringBuilder();
+        Matcher word = WORD.matcher(text);
+        int last = 0;
+        while (word.find()) {
+            String lower = word.group().toLowerCase(Locale.ROOT);
+            if (terms.stream().anyMatch(lower::startsWith)) {
+                result.append(text, last, word.start()).append('[').append(word.group()).append(']');
+                last = word.end();
+            }
+        }
+        return result.append(text.substring(last)).toString();
+    }
+}
@@ -0,0 +1,201 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.RatingStats;
+import com.electronics.store.model.Review;
+import com.electronics.store.repository.ReviewRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.electronics.store.repository.memory.MemoryStore.copy;
+
+public class MemoryReviewRepository implements ReviewRepository {
+    // Порядок topRated: средняя оценка (сравнение дробей без округления), затем число отзывов
+    private static final Comparator<RatingStats> BEST_FIRST = (a, b) -> {
+        int byAverage = Long.compare((long) b.getRatingSum() * a.getReviewCount(),
+                (long) a.getRatingSum() * b.getReviewCount());
+        if (byAverage != 0) {
+            return byAverage;
+        }
+        int byCount = Integer.compare(b.getReviewCount(), a.getReviewCount());
+        return byCount != 0 ? byCount : Integer.compare(a.getProductId(), b.getProductId());
+    };
+
+    private final MemoryStore store;
+
+    public MemoryReviewRepository(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void save(Review review) {
+        try {
+            store.write(() -> insert(review));
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при добавлении отзыва: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Review> findAll() {
+        return store.read(() -> store.reviews.all().stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Review findById(int id) {
+        return store.read(() -> {
+            Review review = store.reviews.get(id);
+            return review != null ? copy(review) : null;
+        });
+    }
+
+    @Override
+    public void update(Review review) {
+        try {
+            if (!store.write(() -> modify(review))) {
+                System.out.println("Отзыв с ID " + review.getId() + " не найден!");
+            }
+        } catch (ConstraintViolationException e) {
+            System.out.println("Ошибка при обновлении отзыва: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        if (!store.write(() -> remove(id))) {
+            System.out.println("Отзыв с ID " + id + " не найден!");
+        }
+    }
+
+    @Override
+    public BatchResult saveAll(List<Review> reviews) {
+        return store.batch(reviews, this::insert);
+    }
+
+    @Override
+    public BatchResult updateAll(List<Review> reviews) {
+        return store.batch(reviews, this::modify);
+    }
+
+    @Override
+    public BatchResult deleteAllById(int[] ids) {
+        return store.batch(MemoryStore.ids(ids), this::remove);
+    }
+
+    @Override
+    public RatingStats getRatingStats(int productId) {
+        return store.read(() -> {
+            RatingStats stats = store.ratingStats.get(productId);
+            return stats != null ? copy(stats) : new RatingStats(productId);
+        });
+    }
+
+    @Override
+    public List<RatingStats> topRated(int limit, int minReviews) {
+        return store.read(() -> store.ratingStats.values().stream()
+                .filter(stats -> stats.getReviewCount() > 0 && stats.getReviewCount() >= minReviews)
+                .sorted(BEST_FIRST)
+                .limit(limit)
+                .map(stats -> {
+                    RatingStats copy = copy(stats);
+                    copy.setProductName(store.products.get(stats.getProductId()).getName());
+                    return copy;
+                })
+                .toList());
+    }
+
+    @Override
+    public List<Review> findPage(int afterId, int limit) {
+        return store.read(() -> store.reviews.page(afterId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public List<Review> findPageBefore(int beforeId, int limit) {
+        return store.read(() -> store.reviews.pageBefore(beforeId, limit).stream().map(MemoryStore::copy).toList());
+    }
+
+    @Override
+    public Stream<Review> streamAll() {
+        return findAll().stream();
+    }
+
+    @Override
+    public boolean existsById(int id) {
+        return store.read(() -> store.reviews.contains(id));
+    }
+
+    @Override
+    public boolean existsAny() {
+        return count() > 0;
+    }
+
+    @Override
+    public long count() {
+        return store.read(() -> (long) store.reviews.size());
+    }
+
+    private void check(Review review) {
+        MemoryStore.requireReference(store.products, review.getProductId(), "товар");
+        MemoryStore.requireReference(store.customers, review.getCustomerId(), "клиент");
+        if (review.getRating() < 1 || review.getRating() > 5) {
+            throw MemoryStore.violation("рейтинг " + review.getRating() + " нарушает ограничение rating BETWEEN 1 AND 5");
+        }
+    }
+
+    private boolean insert(Review review) {
+        int id = store.reviews.nextId();
+        check(review);
+        Review row = copy(review);
+        row.setId(id);
+        store.reviews.put(row);
+        store.reviewsByProduct.add(row.getProductId(), id);
+        store.reviewsByCustomer.add(row.getCustomerId(), id);
+        applyRating(row.getProductId(), 1, row.getRating());
+        review.setId(id);
+        return true;
+    }
+
+    private boolean modify(Review review) {
+        Review row = store.reviews.get(review.getId());
+        if (row == null) {
+            return false;
+        }
+        check(review);
+        applyRating(row.getProductId(), -1, row.getRating());
+        store.reviewsByProduct.remove(row.getProductId(), row.getId());
+        store.reviewsByCustomer.remove(row.getCustomerId(), row.getId());
+        row.setProductId(review.getProductId());
+        row.setCustomerId(review.getCustomerId());
+        row.setRating(review.getRating());
+        row.setComment(review.getComment());
+        store.reviewsByProduct.add(row.getProductId(), row.getId());
+        store.reviewsByCustomer.add(row.getCustomerId(), row.getId());
+        applyRating(row.getProductId(), 1, row.getRating());
+        return true;
+    }
+
+    private boolean remove(int id) {
+        Review row = store.reviews.remove(id);
+        if (row == null) {
+            return false;
+        }
+        store.reviewsByProduct.remove(row.getProductId(), id);
+        store.reviewsByCustomer.remove(row.getCustomerId(), id);
+        applyRating(row.getProductId(), -1, row.getRating());
+        return true;
+    }
+
+    // cnt = 1 - оценка добавлена, -1 - снята (как delta в ReviewDao)
+    private void applyRating(int productId, int cnt, int rating) {
+        RatingStats stats = store.ratingStats.get(productId);
+        if (stats == null) {
+            stats = new RatingStats(productId);
+            store.ratingStats.put(productId, stats);
+        }
+        stats.setReviewCount(stats.getReviewCount() + cnt);
+        stats.setRatingSum(stats.getRatingSum() + cnt * rating);
+        stats.setStarCount(rating, stats.getStarCount(rating) + cnt);
+    }
+}
@@ -0,0 +1,214 @@
+package com.electronics.store.repository.memory;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.metrics.DaoMetrics;
+import com.electronics.store.model.Category;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.RatingStats;
+import com.electronics.store.model.Review;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Хранилище в памяти для нагрузочных тестов и демонстраций (storage.engine=memory).
+// Повторяет схему database/schema.sql с миграциями: внешние ключи, уникальность email, проверку рейтинга,
+// суммы заказов и сводку оценок. Одна блокировка чтения-записи на все таблицы делает каждую операцию
+// репозитория атомарной, в том числе затрагивающие несколько таблиц (позиция и суммы заказа).
+// Строки хранятся копиями, наружу тоже отдаются копии
+public class MemoryStore {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    final Table<Product> products = new Table<>(Product::getId);
+    final Table<Category> categories = new Table<>(Category::getId);
+    final Table<Customer> customers = new Table<>(Customer::getId);
+    final Table<Order> orders = new Table<>(Order::getId);
+    final Table<OrderItem> orderItems = new Table<>(OrderItem::getId);
+    final Table<Review> reviews = new Table<>(Review::getId);
+
+    // product_categories: каждая пара лежит в обоих индексах
+    final IntIndex categoriesByProduct = new IntIndex();
+    final IntIndex productsByCategory = new IntIndex();
+    int productCategoryCount;
+
+    // Вторичные индексы по внешним ключам
+    final IntIndex itemsByOrder = new IntIndex();
+    final IntIndex itemsByProduct = new IntIndex();
+    final IntIndex ordersByCustomer = new IntIndex();
+    final IntIndex reviewsByProduct = new IntIndex();
+    final IntIndex reviewsByCustomer = new IntIndex();
+
+    // Уникальный индекс customers.email
+    final Map<String, Integer> customerByEmail = new HashMap<>();
+
+    // product_rating_stats: строка создается первым отзывом и, как в БД (ON DELETE CASCADE), удаляется только с товаром
+    final IntMap<RatingStats> ratingStats = new IntMap<>();
+
+    <R> R read(Supplier<R> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    <R> R write(Supplier<R> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Пакет под одной блокировкой записи. Как и BatchWriter, записывает корректные строки и возвращает ошибку
+    // по каждой некорректной; operation возвращает false, если строка не найдена (UPDATE/DELETE по id)
+    <T> BatchResult batch(List<T> items, Predicate<T> operation) {
+        return write(() -> {
+            BatchResult result = new BatchResult(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                try {
+                    if (operation.test(items.get(i))) {
+                        result.recordSuccess();
+                    } else {
+                        result.recordFailure(i, "Запись не найдена");
+                    }
+                } catch (ConstraintViolationException e) {
+                    result.recordFailure(i, e.getMessage());
+                }
+            }
+            return result;
+        });
+    }
+
+    static List<Integer> ids(int[] ids) {
+        List<Integer> list = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    // Копии найденных строк в порядке запрошенных id; повторы и отсутствующие id пропускаются
+    static <T> List<T> inRequestedOrder(Collection<Integer> ids, IntFunction<T> lookup) {
+        List<T> result = new ArrayList<>();
+        for (int id : new LinkedHashSet<>(ids)) {
+            T row = lookup.apply(id);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    // Нарушение ограничения отмечается в метриках текущего вызова, даже если репозиторий его перехватит
+    static ConstraintViolationException violation(String message) {
+        DaoMetrics.markFailed();
+        return new ConstraintViolationException(message);
+    }
+
+    static void requireReference(Table<?> table, int id, String what) {
+        if (!table.contains(id)) {
+            throw violation("нарушение внешнего ключа: " + what + " с ID " + id + " не существует");
+        }
+    }
+
+    static void requireNoReferences(boolean referenced, String what, int id) {
+        if (referenced) {
+            throw violation("нарушение внешнего ключа: на " + what + " с ID " + id + " ссылаются другие записи");
+        }
+    }
+
+    static void requireNotNull(Object value, String column) {
+        if (value == null) {
+            throw violation("значение NULL в столбце " + column + " нарушает ограничение NOT NULL");
+        }
+    }
+
+    // Денежные столбцы DECIMAL(n, 2): значение округляется до копеек, как при записи в БД
+    static double money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    // Суммы считаются в BigDecimal, чтобы накопленная сумма заказа не расходилась с DECIMAL в БД
+    static double addMoney(double total, double price, int quantity) {
+        return BigDecimal.valueOf(total).add(BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(quantity)))
+                .setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    // Столбец DATE хранит только день
+    static Date day(Date date) {
+        return date == null ? null : java.sql.Date.valueOf(new java.sql.Date(date.getTime()).toLocalDate());
+    }
+
+    static Product copy(Product product) {
+        Product copy = new Product(product.getName(), product.getPrice(), product.getDescription());
+        copy.setId(product.getId());
+        return copy;
+    }
+
+    static Category copy(Category category) {
+        Category copy = new Category(category.getName());
+        copy.setId(category.getId());
+        return copy;
+    }
+
+    static Customer copy(Customer customer) {
+        Customer copy = new Customer(customer.getName(), customer.getEmail(), customer.getPhone());
+        copy.setId(customer.getId());
+        return copy;
+    }
+
+    static Order copy(Order order) {
+        Order copy = new Order(order.getCustomerId(), day(order.getOrderDate()), order.getStatus());
+        copy.setId(order.getId());
+        copy.setTotalAmount(order.getTotalAmount());
+        copy.setItemCount(order.getItemCount());
+        return copy;
+    }
+
+    static OrderItem copy(OrderItem item) {
+        OrderItem copy = new OrderItem(item.getOrderId(), item.getProductId(), item.getQuantity());
+        copy.setId(item.getId());
+        copy.setUnitPrice(item.getUnitPrice());
+        return copy;
+    }
+
+    static Review copy(Review review) {
+        Review copy = new Review(review.getProductId(), review.getCustomerId(), review.getRating(), review.getComment());
+        copy.setId(review.getId());
+        return copy;
+    }
+
+    static RatingStats copy(RatingStats stats) {
+        RatingStats copy = new RatingStats(stats.getProductId());
+        copy.setProductName(stats.getProductName());
+        copy.setReviewCount(stats.getReviewCount());
+        copy.setRatingSum(stats.getRatingSum());
+        for (int stars = 1; stars <= 5; stars++) {
+            copy.setStarCount(stars, stats.getStarCount(stars));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,81 @@
+package com.electronics.store.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+// Таблица хранилища: строки по первичному ключу, упорядоченный набор живых id и последовательность id.
+// Как и sequence в PostgreSQL, последовательность не откатывается: id неудачной вставки пропадает
+final class Table<T> {
+    private final IntMap<T> rows = new IntMap<>();
+    // id строк по возрастанию: страницы берутся из него за O(log n + limit), а не обходом пропусков после удалений
+    private final NavigableSet<Integer> ids = new TreeSet<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final ToIntFunction<T> idOf;
+
+    Table(ToIntFunction<T> idOf) {
+        this.idOf = idOf;
+    }
+
+    int nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    T get(int id) {
+        return rows.get(id);
+    }
+
+    boolean contains(int id) {
+        return rows.containsKey(id);
+    }
+
+    void put(T row) {
+        int id = idOf.applyAsInt(row);
+        rows.put(id, row);
+        ids.add(id);
+    }
+
+    T remove(int id) {
+        T row = rows.remove(id);
+        if (row != null) {
+            ids.remove(id);
+        }
+        return row;
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    // Все строки по возрастанию id
+    List<T> all() {
+        return rowsOf(ids, rows.size());
+    }
+
+    // Строки с id больше afterId, по возрастанию id
+    List<T> page(int afterId, int limit) {
+        return rowsOf(ids.tailSet(afterId, false), limit);
+    }
+
+    // Строки с id меньше beforeId, по возрастанию id
+    List<T> pageBefore(int beforeId, int limit) {
+        List<T> page = rowsOf(ids.headSet(beforeId, false).descendingSet(), limit);
+        Collections.reverse(page);
+        return page;
+    }
+
+    private List<T> rowsOf(Iterable<Integer> idsInOrder, int limit) {
+        List<T> result = new ArrayList<>(Math.min(limit, rows.size()));
+        for (Integer id : idsInOrder) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(rows.get(id));
+        }
+        return result;
+    }
+}
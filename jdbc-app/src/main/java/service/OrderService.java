@@ -0,0 +1,95 @@
+package com.electronics.store.service;
+
+import com.electronics.store.dao.DataAccessException;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import com.electronics.store.repository.CustomerRepository;
+import com.electronics.store.repository.OrderRepository;
+import com.electronics.store.repository.ProductRepository;
+import com.electronics.store.repository.Repositories;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Оформление заказа целиком: шапка и все позиции записываются атомарно (OrderRepository.saveWithItems).
+// Либо записывается весь заказ, либо ничего
+public class OrderService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+
+    public OrderService() {
+        this(Repositories.get());
+    }
+
+    public OrderService(Repositories repositories) {
+        this.customerRepository = repositories.customers();
+        this.productRepository = repositories.products();
+        this.orderRepository = repositories.orders();
+    }
+
+    // Возвращает тот же order с присвоенным id; id позиций записываются в items.
+    // IllegalArgumentException - некорректные данные заказа, DataAccessException - ошибка хранилища (заказ не записан)
+    public Order placeOrder(Order order, List<OrderItem> items) {
+        long start = System.nanoTime();
+        validate(order, items);
+        long validated = System.nanoTime();
+
+        try {
+            orderRepository.saveWithItems(order, items);
+        } catch (DataAccessException e) {
+            logger.warn("Заказ не оформлен: {}", e.getMessage());
+            throw e;
+        }
+
+        long finished = System.nanoTime();
+        logger.info("Заказ {} оформлен: позиций {}, всего {} мс (проверка {} мс, запись {} мс)",
+                order.getId(), items.size(), millis(finished - start), millis(validated - start), millis(finished - validated));
+        return order;
+    }
+
+    // Клиент и все товары проверяются двумя запросами независимо от числа позиций.
+    // Проверка идет через findAllByIds: ошибка БД доходит до вызывающего как DataAccessException,
+    // а не превращается в "не найден" (existsById при ошибке возвращает false)
+    private void validate(Order order, List<OrderItem> items) {
+        if (order.getOrderDate() == null) {
+            throw new IllegalArgumentException("Не указана дата заказа!");
+        }
+        Set<Integer> productIds = new LinkedHashSet<>();
+        for (OrderItem item : items) {
+            if (item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Количество должно быть положительным!");
+            }
+            productIds.add(item.getProductId());
+        }
+        if (customerRepository.findAllByIds(List.of(order.getCustomerId())).isEmpty()) {
+            throw new IllegalArgumentException("Клиент с ID " + order.getCustomerId() + " не найден!");
+        }
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Set<Integer> found = new HashSet<>();
+        for (Product product : productRepository.findAllByIds(productIds)) {
+            found.add(product.getId());
+        }
+        if (found.size() < productIds.size()) {
+            String missing = productIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException("Товары не найдены: " + missing);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
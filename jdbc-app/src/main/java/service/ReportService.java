@@ -0,0 +1,220 @@
+package com.electronics.store.service;
+
+import com.electronics.store.dao.DataAccessException;
+import com.electronics.store.db.ConnectionPool;
+import config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+
+// Аналитические отчеты по продажам. Каждый отчет - один агрегирующий запрос в БД;
+// строки результата читаются курсором и сразу передаются в ReportSink (консоль или CSV).
+// Время выполнения пишется в лог и передается в ReportSink.finish, чтобы было видно,
+// каким отчетам нужна предварительная агрегация
+public class ReportService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    // Границы периода включительно; null - без ограничения
+    private static final String PERIOD = "o.order_date BETWEEN coalesce(?::date, '-infinity'::date) "
+            + "AND coalesce(?::date, 'infinity'::date)";
+
+    // Параметры запроса отчета в порядке их появления в SQL
+    private enum Param { FROM, TO, UNIT, LIMIT }
+
+    public enum Report {
+        // Выручка считается по цене продажи (order_items.unit_price), а не по текущей цене товара
+        REVENUE_BY_PRODUCT("Выручка по товарам",
+                "SELECT p.id, p.name, s.quantity, s.revenue "
+                        + "FROM (SELECT oi.product_id, sum(oi.quantity) AS quantity, "
+                        + "sum(oi.quantity * oi.unit_price) AS revenue "
+                        + "FROM orders o JOIN order_items oi ON oi.order_id = o.id "
+                        + "WHERE " + PERIOD + " GROUP BY oi.product_id) s "
+                        + "JOIN products p ON p.id = s.product_id "
+                        + "ORDER BY s.revenue DESC, p.id LIMIT ?",
+                new String[] {"ID", "Товар", "Продано, шт.", "Выручка"},
+                Param.FROM, Param.TO, Param.LIMIT),
+        // Продажи сначала сворачиваются по товарам, затем раскладываются по категориям.
+        // Товар из нескольких категорий учитывается в каждой из них, поэтому сумма по категориям
+        // может быть больше общей выручки
+        REVENUE_BY_CATEGORY("Выручка по категориям",
+                "WITH sold AS (SELECT oi.product_id, sum(oi.quantity) AS quantity, "
+                        + "sum(oi.quantity * oi.unit_price) AS revenue "
+                        + "FROM orders o JOIN order_items oi ON oi.order_id = o.id "
+                        + "WHERE " + PERIOD + " GROUP BY oi.product_id) "
+                        + "SELECT c.id, coalesce(c.name, 'Без категории') AS category, "
+                        + "sum(s.quantity) AS quantity, sum(s.revenue) AS revenue "
+                        + "FROM sold s LEFT JOIN product_categories pc ON pc.product_id = s.product_id "
+                        + "LEFT JOIN categories c ON c.id = pc.category_id "
+                        + "GROUP BY c.id, c.name ORDER BY revenue DESC, c.id LIMIT ?",
+                new String[] {"ID", "Категория", "Продано, шт.", "Выручка"},
+                Param.FROM, Param.TO, Param.LIMIT),
+        // По суммам, которые хранятся в самих заказах, без соединения с позициями
+        REVENUE_BY_PERIOD("Выручка по периодам",
+                "SELECT date_trunc(?::text, o.order_date::timestamp)::date AS period, count(*) AS orders, "
+                        + "sum(o.item_count) AS items, sum(o.total_amount) AS revenue "
+                        + "FROM orders o WHERE " + PERIOD + " GROUP BY 1 ORDER BY 1 LIMIT ?",
+                new String[] {"Период", "Заказов", "Товаров, шт.", "Выручка"},
+                Param.UNIT, Param.FROM, Param.TO, Param.LIMIT),
+        TOP_CUSTOMERS("Лучшие клиенты",
+                "SELECT c.id, c.name, s.orders, s.revenue "
+                        + "FROM (SELECT o.customer_id, count(*) AS orders, sum(o.total_amount) AS revenue "
+                        + "FROM orders o WHERE " + PERIOD + " GROUP BY o.customer_id) s "
+                        + "JOIN customers c ON c.id = s.customer_id "
+                        + "ORDER BY s.revenue DESC, c.id LIMIT ?",
+                new String[] {"ID", "Клиент", "Заказов", "Выручка"},
+                Param.FROM, Param.TO, Param.LIMIT),
+        // Пустые заказы (без позиций) в среднем чеке не учитываются
+        AVERAGE_BASKET("Средний чек",
+                "SELECT count(*) AS orders, avg(o.total_amount) AS avg_amount, avg(o.item_count) AS avg_items, "
+                        + "sum(o.total_amount) AS revenue "
+                        + "FROM orders o WHERE " + PERIOD + " AND o.item_count > 0",
+                new String[] {"Заказов", "Средний чек", "Товаров в заказе", "Выручка"},
+                Param.FROM, Param.TO);
+
+        private final String title;
+        private final String sql;
+        private final String[] columns;
+        private final Param[] params;
+
+        Report(String title, String sql, String[] columns, Param... params) {
+            this.title = title;
+            this.sql = sql;
+            this.columns = columns;
+            this.params = params;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public boolean hasLimit() {
+            return uses(Param.LIMIT);
+        }
+
+        public boolean hasPeriodUnit() {
+            return uses(Param.UNIT);
+        }
+
+        private boolean uses(Param param) {
+            for (Param p : params) {
+                if (p == param) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Шаг группировки для REVENUE_BY_PERIOD (единица date_trunc)
+    public enum PeriodUnit {
+        DAY("day"), WEEK("week"), MONTH("month"), YEAR("year");
+
+        private final String sqlName;
+
+        PeriodUnit(String sqlName) {
+            this.sqlName = sqlName;
+        }
+    }
+
+    private final ConnectionPool pool;
+
+    public ReportService() {
+        this(ConnectionPool.getInstance());
+    }
+
+    public ReportService(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    // from/to - границы периода включительно (null - без ограничения); limit <= 0 - все строки;
+    // unit нужен только отчету по периодам. Возвращает число строк отчета
+    public long run(Report report, LocalDate from, LocalDate to, PeriodUnit unit, int limit, ReportSink sink) {
+        long start = System.nanoTime();
+        long firstRow = 0;
+        long rows = 0;
+        try (Connection conn = pool.getConnection()) {
+            // курсор (fetchSize) работает только внутри транзакции
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try (PreparedStatement stmt = conn.prepareStatement(report.sql)) {
+                stmt.setFetchSize(DatabaseConfig.STREAM_FETCH_SIZE);
+                bind(stmt, report, from, to, unit, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    firstRow = System.nanoTime();
+                    sink.header(report.columns);
+                    ResultSetMetaData meta = rs.getMetaData();
+                    Object[] values = new Object[meta.getColumnCount()];
+                    while (rs.next()) {
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = rs.getObject(i + 1);
+                        }
+                        sink.row(values);
+                        rows++;
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                rollback(conn, e);
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.warn("Отчет \"{}\" не построен: {}", report.title, e.getMessage());
+            throw new DataAccessException("Ошибка при построении отчета: " + e.getMessage(), e);
+        }
+        long finished = System.nanoTime();
+        double elapsedMs = (finished - start) / 1_000_000.0;
+        logger.info("Отчет \"{}\": строк {}, всего {} мс (запрос {} мс, выдача {} мс)",
+                report.title, rows, millis(finished - start), millis(firstRow - start), millis(finished - firstRow));
+        sink.finish(rows, elapsedMs);
+        return rows;
+    }
+
+    // Ошибка отката не заменяет исходную ошибку запроса или приемника, а прикладывается к ней
+    private static void rollback(Connection conn, Exception cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Report report, LocalDate from, LocalDate to,
+                             PeriodUnit unit, int limit) throws SQLException {
+        int index = 1;
+        for (Param param : report.params) {
+            switch (param) {
+                case FROM -> setDate(stmt, index, from);
+                case TO -> setDate(stmt, index, to);
+                case UNIT -> stmt.setString(index, (unit != null ? unit : PeriodUnit.MONTH).sqlName);
+                // LIMIT NULL в PostgreSQL - без ограничения
+                case LIMIT -> {
+                    if (limit > 0) {
+                        stmt.setInt(index, limit);
+                    } else {
+                        stmt.setNull(index, Types.INTEGER);
+                    }
+                }
+            }
+            index++;
+        }
+    }
+
+    private static void setDate(PreparedStatement stmt, int index, LocalDate date) throws SQLException {
+        if (date != null) {
+            stmt.setObject(index, date);
+        } else {
+            stmt.setNull(index, Types.DATE);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,100 @@
+package com.electronics.store.service;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+// Получатель строк отчета: строки приходят по одной прямо из курсора, отчет целиком в памяти не собирается
+public interface ReportSink {
+    void header(String[] columns);
+
+    void row(Object[] values);
+
+    // Вызывается после последней строки
+    void finish(long rows, double elapsedMs);
+
+    // Таблица в консоли; ширина столбцов фиксированная, так как строки заранее неизвестны
+    static ReportSink console(PrintStream out) {
+        return new ReportSink() {
+            @Override
+            public void header(String[] columns) {
+                out.println(String.join(" | ", columns));
+            }
+
+            @Override
+            public void row(Object[] values) {
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append(" | ");
+                    }
+                    Object value = values[i];
+                    // суммы целых (count, sum(quantity)) приходят как BigDecimal без дробной части
+                    if (value instanceof BigDecimal && ((BigDecimal) value).scale() > 0 || value instanceof Double) {
+                        line.append(String.format("%.2f", ((Number) value).doubleValue()));
+                    } else {
+                        line.append(value);
+                    }
+                }
+                out.println(line);
+            }
+
+            @Override
+            public void finish(long rows, double elapsedMs) {
+                out.printf("Строк: %d, время: %.1f мс\n", rows, elapsedMs);
+            }
+        };
+    }
+
+    // CSV (RFC 4180): разделитель запятая, поля с запятыми, кавычками и переводами строк берутся в кавычки.
+    // Writer не закрывается
+    static ReportSink csv(Writer out) {
+        return new ReportSink() {
+            @Override
+            public void header(String[] columns) {
+                write(columns);
+            }
+
+            @Override
+            public void row(Object[] values) {
+                write(values);
+            }
+
+            @Override
+            public void finish(long rows, double elapsedMs) {
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private void write(Object[] values) {
+                try {
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) {
+                            out.write(',');
+                        }
+                        out.write(escape(values[i]));
+                    }
+                    out.write("\r\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private String escape(Object value) {
+                if (value == null) {
+                    return "";
+                }
+                String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+                if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                    return text;
+                }
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+        };
+    }
+}
@@ -1,38 +1,70 @@
 package com.electronics.store.service;
 
-import com.electronics.store.dao.CategoryDao;
-import com.electronics.store.dao.CustomerDao;
-import com.electronics.store.dao.OrderDao;
-import com.electronics.store.dao.ProductDao;
-import com.electronics.store.dao.OrderItemDao;
-import com.electronics.store.dao.ProductCategoryDao;
-import com.electronics.store.dao.ReviewDao;
+import com.electronics.store.dao.DataAccessException;
 
 import com.electronics.store.model.Category;
 import com.electronics.store.model.Customer;
 import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderDetails;
 import com.electronics.store.model.OrderItem;
 import com.electronics.store.model.Product;
 import com.electronics.store.model.ProductCategory;
+import com.electronics.store.model.ProductSearchHit;
+import com.electronics.store.model.ProductSearchPage;
+import com.electronics.store.model.RatingStats;
 import com.electronics.store.model.Review;
+import com.electronics.store.repository.CategoryRepository;
+import com.electronics.store.repository.CustomerRepository;
+import com.electronics.store.repository.OrderDetailsRepository;
+import com.electronics.store.repository.OrderItemRepository;
+import com.electronics.store.repository.OrderRepository;
+import com.electronics.store.repository.ProductCategoryRepository;
+import com.electronics.store.repository.ProductRepository;
+import com.electronics.store.repository.ProductSearchRepository;
+import com.electronics.store.repository.Repositories;
+import com.electronics.store.repository.ReviewRepository;
+import com.electronics.store.repository.async.AsyncRepositories;
+import com.electronics.store.validation.InputValidator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 public class StoreService
 {
     private static final Logger logger = LoggerFactory.getLogger(StoreService.class);
-    private final ProductDao productDao = new ProductDao();
-    private final CategoryDao categoryDao = new CategoryDao();
-    private final CustomerDao customerDao = new CustomerDao();
-    private final OrderDao orderDao = new OrderDao();
-    private final ReviewDao reviewDao = new ReviewDao();
-    private final OrderItemDao orderItemDao = new OrderItemDao();
-    private final ProductCategoryDao productCategoryDao = new ProductCategoryDao();
+    private static final int PAGE_SIZE = 20;
+    private final Repositories repositories = Repositories.get();
+    private final ProductRepository productRepository = repositories.products();
+    private final ProductSearchRepository productSearch = repositories.productSearch();
+    private final CategoryRepository categoryRepository = repositories.categories();
+    private final CustomerRepository customerRepository = repositories.customers();
+    private final OrderRepository orderRepository = repositories.orders();
+    private final ReviewRepository reviewRepository = repositories.reviews();
+    private final OrderItemRepository orderItemRepository = repositories.orderItems();
+    private final ProductCategoryRepository productCategoryRepository = repositories.productCategories();
+    private final OrderDetailsRepository orderDetailsRepository = repositories.orderDetails();
+    private final OrderService orderService = new OrderService(repositories);
+    private final AsyncRepositories async = new AsyncRepositories(repositories);
     private final Scanner scanner = new Scanner(System.in);
 
     public void start() {
@@ -43,9 +75,9 @@ public class StoreService
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
-                    if (choice < 1 || choice > 8) {
-                        System.out.println("Неверный выбор! Попробуйте снова (1-8).");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    if (choice < 1 || choice > 9) {
+                        System.out.println("Неверный выбор! Попробуйте снова (1-9).");
                         continue;
                     }
                     break;
@@ -61,7 +93,8 @@ public class StoreService
                 case 5 -> manageReviews();
                 case 6 -> manageProductCategories();
                 case 7 -> manageOrderItems();
-                case 8 -> {
+                case 8 -> manageReports();
+                case 9 -> {
                     logger.info("Завершение работы приложения");
                     System.exit(0);
                 }
@@ -78,31 +111,36 @@ public class StoreService
         System.out.println("5. Отзывы");
         System.out.println("6. Связи товаров и категорий");
         System.out.println("7. Состав заказов");
-        System.out.println("8. Выход");
+        System.out.println("8. Отчеты");
+        System.out.println("9. Выход");
         System.out.print("Выберите раздел: ");
     }
 
-    private void printCrudMenu(String entity) {
+    // Дополнительные пункты раздела нумеруются после "Удалить", "Назад" всегда последний
+    private void printCrudMenu(String entity, String... extraItems) {
         System.out.println("\n=== Управление " + entity + " ===");
         System.out.println("1. Добавить");
         System.out.println("2. Показать все");
         System.out.println("3. Обновить");
         System.out.println("4. Удалить");
-        System.out.println("5. Назад");
+        for (int i = 0; i < extraItems.length; i++) {
+            System.out.println((5 + i) + ". " + extraItems[i]);
+        }
+        System.out.println((5 + extraItems.length) + ". Назад");
         System.out.print("Выберите действие: ");
     }
 
     // Управление товарами
     private void manageProducts() {
         while (true) {
-            printCrudMenu("товарами");
+            printCrudMenu("товарами", "Поиск");
             int choice;
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
-                    if (choice < 1 || choice > 5) {
-                        System.out.println("Неверный выбор! Попробуйте снова (1-5).");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    if (choice < 1 || choice > 6) {
+                        System.out.println("Неверный выбор! Попробуйте снова (1-6).");
                         continue;
                     }
                     break;
@@ -115,7 +153,8 @@ public class StoreService
                 case 2 -> showAllProducts();
                 case 3 -> updateProduct();
                 case 4 -> deleteProduct();
-                case 5 -> {
+                case 5 -> searchProducts();
+                case 6 -> {
                     return;
                 }
             }
@@ -123,65 +162,63 @@ public class StoreService
     }
 
     private void addProduct() {
-        String name;
-        while (true) {
-            System.out.print("\nНазвание товара: ");
-            name = scanner.nextLine();
-            if (name.trim().isEmpty()) {
-                System.out.println("Название товара не может быть пустым!");
-                continue;
-            }
-            if (!name.matches("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$")) {
-                System.out.println("Название должно содержать буквы, можно цифры и пробелы, но не только цифры!");
-                continue;
-            }
-            break;
-        }
-
-        double price;
-        while (true) {
-            System.out.print("Цена: ");
-            try {
-                String input = scanner.nextLine();
-                price = parseDoubleStrict(input, "Цена должна быть числом!");
-                if (price <= 0) {
-                    System.out.println("Цена должна быть положительной!");
-                    continue;
-                }
-                break;
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
-            }
-        }
-
-        String description;
-        while (true) {
-            System.out.print("Описание: ");
-            description = scanner.nextLine();
-            if (description.trim().isEmpty()) {
-                System.out.println("Описание не может быть пустым!");
-                continue;
-            }
-            if (!description.matches("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$")) {
-                System.out.println("Описание должно содержать буквы, можно цифры и пробелы, но не только цифры!");
-                continue;
-            }
-            break;
-        }
+        String name = readValid("\nНазвание товара: ", InputValidator::checkProductName);
+        double price = readPrice("Цена: ");
+        String description = readValid("Описание: ", InputValidator::checkProductDescription);
 
         Product product = new Product(name, price, description);
-        productDao.save(product);
+        productRepository.save(product);
         System.out.println("Товар добавлен! ID: " + product.getId());
     }
 
     private void showAllProducts() {
-        List<Product> products = productDao.findAll();
-        if (products.isEmpty()) {
-            System.out.println("\nСписок товаров пуст!");
+        browsePages("Список товаров", "Список товаров пуст!", productRepository::findPage, productRepository::findPageBefore,
+                Product::getId, p -> System.out.printf("%d. %s - %.2f - %s\n",
+                        p.getId(), p.getName(), p.getPrice(), p.getDescription()));
+    }
+
+    // Поиск по названию и описанию, совпадения выделены [скобками]
+    private void searchProducts() {
+        System.out.print("\nПоиск (слова, \"фраза\", or, -исключить): ");
+        String query = scanner.nextLine();
+        if (query.trim().isEmpty()) {
+            System.out.println("Запрос не может быть пустым!");
             return;
         }
-        System.out.println("\n=== Список товаров ===");
-        products.forEach(p -> System.out.printf("%d. %s - %.2f - %s\n", p.getId(), p.getName(), p.getPrice(), p.getDescription()));
+        int offset = 0;
+        while (true) {
+            ProductSearchPage page = productSearch.search(query, offset, PAGE_SIZE);
+            if (page.getHits().isEmpty()) {
+                System.out.println("Ничего не найдено.");
+                return;
+            }
+            System.out.printf("\n=== Найдено: %d (показаны %d-%d) ===\n", page.getTotalMatches(),
+                    offset + 1, offset + page.getHits().size());
+            for (ProductSearchHit hit : page.getHits()) {
+                Product p = hit.getProduct();
+                System.out.printf("%d. %s - %.2f - %s\n", p.getId(), hit.getNameHighlight(), p.getPrice(),
+                        hit.getDescriptionHighlight());
+            }
+            if (!page.hasNext() && offset == 0) {
+                return;
+            }
+            while (true) {
+                System.out.print("n - следующая страница, p - предыдущая, Enter - продолжить: ");
+                String input = scanner.nextLine().trim();
+                if (input.isEmpty()) {
+                    return;
+                }
+                if (input.equalsIgnoreCase("n") && page.hasNext()) {
+                    offset += PAGE_SIZE;
+                    break;
+                }
+                if (input.equalsIgnoreCase("p") && offset > 0) {
+                    offset = Math.max(0, offset - PAGE_SIZE);
+                    break;
+                }
+                System.out.println("Неверный выбор!");
+            }
+        }
     }
 
     private void updateProduct() {
@@ -189,77 +226,33 @@ public class StoreService
         int id = parseIntWithRetry("\nВведите ID товара для обновления: ",
                 "ID товара должен быть целым числом и положительным!",
                 1, -1);
-        Product existingProduct = productDao.findById(id);
-        if (existingProduct == null) {
+        if (!productRepository.existsById(id)) {
             System.out.println("Товар с ID " + id + " не найден!");
             return;
         }
 
-        String newName;
-        while (true) {
-            System.out.print("Новое название: ");
-            newName = scanner.nextLine();
-            if (newName.trim().isEmpty()) {
-                System.out.println("Название товара не может быть пустым!");
-                continue;
-            }
-            if (!newName.matches("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$")) {
-                System.out.println("Название должно содержать буквы, можно цифры и пробелы, но не только цифры!");
-                continue;
-            }
-            break;
-        }
-
-        double newPrice;
-        while (true) {
-            System.out.print("Новая цена: ");
-            try {
-                String input = scanner.nextLine();
-                newPrice = parseDoubleStrict(input, "Цена должна быть числом!");
-                if (newPrice <= 0) {
-                    System.out.println("Цена должна быть положительной!");
-                    continue;
-                }
-                break;
-            } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
-            }
-        }
-
-        String newDescription;
-        while (true) {
-            System.out.print("Новое описание: ");
-            newDescription = scanner.nextLine();
-            if (newDescription.trim().isEmpty()) {
-                System.out.println("Описание не может быть пустым!");
-                continue;
-            }
-            if (!newDescription.matches("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$")) {
-                System.out.println("Описание должно содержать буквы, можно цифры и пробелы, но не только цифры!");
-                continue;
-            }
-            break;
-        }
+        String newName = readValid("Новое название: ", InputValidator::checkProductName);
+        double newPrice = readPrice("Новая цена: ");
+        String newDescription = readValid("Новое описание: ", InputValidator::checkProductDescription);
 
         Product product = new Product(newName, newPrice, newDescription);
         product.setId(id);
-        productDao.update(product);
+        productRepository.update(product);
         System.out.println("Товар обновлен!");
     }
 
     private void deleteProduct() {
         int id;
+        showAllProducts();
         while (true) {
-            showAllProducts();
             id = parseIntWithRetry("\nВведите ID товара для удаления: ",
                     "ID товара должен быть целым числом и положительным!",
                     1, -1);
-            Product existingProduct = productDao.findById(id);
-            if (existingProduct == null) {
+            if (!productRepository.existsById(id)) {
                 System.out.println("Товар с ID " + id + " не найден! Попробуйте снова.");
                 continue;
             }
-            productDao.delete(id);
+            productRepository.delete(id);
             System.out.println("Товар удален!");
             break;
         }
@@ -273,7 +266,7 @@ public class StoreService
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
                     if (choice < 1 || choice > 5) {
                         System.out.println("Неверный выбор! Попробуйте снова (1-5).");
                         continue;
@@ -296,28 +289,15 @@ public class StoreService
     }
 
     private void addCategory() {
-        String name;
-        while (true) {
-            System.out.print("\nНазвание категории: ");
-            name = scanner.nextLine();
-            if (name.trim().isEmpty()) {
-                System.out.println("Название категории не может быть пустым!");
-                continue;
-            }
-            if (!name.matches("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$")) {
-                System.out.println("Название категории должно содержать буквы, можно цифры и пробелы, но не только цифры!");
-                continue;
-            }
-            break;
-        }
+        String name = readValid("\nНазвание категории: ", InputValidator::checkCategoryName);
 
         Category category = new Category(name);
-        categoryDao.save(category);
+        categoryRepository.save(category);
         System.out.println("Категория добавлена! ID: " + category.getId());
     }
 
     private void showAllCategories() {
-        List<Category> categories = categoryDao.findAll();
+        List<Category> categories = categoryRepository.findAll();
         if (categories.isEmpty()) {
             System.out.println("\nСписок категорий пуст!");
             return;
@@ -331,46 +311,31 @@ public class StoreService
         int id = parseIntWithRetry("\nВведите ID категории для обновления: ",
                 "ID категории должен быть целым числом и положительным!",
                 1, -1);
-        Category existingCategory = categoryDao.findById(id);
-        if (existingCategory == null) {
+        if (!categoryRepository.existsById(id)) {
             System.out.println("Категория с ID " + id + " не найдена!");
             return;
         }
 
-        String newName;
-        while (true) {
-            System.out.print("Новое название: ");
-            newName = scanner.nextLine();
-            if (newName.trim().isEmpty()) {
-                System.out.println("Название категории не может быть пустым!");
-                continue;
-            }
-            if (!newName.matches("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$")) {
-                System.out.println("Название категории должно содержать буквы, можно цифры и пробелы, но не только цифры!");
-                continue;
-            }
-            break;
-        }
+        String newName = readValid("Новое название: ", InputValidator::checkCategoryName);
 
         Category category = new Category(newName);
         category.setId(id);
-        categoryDao.update(category);
+        categoryRepository.update(category);
         System.out.println("Категория обновлена!");
     }
 
     private void deleteCategory() {
         int id;
+        showAllCategories();
         while (true) {
-            showAllCategories();
             id = parseIntWithRetry("\nВведите ID категории для удаления: ",
                     "ID категории должен быть целым числом и положительным!",
                     1, -1);
-            Category existingCategory = categoryDao.findById(id);
-            if (existingCategory == null) {
+            if (!categoryRepository.existsById(id)) {
                 System.out.println("Категория с ID " + id + " не найдена! Попробуйте снова.");
                 continue;
             }
-            categoryDao.delete(id);
+            categoryRepository.delete(id);
             System.out.println("Категория удалена!");
             break;
         }
@@ -384,7 +349,7 @@ public class StoreService
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
                     if (choice < 1 || choice > 5) {
                         System.out.println("Неверный выбор! Попробуйте снова (1-5).");
                         continue;
@@ -407,64 +372,19 @@ public class StoreService
     }
 
     private void addCustomer() {
-        String name;
-        while (true) {
-            System.out.print("\nИмя клиента: ");
-            name = scanner.nextLine();
-            if (name.trim().isEmpty()) {
-                System.out.println("Имя не может быть пустым!");
-                continue;
-            }
-            if (!name.matches("[\\p{IsCyrillic}a-zA-Z ]+")) {
-                System.out.println("Имя может содержать только буквы (русские или латинские) и пробелы!");
-                continue;
-            }
-            break;
-        }
-
-        String email;
-        while (true) {
-            System.out.print("Email: ");
-            email = scanner.nextLine();
-            if (email.trim().isEmpty()) {
-                System.out.println("Email не может быть пустым!");
-                continue;
-            }
-            if (!email.matches("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}")) {
-                System.out.println("Неверный формат email! Пример: ivan@example.com");
-                continue;
-            }
-            break;
-        }
-
-        String phone;
-        while (true) {
-            System.out.print("Телефон: ");
-            phone = scanner.nextLine();
-            if (phone.trim().isEmpty()) {
-                System.out.println("Телефон не может быть пустым!");
-                continue;
-            }
-            if (!phone.matches("\\+375(29|33|44|25)\\d{7}")) {
-                System.out.println("Неверный формат телефона! Пример: +375291234567");
-                continue;
-            }
-            break;
-        }
+        String name = readValid("\nИмя клиента: ", InputValidator::checkCustomerName);
+        String email = readValid("Email: ", InputValidator::checkEmail);
+        String phone = readValid("Телефон: ", InputValidator::checkPhone);
 
         Customer customer = new Customer(name, email, phone);
-        customerDao.save(customer);
+        customerRepository.save(customer);
         System.out.println("Клиент добавлен! ID: " + customer.getId());
     }
 
     private void showAllCustomers() {
-        List<Customer> customers = customerDao.findAll();
-        if (customers.isEmpty()) {
-            System.out.println("\nСписок клиентов пуст!");
-            return;
-        }
-        System.out.println("\n=== Список клиентов ===");
-        customers.forEach(c -> System.out.printf("%d. %s - %s - %s\n", c.getId(), c.getName(), c.getEmail(), c.getPhone()));
+        browsePages("Список клиентов", "Список клиентов пуст!", customerRepository::findPage, customerRepository::findPageBefore,
+                Customer::getId, c -> System.out.printf("%d. %s - %s - %s\n",
+                        c.getId(), c.getName(), c.getEmail(), c.getPhone()));
     }
 
     private void updateCustomer() {
@@ -472,76 +392,33 @@ public class StoreService
         int id = parseIntWithRetry("\nВведите ID клиента для обновления: ",
                 "ID клиента должен быть целым числом и положительным!",
                 1, -1);
-        Customer existingCustomer = customerDao.findById(id);
-        if (existingCustomer == null) {
+        if (!customerRepository.existsById(id)) {
             System.out.println("Клиент с ID " + id + " не найден!");
             return;
         }
 
-        String newName;
-        while (true) {
-            System.out.print("Новое имя: ");
-            newName = scanner.nextLine();
-            if (newName.trim().isEmpty()) {
-                System.out.println("Имя не может быть пустым!");
-                continue;
-            }
-            if (!newName.matches("[\\p{IsCyrillic}a-zA-Z ]+")) {
-                System.out.println("Имя может содержать только буквы (русские или латинские) и пробелы!");
-                continue;
-            }
-            break;
-        }
-
-        String newEmail;
-        while (true) {
-            System.out.print("Новый email: ");
-            newEmail = scanner.nextLine();
-            if (newEmail.trim().isEmpty()) {
-                System.out.println("Email не может быть пустым!");
-                continue;
-            }
-            if (!newEmail.matches("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}")) {
-                System.out.println("Неверный формат email! Пример: ivan@example.com");
-                continue;
-            }
-            break;
-        }
-
-        String newPhone;
-        while (true) {
-            System.out.print("Новый телефон: ");
-            newPhone = scanner.nextLine();
-            if (newPhone.trim().isEmpty()) {
-                System.out.println("Телефон не может быть пустым!");
-                continue;
-            }
-            if (!newPhone.matches("\\+375(29|33|44|25)\\d{7}")) {
-                System.out.println("Неверный формат телефона! Пример: +375291234567");
-                continue;
-            }
-            break;
-        }
+        String newName = readValid("Новое имя: ", InputValidator::checkCustomerName);
+        String newEmail = readValid("Новый email: ", InputValidator::checkEmail);
+        String newPhone = readValid("Новый телефон: ", InputValidator::checkPhone);
 
         Customer customer = new Customer(newName, newEmail, newPhone);
         customer.setId(id);
-        customerDao.update(customer);
+        customerRepository.update(customer);
         System.out.println("Клиент обновлен!");
     }
 
     private void deleteCustomer() {
         int id;
+        showAllCustomers();
         while (true) {
-            showAllCustomers();
             id = parseIntWithRetry("\nВведите ID клиента для удаления: ",
                     "ID клиента должен быть целым числом и положительным!",
                     1, -1);
-            Customer existingCustomer = customerDao.findById(id);
-            if (existingCustomer == null) {
+            if (!customerRepository.existsById(id)) {
                 System.out.println("Клиент с ID " + id + " не найден! Попробуйте снова.");
                 continue;
             }
-            customerDao.delete(id);
+            customerRepository.delete(id);
             System.out.println("Клиент удален!");
             break;
         }
@@ -555,7 +432,7 @@ public class StoreService
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
                     if (choice < 1 || choice > 5) {
                         System.out.println("Неверный выбор! Попробуйте снова (1-5).");
                         continue;
@@ -579,12 +456,12 @@ public class StoreService
 
     private void addOrder() {
         int customerId;
+        showAllCustomers();
         while (true) {
-            showAllCustomers();
             customerId = parseIntWithRetry("\nВведите ID клиента: ",
                     "ID клиента должен быть целым числом и положительным!",
                     1, -1);
-            if (customerDao.findById(customerId) == null) {
+            if (!customerRepository.existsById(customerId)) {
                 System.out.println("Клиент с ID " + customerId + " не найден! Попробуйте снова.");
                 continue;
             }
@@ -649,21 +526,47 @@ public class StoreService
             break;
         }
 
+        List<OrderItem> items = readOrderLines();
         Order order = new Order(customerId, orderDate, status);
-        orderDao.save(order);
-        System.out.println("Заказ добавлен! ID: " + order.getId());
+        try {
+            orderService.placeOrder(order, items);
+            System.out.println("Заказ добавлен! ID: " + order.getId()
+                    + (items.isEmpty() ? "" : ", позиций: " + items.size()));
+        } catch (IllegalArgumentException | DataAccessException e) {
+            System.out.println(e.getMessage());
+        }
     }
 
-    private void showAllOrders() {
-        List<Order> orders = orderDao.findAll();
-        if (orders.isEmpty()) {
-            System.out.println("\nСписок заказов пуст!");
-            return;
+    // Позиции нового заказа; они записываются вместе с заказом одной транзакцией
+    private List<OrderItem> readOrderLines() {
+        List<OrderItem> items = new ArrayList<>();
+        System.out.println("\nТовары в заказе (пустой ввод - закончить):");
+        while (true) {
+            System.out.print("ID товара: ");
+            String input = scanner.nextLine();
+            if (input.trim().isEmpty()) {
+                return items;
+            }
+            int productId;
+            try {
+                productId = InputValidator.parseIntStrict(input, "ID товара должен быть целым числом и положительным!");
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+                continue;
+            }
+            int quantity = parseIntWithRetry("Количество: ",
+                    "Количество должно быть целым числом и положительным!",
+                    1, -1);
+            items.add(new OrderItem(0, productId, quantity));
         }
-        System.out.println("\n=== Список заказов ===");
+    }
+
+    private void showAllOrders() {
         SimpleDateFormat sdf = new SimpleDateFormat("dd.MM.yyyy");
-        orders.forEach(o -> System.out.printf("%d. Клиент ID: %d - Дата: %s - Статус: %s\n",
-                o.getId(), o.getCustomerId(), sdf.format(o.getOrderDate()), o.getStatus()));
+        browsePages("Список заказов", "Список заказов пуст!", orderRepository::findPage, orderRepository::findPageBefore,
+                Order::getId, o -> System.out.printf("%d. Клиент ID: %d - Дата: %s - Статус: %s - Товаров: %d - Сумма: %.2f\n",
+                        o.getId(), o.getCustomerId(), sdf.format(o.getOrderDate()), o.getStatus(),
+                        o.getItemCount(), o.getTotalAmount()));
     }
 
     private void updateOrder() {
@@ -671,19 +574,18 @@ public class StoreService
         int id = parseIntWithRetry("\nВведите ID заказа для обновления: ",
                 "ID заказа должен быть целым числом и положительным!",
                 1, -1);
-        Order existingOrder = orderDao.findById(id);
-        if (existingOrder == null) {
+        if (!orderRepository.existsById(id)) {
             System.out.println("Заказ с ID " + id + " не найден!");
             return;
         }
 
         int newCustomerId;
+        showAllCustomers();
         while (true) {
-            showAllCustomers();
             newCustomerId = parseIntWithRetry("Новый ID клиента: ",
                     "ID клиента должен быть целым числом и положительным!",
                     1, -1);
-            if (customerDao.findById(newCustomerId) == null) {
+            if (!customerRepository.existsById(newCustomerId)) {
                 System.out.println("Клиент с ID " + newCustomerId + " не найден! Попробуйте снова.");
                 continue;
             }
@@ -750,23 +652,22 @@ public class StoreService
 
         Order order = new Order(newCustomerId, newOrderDate, newStatus);
         order.setId(id);
-        orderDao.update(order);
+        orderRepository.update(order);
         System.out.println("Заказ обновлен!");
     }
 
     private void deleteOrder() {
         int id;
+        showAllOrders();
         while (true) {
-            showAllOrders();
             id = parseIntWithRetry("\nВведите ID заказа для удаления: ",
                     "ID заказа должен быть целым числом и положительным!",
                     1, -1);
-            Order existingOrder = orderDao.findById(id);
-            if (existingOrder == null) {
+            if (!orderRepository.existsById(id)) {
                 System.out.println("Заказ с ID " + id + " не найден! Попробуйте снова.");
                 continue;
             }
-            orderDao.delete(id);
+            orderRepository.delete(id);
             System.out.println("Заказ удален!");
             break;
         }
@@ -786,7 +687,7 @@ public class StoreService
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
                     if (choice < 1 || choice > 3) {
                         System.out.println("Неверный выбор! Попробуйте снова (1-3).");
                         continue;
@@ -807,20 +708,17 @@ public class StoreService
     }
 
     private void addProductToCategoryWithSelection() {
-        System.out.println("\nСписок товаров:");
-        List<Product> products = productDao.findAll();
-        if (products.isEmpty()) {
-            System.out.println("Нет доступных товаров!");
+        if (!browsePages("Список товаров", "Нет доступных товаров!", productRepository::findPage, productRepository::findPageBefore,
+                Product::getId, p -> System.out.printf("%d. %s\n", p.getId(), p.getName()))) {
             return;
         }
-        products.forEach(p -> System.out.printf("%d. %s\n", p.getId(), p.getName()));
 
         int productId;
         while (true) {
             productId = parseIntWithRetry("\nВыберите ID товара: ",
                     "ID товара должен быть целым числом и положительным!",
                     1, -1);
-            if (productDao.findById(productId) == null) {
+            if (!productRepository.existsById(productId)) {
                 System.out.println("Товар с ID " + productId + " не существует! Попробуйте снова.");
                 continue;
             }
@@ -828,7 +726,7 @@ public class StoreService
         }
 
         System.out.println("\nСписок категорий:");
-        List<Category> categories = categoryDao.findAll();
+        List<Category> categories = categoryRepository.findAll();
         if (categories.isEmpty()) {
             System.out.println("Нет доступных категорий!");
             return;
@@ -840,7 +738,7 @@ public class StoreService
             categoryId = parseIntWithRetry("\nВыберите ID категории: ",
                     "ID категории должен быть целым числом и положительным!",
                     1, -1);
-            if (categoryDao.findById(categoryId) == null) {
+            if (!categoryRepository.existsById(categoryId)) {
                 System.out.println("Категория с ID " + categoryId + " не существует! Попробуйте снова.");
                 continue;
             }
@@ -848,7 +746,7 @@ public class StoreService
         }
 
         try {
-            productCategoryDao.addProductToCategory(productId, categoryId);
+            productCategoryRepository.addProductToCategory(productId, categoryId);
             System.out.println("Товар успешно добавлен в категорию!");
         } catch (Exception e) {
             System.out.println("Ошибка: " + e.getMessage());
@@ -856,52 +754,44 @@ public class StoreService
     }
 
     private void showCategoriesForProductWithSelection() {
-        System.out.println("\nСписок товаров:");
-        List<Product> products = productDao.findAll();
-        if (products.isEmpty()) {
-            System.out.println("Нет доступных товаров!");
+        if (!browsePages("Список товаров", "Нет доступных товаров!", productRepository::findPage, productRepository::findPageBefore,
+                Product::getId, p -> System.out.printf("%d. %s\n", p.getId(), p.getName()))) {
             return;
         }
-        products.forEach(p -> System.out.printf("%d. %s\n", p.getId(), p.getName()));
 
         int productId;
         while (true) {
             productId = parseIntWithRetry("\nВыберите ID товара: ",
                     "ID товара должен быть целым числом и положительным!",
                     1, -1);
-            if (productDao.findById(productId) == null) {
+            if (!productRepository.existsById(productId)) {
                 System.out.println("Товар с ID " + productId + " не существует! Попробуйте снова.");
                 continue;
             }
             break;
         }
 
-        List<Integer> categoryIds = productCategoryDao.findCategoriesByProduct(productId);
-        if (categoryIds.isEmpty()) {
+        List<Category> categories = productCategoryRepository.findCategoryObjectsByProduct(productId);
+        if (categories.isEmpty()) {
             System.out.println("У товара нет категорий!");
             return;
         }
 
         System.out.println("\nКатегории товара:");
-        categoryIds.forEach(catId -> {
-            Category cat = categoryDao.findById(catId);
-            if (cat != null) {
-                System.out.printf("%d. %s\n", cat.getId(), cat.getName());
-            }
-        });
+        categories.forEach(cat -> System.out.printf("%d. %s\n", cat.getId(), cat.getName()));
     }
 
     // Управление отзывами
     private void manageReviews() {
         while (true) {
-            printCrudMenu("отзывами");
+            printCrudMenu("отзывами", "Рейтинг товара", "Лучшие товары");
             int choice;
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
-                    if (choice < 1 || choice > 5) {
-                        System.out.println("Неверный выбор! Попробуйте снова (1-5).");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    if (choice < 1 || choice > 7) {
+                        System.out.println("Неверный выбор! Попробуйте снова (1-7).");
                         continue;
                     }
                     break;
@@ -914,7 +804,9 @@ public class StoreService
                 case 2 -> showAllReviews();
                 case 3 -> updateReview();
                 case 4 -> deleteReview();
-                case 5 -> {
+                case 5 -> showProductRating();
+                case 6 -> showTopRated();
+                case 7 -> {
                     return;
                 }
             }
@@ -922,30 +814,38 @@ public class StoreService
     }
 
     private void addReview() {
-        int productId;
+        showAllProducts();
+        int productId = parseIntWithRetry("\nID товара: ",
+                "ID товара должен быть целым числом и положительным!",
+                1, -1);
+        showAllCustomers();
+        int customerId = parseIntWithRetry("ID клиента: ",
+                "ID клиента должен быть целым числом и положительным!",
+                1, -1);
+
+        // Товар и клиент проверяются параллельно; повторно вводится только то, что не найдено
         while (true) {
-            showAllProducts();
-            productId = parseIntWithRetry("\nID товара: ",
-                    "ID товара должен быть целым числом и положительным!",
-                    1, -1);
-            if (productDao.findById(productId) == null) {
+            int product = productId;
+            int customer = customerId;
+            CompletableFuture<Boolean> productFound = async.products().supply(r -> r.existsById(product));
+            CompletableFuture<Boolean> customerFound = async.customers().supply(r -> r.existsById(customer));
+            boolean productOk = productFound.join();
+            boolean customerOk = customerFound.join();
+            if (productOk && customerOk) {
+                break;
+            }
+            if (!productOk) {
                 System.out.println("Товар с ID " + productId + " не найден! Попробуйте снова.");
-                continue;
+                productId = parseIntWithRetry("ID товара: ",
+                        "ID товара должен быть целым числом и положительным!",
+                        1, -1);
             }
-            break;
-        }
-
-        int customerId;
-        while (true) {
-            showAllCustomers();
-            customerId = parseIntWithRetry("ID клиента: ",
-                    "ID клиента должен быть целым числом и положительным!",
-                    1, -1);
-            if (customerDao.findById(customerId) == null) {
+            if (!customerOk) {
                 System.out.println("Клиент с ID " + customerId + " не найден! Попробуйте снова.");
-                continue;
+                customerId = parseIntWithRetry("ID клиента: ",
+                        "ID клиента должен быть целым числом и положительным!",
+                        1, -1);
             }
-            break;
         }
 
         int rating = parseIntWithRetry("Рейтинг (1-5): ",
@@ -956,21 +856,52 @@ public class StoreService
         String comment = scanner.nextLine();
 
         Review review = new Review(productId, customerId, rating, comment);
-        reviewDao.save(review);
+        reviewRepository.save(review);
         System.out.println("Отзыв добавлен! ID: " + review.getId());
     }
 
     private void showAllReviews() {
-        List<Review> reviews = reviewDao.findAll();
-        if (reviews.isEmpty()) {
-            System.out.println("\nСписок отзывов пуст!");
+        browsePages("Список отзывов", "Список отзывов пуст!", reviewRepository::findPage, reviewRepository::findPageBefore,
+                Review::getId, r -> System.out.printf(
+                        "%d. Товар ID: %d, Клиент ID: %d, Рейтинг: %d, Комментарий: %s\n",
+                        r.getId(), r.getProductId(), r.getCustomerId(), r.getRating(), r.getComment()));
+    }
+
+    private void showProductRating() {
+        int productId;
+        while (true) {
+            productId = parseIntWithRetry("\nID товара: ",
+                    "ID товара должен быть целым числом и положительным!",
+                    1, -1);
+            if (!productRepository.existsById(productId)) {
+                System.out.println("Товар с ID " + productId + " не найден! Попробуйте снова.");
+                continue;
+            }
+            break;
+        }
+        RatingStats stats = reviewRepository.getRatingStats(productId);
+        if (stats.getReviewCount() == 0) {
+            System.out.println("У товара пока нет отзывов.");
             return;
         }
-        System.out.println("\n=== Список отзывов ===");
-        reviews.forEach(r -> System.out.printf(
-                "%d. Товар ID: %d, Клиент ID: %d, Рейтинг: %d, Комментарий: %s\n",
-                r.getId(), r.getProductId(), r.getCustomerId(), r.getRating(), r.getComment()
-        ));
+        System.out.printf("Средняя оценка: %.2f (отзывов: %d)\n", stats.getAverage(), stats.getReviewCount());
+        for (int stars = 5; stars >= 1; stars--) {
+            System.out.printf("%d: %d\n", stars, stats.getStarCount(stars));
+        }
+    }
+
+    private void showTopRated() {
+        int minReviews = parseIntWithRetry("\nМинимум отзывов у товара: ",
+                "Число отзывов должно быть целым числом и положительным!",
+                1, -1);
+        List<RatingStats> top = reviewRepository.topRated(10, minReviews);
+        if (top.isEmpty()) {
+            System.out.println("Нет товаров с таким числом отзывов.");
+            return;
+        }
+        System.out.println("\n=== Лучшие товары ===");
+        top.forEach(t -> System.out.printf("%d. %s - %.2f (отзывов: %d)\n",
+                t.getProductId(), t.getProductName(), t.getAverage(), t.getReviewCount()));
     }
 
     private void updateReview() {
@@ -978,7 +909,7 @@ public class StoreService
         int id = parseIntWithRetry("\nВведите ID отзыва для обновления: ",
                 "ID отзыва должен быть целым числом и положительным!",
                 1, -1);
-        Review existingReview = reviewDao.findById(id);
+        Review existingReview = reviewRepository.findById(id);
         if (existingReview == null) {
             System.out.println("Отзыв с ID " + id + " не найден!");
             return;
@@ -998,23 +929,22 @@ public class StoreService
                 newComment
         );
         updatedReview.setId(id);
-        reviewDao.update(updatedReview);
+        reviewRepository.update(updatedReview);
         System.out.println("Отзыв обновлен!");
     }
 
     private void deleteReview() {
         int id;
+        showAllReviews();
         while (true) {
-            showAllReviews();
             id = parseIntWithRetry("\nВведите ID отзыва для удаления: ",
                     "ID отзыва должен быть целым числом и положительным!",
                     1, -1);
-            Review existingReview = reviewDao.findById(id);
-            if (existingReview == null) {
+            if (!reviewRepository.existsById(id)) {
                 System.out.println("Отзыв с ID " + id + " не найден! Попробуйте снова.");
                 continue;
             }
-            reviewDao.delete(id);
+            reviewRepository.delete(id);
             System.out.println("Отзыв удален!");
             break;
         }
@@ -1023,11 +953,11 @@ public class StoreService
     // Управление составом заказов
     private void manageOrderItems() {
         while (true) {
-            if (orderDao.findAll().isEmpty()) {
+            if (!orderRepository.existsAny()) {
                 System.out.println("\nНет доступных заказов! Добавьте заказы сначала.");
                 return;
             }
-            if (productDao.findAll().isEmpty()) {
+            if (!productRepository.existsAny()) {
                 System.out.println("\nНет доступных товаров! Добавьте товары сначала.");
                 return;
             }
@@ -1043,7 +973,7 @@ public class StoreService
             while (true) {
                 try {
                     String input = scanner.nextLine();
-                    choice = parseIntStrict(input, "Пожалуйста, введите одно целое число!");
+                    choice = InputValidator.parseIntStrict(input, "Пожалуйста, введите одно целое число!");
                     if (choice < 1 || choice > 4) {
                         System.out.println("Неверный выбор! Попробуйте снова (1-4).");
                         continue;
@@ -1067,12 +997,12 @@ public class StoreService
 
     private void addOrderItem() {
         int orderId;
+        showAllOrders();
         while (true) {
-            showAllOrders();
             orderId = parseIntWithRetry("\nВведите ID заказа: ",
                     "ID заказа должен быть целым числом и положительным!",
                     1, -1);
-            if (orderDao.findById(orderId) == null) {
+            if (!orderRepository.existsById(orderId)) {
                 System.out.println("Заказ с ID " + orderId + " не найден! Попробуйте снова.");
                 continue;
             }
@@ -1080,12 +1010,12 @@ public class StoreService
         }
 
         int productId;
+        showAllProducts();
         while (true) {
-            showAllProducts();
             productId = parseIntWithRetry("Введите ID товара: ",
                     "ID товара должен быть целым числом и положительным!",
                     1, -1);
-            if (productDao.findById(productId) == null) {
+            if (!productRepository.existsById(productId)) {
                 System.out.println("Товар с ID " + productId + " не найден! Попробуйте снова.");
                 continue;
             }
@@ -1097,7 +1027,7 @@ public class StoreService
                 1, -1);
 
         OrderItem orderItem = new OrderItem(orderId, productId, quantity);
-        orderItemDao.save(orderItem);
+        orderItemRepository.save(orderItem);
         System.out.println("Товар добавлен в заказ!");
     }
 
@@ -1107,38 +1037,39 @@ public class StoreService
                 "ID заказа должен быть целым числом и положительным!",
                 1, -1);
 
-        List<OrderItem> items = orderItemDao.findByOrderId(orderId);
-        if (items.isEmpty()) {
+        OrderDetails details = orderDetailsRepository.findOrderWithLines(orderId);
+        if (details == null) {
+            System.out.println("Заказ с ID " + orderId + " не найден!");
+            return;
+        }
+        if (details.getLines().isEmpty()) {
             System.out.println("Заказ пуст!");
             return;
         }
 
         System.out.println("\n=== Состав заказа ===");
-        items.forEach(item -> {
-            Product product = productDao.findById(item.getProductId());
-            System.out.printf("Товар: %s (ID: %d) - Количество: %d\n",
-                    product.getName(), product.getId(), item.getQuantity());
-        });
+        details.getLines().forEach(line -> System.out.printf(
+                "Товар: %s (ID: %d) - Количество: %d - Цена: %.2f - Сумма: %.2f\n",
+                line.getProductName(), line.getProductId(), line.getQuantity(), line.getPrice(), line.getLineTotal()));
+        System.out.printf("Итого: %.2f\n", details.getTotal());
     }
 
     private void deleteOrderItem() {
         int orderId;
+        OrderDetails details;
+        showAllOrders();
         while (true) {
-            showAllOrders();
             orderId = parseIntWithRetry("\nВведите ID заказа: ",
                     "ID заказа должен быть целым числом и положительным!",
                     1, -1);
-            List<OrderItem> items = orderItemDao.findByOrderId(orderId);
-            if (items.isEmpty()) {
+            details = orderDetailsRepository.findOrderWithLines(orderId);
+            if (details == null || details.getLines().isEmpty()) {
                 System.out.println("Заказ с ID " + orderId + " пуст или не существует! Попробуйте снова.");
                 continue;
             }
             System.out.println("\nТовары в заказе:");
-            items.forEach(item -> {
-                Product product = productDao.findById(item.getProductId());
-                System.out.printf("ID позиции: %d - Товар: %s (Количество: %d)\n",
-                        item.getId(), product.getName(), item.getQuantity());
-            });
+            details.getLines().forEach(line -> System.out.printf("ID позиции: %d - Товар: %s (Количество: %d)\n",
+                    line.getItemId(), line.getProductName(), line.getQuantity()));
             break;
         }
 
@@ -1147,43 +1078,199 @@ public class StoreService
             itemId = parseIntWithRetry("Введите ID позиции для удаления: ",
                     "ID позиции должен быть целым числом и положительным!",
                     1, -1);
-            OrderItem existingItem = orderItemDao.findById(itemId);
-            if (existingItem == null || existingItem.getOrderId() != orderId) {
+            if (!details.hasItem(itemId)) {
                 System.out.println("Позиция с ID " + itemId + " не найдена в этом заказе! Попробуйте снова.");
                 continue;
             }
-            orderItemDao.delete(itemId);
+            orderItemRepository.delete(itemId);
             System.out.println("Товар удалён из заказа!");
             break;
         }
     }
 
-    private int parseIntStrict(String input, String errorMessage) {
-        if (input == null || input.trim().isEmpty()) {
-            throw new IllegalArgumentException("Ввод не может быть пустым!");
+    // Постраничный вывод списка с переходом вперед/назад. Страницы выбираются по id (keyset),
+    // поэтому стоимость вывода ограничена размером страницы, а не таблицы.
+    // Возвращает false, если список пуст.
+    private <T> boolean browsePages(String title, String emptyMessage,
+                                    BiFunction<Integer, Integer, List<T>> pageAfter,
+                                    BiFunction<Integer, Integer, List<T>> pageBefore,
+                                    ToIntFunction<T> idOf, Consumer<T> printer) {
+        // запрашиваем на одну строку больше, чтобы знать, есть ли следующая страница
+        List<T> page = pageAfter.apply(0, PAGE_SIZE + 1);
+        if (page.isEmpty()) {
+            System.out.println("\n" + emptyMessage);
+            return false;
+        }
+        boolean hasNext = page.size() > PAGE_SIZE;
+        if (hasNext) {
+            page = page.subList(0, PAGE_SIZE);
+        }
+        int pageNumber = 1;
+        while (true) {
+            if (hasNext || pageNumber > 1) {
+                System.out.println("\n=== " + title + " (страница " + pageNumber + ") ===");
+            } else {
+                System.out.println("\n=== " + title + " ===");
+            }
+            page.forEach(printer);
+            if (!hasNext && pageNumber == 1) {
+                return true;
+            }
+            while (true) {
+                System.out.print("n - следующая страница, p - предыдущая, Enter - продолжить: ");
+                String input = scanner.nextLine().trim();
+                if (input.isEmpty()) {
+                    return true;
+                }
+                if (input.equalsIgnoreCase("n") && hasNext) {
+                    List<T> next = pageAfter.apply(idOf.applyAsInt(page.get(page.size() - 1)), PAGE_SIZE + 1);
+                    hasNext = next.size() > PAGE_SIZE;
+                    if (!next.isEmpty()) {
+                        page = hasNext ? next.subList(0, PAGE_SIZE) : next;
+                        pageNumber++;
+                    }
+                    break;
+                }
+                if (input.equalsIgnoreCase("p") && pageNumber > 1) {
+                    List<T> previous = pageBefore.apply(idOf.applyAsInt(page.get(0)), PAGE_SIZE);
+                    if (!previous.isEmpty()) {
+                        page = previous;
+                        hasNext = true;
+                    }
+                    pageNumber = previous.size() < PAGE_SIZE ? 1 : pageNumber - 1;
+                    break;
+                }
+                System.out.println("Неверный выбор!");
+            }
         }
-        // Проверяем, что строка не содержит пробелов или других лишних символов
-        if (!input.matches("-?\\d+")) {
-            throw new IllegalArgumentException(errorMessage);
+    }
+
+    // Отчеты по продажам
+    private void manageReports() {
+        if (!repositories.isJdbc()) {
+            System.out.println("Отчеты строятся запросами к PostgreSQL и недоступны для хранилища "
+                    + repositories.engine() + "!");
+            return;
         }
-        try {
-            return Integer.parseInt(input);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException(errorMessage);
+        ReportService reportService = new ReportService();
+        ReportService.Report[] reports = ReportService.Report.values();
+        while (true) {
+            System.out.println("\n=== Отчеты ===");
+            for (int i = 0; i < reports.length; i++) {
+                System.out.println((i + 1) + ". " + reports[i].getTitle());
+            }
+            System.out.println((reports.length + 1) + ". Назад");
+            int choice = parseIntWithRetry("Выберите отчет: ",
+                    "Неверный выбор! Попробуйте снова (1-" + (reports.length + 1) + ").",
+                    1, reports.length + 1);
+            if (choice == reports.length + 1) {
+                return;
+            }
+            runReport(reportService, reports[choice - 1]);
         }
     }
 
-    private double parseDoubleStrict(String input, String errorMessage) {
-        if (input == null || input.trim().isEmpty()) {
-            throw new IllegalArgumentException("Ввод не может быть пустым!");
+    private void runReport(ReportService reportService, ReportService.Report report) {
+        LocalDate from = readOptionalDate("Начало периода (dd.MM.yyyy, пусто - без ограничения): ");
+        LocalDate to;
+        while (true) {
+            to = readOptionalDate("Конец периода (dd.MM.yyyy, пусто - без ограничения): ");
+            if (from != null && to != null && to.isBefore(from)) {
+                System.out.println("Конец периода не может быть раньше начала!");
+                continue;
+            }
+            break;
+        }
+        ReportService.PeriodUnit unit = null;
+        if (report.hasPeriodUnit()) {
+            ReportService.PeriodUnit[] units = ReportService.PeriodUnit.values();
+            System.out.println("1. По дням\n2. По неделям\n3. По месяцам\n4. По годам");
+            unit = units[parseIntWithRetry("Группировка: ", "Выберите от 1 до 4!", 1, 4) - 1];
         }
-        if (!input.matches("-?\\d+(\\.\\d+)?")) {
-            throw new IllegalArgumentException(errorMessage);
+        int limit = 0;
+        if (report.hasLimit()) {
+            limit = parseIntWithRetry("Сколько строк вывести (0 - все): ",
+                    "Число строк должно быть целым неотрицательным числом!", 0, -1);
         }
+        System.out.println("1. На экран\n2. В CSV-файл");
+        int output = parseIntWithRetry("Вывод: ", "Выберите 1 или 2!", 1, 2);
+
         try {
-            return Double.parseDouble(input);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException(errorMessage);
+            if (output == 1) {
+                System.out.println("\n=== " + report.getTitle() + " ===");
+                reportService.run(report, from, to, unit, limit, ReportSink.console(System.out));
+                return;
+            }
+            Path path = readPath("Файл: ");
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                long rows = reportService.run(report, from, to, unit, limit, ReportSink.csv(writer));
+                System.out.println("Отчет сохранен в " + path.toAbsolutePath() + " (строк: " + rows + ")");
+            }
+        } catch (DataAccessException | UncheckedIOException e) {
+            System.out.println(e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Не удалось записать файл: " + e.getMessage());
+        }
+    }
+
+    private LocalDate readOptionalDate(String prompt) {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("dd.MM.uuuu").withResolverStyle(ResolverStyle.STRICT);
+        while (true) {
+            System.out.print(prompt);
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(input, format);
+            } catch (DateTimeParseException e) {
+                System.out.println("Неверный формат даты! Пример: 27.06.2025");
+            }
+        }
+    }
+
+    private Path readPath(String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                System.out.println("Ввод не может быть пустым!");
+                continue;
+            }
+            try {
+                return Path.of(input);
+            } catch (InvalidPathException e) {
+                System.out.println("Неверный путь: " + e.getMessage());
+            }
+        }
+    }
+
+    // Повторяет ввод, пока check (InputValidator.check*) не вернет null
+    private String readValid(String prompt, Function<String, String> check) {
+        while (true) {
+            System.out.print(prompt);
+            String input = scanner.nextLine();
+            String error = check.apply(input);
+            if (error == null) {
+                return input;
+            }
+            System.out.println(error);
+        }
+    }
+
+    private double readPrice(String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            try {
+                double price = InputValidator.parseDoubleStrict(scanner.nextLine(), "Цена должна быть числом!");
+                String error = InputValidator.checkPrice(price);
+                if (error == null) {
+                    return price;
+                }
+                System.out.println(error);
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
         }
     }
 
@@ -1196,7 +1283,7 @@ public class StoreService
                 continue;
             }
             try {
-                int value = parseIntStrict(input, errorMessage);
+                int value = InputValidator.parseIntStrict(input, errorMessage);
                 if (value < minValue || (maxValue != -1 && value > maxValue)) {
                     System.out.println(errorMessage);
                     continue;
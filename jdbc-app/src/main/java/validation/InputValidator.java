@@ -0,0 +1,184 @@
+package com.electronics.store.validation;
+
+import java.util.regex.Pattern;
+
+// Правила проверки ввода, общие для консоли, импорта каталога, пакетного режима и HTTP API.
+// Регулярные выражения скомпилированы один раз, числа разбираются вручную без выделения памяти.
+// Методы check* возвращают текст ошибки или null, если значение корректно.
+public final class InputValidator {
+    // Буквы (русские или латинские), цифры и пробелы, но не только цифры
+    private static final Pattern PRODUCT_TEXT = Pattern.compile("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$");
+    private static final Pattern CUSTOMER_NAME = Pattern.compile("[\\p{IsCyrillic}a-zA-Z ]+");
+    private static final Pattern EMAIL = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+    // Мобильные номера Беларуси: +375 и код оператора
+    private static final Pattern PHONE = Pattern.compile("\\+375(29|33|44|25)\\d{7}");
+
+    // Быстрый разбор дробных чисел: 18 цифр помещаются в long, до 2^53 целые представимы в double точно,
+    // как и степени десяти до 10^22
+    private static final int MAX_FAST_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private InputValidator() {}
+
+    public static String checkProductName(String name) {
+        if (isBlank(name)) {
+            return "Название товара не может быть пустым!";
+        }
+        if (!PRODUCT_TEXT.matcher(name).matches()) {
+            return "Название должно содержать буквы, можно цифры и пробелы, но не только цифры!";
+        }
+        return null;
+    }
+
+    public static String checkProductDescription(String description) {
+        if (isBlank(description)) {
+            return "Описание не может быть пустым!";
+        }
+        if (!PRODUCT_TEXT.matcher(description).matches()) {
+            return "Описание должно содержать буквы, можно цифры и пробелы, но не только цифры!";
+        }
+        return null;
+    }
+
+    public static String checkPrice(double price) {
+        if (price <= 0) {
+            return "Цена должна быть положительной!";
+        }
+        return null;
+    }
+
+    public static String checkCategoryName(String name) {
+        if (isBlank(name)) {
+            return "Название категории не может быть пустым!";
+        }
+        if (!PRODUCT_TEXT.matcher(name).matches()) {
+            return "Название категории должно содержать буквы, можно цифры и пробелы, но не только цифры!";
+        }
+        return null;
+    }
+
+    public static String checkCustomerName(String name) {
+        if (isBlank(name)) {
+            return "Имя не может быть пустым!";
+        }
+        if (!CUSTOMER_NAME.matcher(name).matches()) {
+            return "Имя может содержать только буквы (русские или латинские) и пробелы!";
+        }
+        return null;
+    }
+
+    public static String checkEmail(String email) {
+        if (isBlank(email)) {
+            return "Email не может быть пустым!";
+        }
+        if (!EMAIL.matcher(email).matches()) {
+            return "Неверный формат email! Пример: ivan@example.com";
+        }
+        return null;
+    }
+
+    public static String checkPhone(String phone) {
+        if (isBlank(phone)) {
+            return "Телефон не может быть пустым!";
+        }
+        if (!PHONE.matcher(phone).matches()) {
+            return "Неверный формат телефона! Пример: +375291234567";
+        }
+        return null;
+    }
+
+    // Целое без пробелов и знака "+": -?\d+ (только цифры 0-9). Разбор без регулярного выражения и без выделения памяти
+    public static int parseIntStrict(String input, String errorMessage) {
+        if (isBlank(input)) {
+            throw new IllegalArgumentException("Ввод не может быть пустым!");
+        }
+        int length = input.length();
+        boolean negative = input.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        if (i == length) {
+            throw new IllegalArgumentException(errorMessage);
+        }
+        // Накопление с минусом, как в Integer.parseInt: так помещается и Integer.MIN_VALUE
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        for (; i < length; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    // Число вида -?\d+(\.\d+)? (только цифры 0-9). До 18 цифр, мантисса до 2^53 и до 22 знаков после точки
+    // считаются как мантисса / 10^n: оба числа представимы точно, деление округляется по IEEE, поэтому результат
+    // совпадает с Double.parseDouble. Остальные значения разбирает Double.parseDouble
+    public static double parseDoubleStrict(String input, String errorMessage) {
+        if (isBlank(input)) {
+            throw new IllegalArgumentException("Ввод не может быть пустым!");
+        }
+        int length = input.length();
+        boolean negative = input.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        int integerStart = i;
+        for (; i < length && input.charAt(i) != '.'; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+            if (++digits <= MAX_FAST_DIGITS) {
+                mantissa = mantissa * 10 + digit;
+            }
+        }
+        if (i == integerStart) {
+            throw new IllegalArgumentException(errorMessage);
+        }
+        if (i < length) {
+            int fractionStart = ++i;
+            for (; i < length; i++) {
+                int digit = input.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException(errorMessage);
+                }
+                if (++digits <= MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + digit;
+                }
+            }
+            fractionDigits = i - fractionStart;
+            if (fractionDigits == 0) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+        }
+        if (digits > MAX_FAST_DIGITS || mantissa > MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(input);
+        }
+        double value = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    // Как trim().isEmpty(), но без новой строки: пусто, если нет символов больше пробела
+    private static boolean isBlank(String input) {
+        if (input == null) {
+            return true;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
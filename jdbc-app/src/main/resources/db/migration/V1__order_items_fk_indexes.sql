@@ -0,0 +1,4 @@
+-- migration: no-transaction
+-- Состав заказа читается по order_id (OrderDetailsDao, findByOrderId), проверка ссылок при удалении товара - по product_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_product_id ON order_items (product_id);
@@ -0,0 +1,3 @@
+-- migration: no-transaction
+-- Заказы клиента и проверка ссылок при удалении клиента
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer_id ON orders (customer_id);
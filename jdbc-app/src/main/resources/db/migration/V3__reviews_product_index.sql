@@ -0,0 +1,3 @@
+-- migration: no-transaction
+-- Отзывы о товаре и проверка ссылок при удалении товара
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_product_id ON reviews (product_id);
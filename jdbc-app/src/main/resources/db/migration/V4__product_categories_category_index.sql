@@ -0,0 +1,3 @@
+-- migration: no-transaction
+-- Первичный ключ (product_id, category_id) не помогает искать товары категории
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_categories_category_id ON product_categories (category_id);
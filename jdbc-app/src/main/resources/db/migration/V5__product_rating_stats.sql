@@ -0,0 +1,31 @@
+-- Сводка оценок по товарам (ReviewDao) и ее заполнение по уже существующим отзывам
+CREATE TABLE IF NOT EXISTS product_rating_stats (
+    product_id INT PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    review_count INT NOT NULL DEFAULT 0,
+    rating_sum INT NOT NULL DEFAULT 0,
+    stars_1 INT NOT NULL DEFAULT 0,
+    stars_2 INT NOT NULL DEFAULT 0,
+    stars_3 INT NOT NULL DEFAULT 0,
+    stars_4 INT NOT NULL DEFAULT 0,
+    stars_5 INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_rating_stats_avg
+    ON product_rating_stats ((rating_sum::numeric / review_count) DESC, review_count DESC)
+    WHERE review_count > 0;
+
+-- Отзывы не меняются, пока сводка пересчитывается
+LOCK TABLE reviews IN SHARE MODE;
+
+INSERT INTO product_rating_stats AS s
+    (product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+SELECT product_id, count(*), sum(rating),
+       count(*) FILTER (WHERE rating = 1), count(*) FILTER (WHERE rating = 2), count(*) FILTER (WHERE rating = 3),
+       count(*) FILTER (WHERE rating = 4), count(*) FILTER (WHERE rating = 5)
+FROM reviews
+WHERE product_id IS NOT NULL AND rating IS NOT NULL
+GROUP BY product_id
+ON CONFLICT (product_id) DO UPDATE SET
+    review_count = EXCLUDED.review_count, rating_sum = EXCLUDED.rating_sum,
+    stars_1 = EXCLUDED.stars_1, stars_2 = EXCLUDED.stars_2, stars_3 = EXCLUDED.stars_3,
+    stars_4 = EXCLUDED.stars_4, stars_5 = EXCLUDED.stars_5;
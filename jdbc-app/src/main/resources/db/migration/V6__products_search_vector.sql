@@ -0,0 +1,5 @@
+-- Столбец полнотекстового поиска (ProductSearch). Добавление генерируемого столбца перезаписывает таблицу
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+) STORED;
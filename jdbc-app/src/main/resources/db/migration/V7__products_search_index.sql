@@ -0,0 +1,2 @@
+-- migration: no-transaction
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_search ON products USING GIN (search_vector);
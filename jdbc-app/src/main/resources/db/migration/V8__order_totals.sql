@@ -0,0 +1,19 @@
+-- Суммы заказов хранятся в самих заказах и меняются OrderItemDao тем же запросом, что и позиции;
+-- цена товара фиксируется в позиции на момент продажи
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS unit_price DECIMAL(10, 2);
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS total_amount DECIMAL(12, 2) NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS item_count INT NOT NULL DEFAULT 0;
+
+-- Для уже существующих позиций цена продажи неизвестна - берется текущая цена товара
+UPDATE order_items oi SET unit_price = p.price
+FROM products p
+WHERE p.id = oi.product_id AND oi.unit_price IS NULL;
+
+UPDATE order_items SET unit_price = 0 WHERE unit_price IS NULL;
+
+ALTER TABLE order_items ALTER COLUMN unit_price SET NOT NULL;
+
+UPDATE orders o SET total_amount = t.amount, item_count = t.quantity
+FROM (SELECT order_id, sum(quantity * unit_price) AS amount, sum(quantity) AS quantity
+      FROM order_items GROUP BY order_id) t
+WHERE o.id = t.order_id;
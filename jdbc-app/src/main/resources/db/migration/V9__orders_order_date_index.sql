@@ -0,0 +1,3 @@
+-- migration: no-transaction
+-- Отчеты ReportService за период фильтруют заказы по дате
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_order_date ON orders (order_date);
@@ -0,0 +1,74 @@
+package com.electronics.store.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DaoMetricsTest {
+
+    interface Lookup {
+        int find(boolean fail);
+
+        int findBoth(boolean failInner);
+    }
+
+    // Имитация DAO: ошибку перехватывает сам, в метриках ее отмечает markFailed
+    static class LookupDao implements Lookup {
+        Lookup inner;
+
+        @Override
+        public int find(boolean fail) {
+            if (fail) {
+                DaoMetrics.markFailed();
+            }
+            return 1;
+        }
+
+        @Override
+        public int findBoth(boolean failInner) {
+            return inner.find(failInner) + 1;
+        }
+    }
+
+    private Lookup lookup;
+
+    @BeforeEach
+    void instrument() {
+        LookupDao dao = new LookupDao();
+        lookup = DaoMetrics.instrument(Lookup.class, dao);
+        dao.inner = lookup;
+        DaoMetrics.resetAll();
+    }
+
+    @Test
+    void markFailedCountsErrorOfCurrentCall() {
+        lookup.find(true);
+        lookup.find(false);
+
+        assertEquals(2, metrics("find").getCalls());
+        assertEquals(1, metrics("find").getErrors());
+    }
+
+    @Test
+    void markFailedOutsideCallIsIgnored() {
+        DaoMetrics.markFailed();
+        lookup.find(false);
+
+        assertEquals(0, metrics("find").getErrors());
+    }
+
+    @Test
+    void nestedFailureMarksOuterCall() {
+        lookup.findBoth(true);
+        lookup.findBoth(false);
+
+        assertEquals(1, metrics("find").getErrors());
+        assertEquals(2, metrics("findBoth").getCalls());
+        assertEquals(1, metrics("findBoth").getErrors());
+    }
+
+    private static MethodMetrics metrics(String method) {
+        return DaoMetrics.get(LookupDao.class.getSimpleName() + "." + method);
+    }
+}
@@ -0,0 +1,61 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.Category;
+import com.electronics.store.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class CategoryRepositoryContract extends RepositoryContract {
+
+    private CategoryRepository categories() {
+        return repositories.categories();
+    }
+
+    @Test
+    void findByNameIgnoresCaseAndPrefersLowestId() {
+        Category first = category("Телефоны");
+        category("ТЕЛЕФОНЫ");
+        category("Ноутбуки");
+
+        assertEquals(first.getId(), categories().findByName("телефоны").getId());
+        assertNull(categories().findByName("Планшеты"));
+    }
+
+    @Test
+    void updateRenamesCategory() {
+        Category saved = category("Аксесуары");
+        saved.setName("Аксессуары");
+        categories().update(saved);
+
+        assertEquals("Аксессуары", categories().findById(saved.getId()).getName());
+    }
+
+    @Test
+    void findAllByIdsKeepsRequestedOrder() {
+        Category first = category("Первая");
+        Category second = category("Вторая");
+
+        List<Category> found = categories().findAllByIds(List.of(second.getId(), 999_999, first.getId()));
+        assertEquals(List.of("Вторая", "Первая"), found.stream().map(Category::getName).toList());
+    }
+
+    @Test
+    void deleteKeepsCategoryWithProducts() {
+        Category used = category("Мониторы");
+        Category empty = category("Проекторы");
+        Product product = product("Монитор", 12_000);
+        repositories.productCategories().addProductToCategory(product.getId(), used.getId());
+
+        categories().delete(used.getId());
+        categories().delete(empty.getId());
+        assertTrue(categories().existsById(used.getId()));
+        assertFalse(categories().existsById(empty.getId()));
+        assertEquals(1, categories().count());
+    }
+}
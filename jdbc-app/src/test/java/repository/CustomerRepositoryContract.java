@@ -0,0 +1,73 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class CustomerRepositoryContract extends RepositoryContract {
+
+    private CustomerRepository customers() {
+        return repositories.customers();
+    }
+
+    @Test
+    void duplicateEmailIsRejected() {
+        Customer first = customer();
+        Customer duplicate = new Customer("Другой", first.getEmail(), null);
+        customers().save(duplicate);
+
+        assertEquals(0, duplicate.getId());
+        assertEquals(1, customers().count());
+    }
+
+    @Test
+    void updateChangesContactsButKeepsEmailUnique() {
+        Customer first = customer();
+        Customer second = customer();
+        second.setPhone("+70000000000");
+        customers().update(second);
+        assertEquals("+70000000000", customers().findById(second.getId()).getPhone());
+
+        String ownEmail = second.getEmail();
+        second.setEmail(first.getEmail());
+        customers().update(second);
+        assertEquals(ownEmail, customers().findById(second.getId()).getEmail());
+    }
+
+    @Test
+    void pagesFollowIdOrder() {
+        int first = customer().getId();
+        int second = customer().getId();
+        int third = customer().getId();
+
+        assertEquals(List.of(first, second), idsOf(customers().findPage(0, 2)));
+        assertEquals(List.of(third), idsOf(customers().findPage(second, 2)));
+        assertEquals(List.of(first, second), idsOf(customers().findPageBefore(third, 5)));
+        assertEquals(List.of(third, first), idsOf(customers().findAllByIds(List.of(third, first))));
+    }
+
+    @Test
+    void deleteKeepsCustomerWithOrdersOrReviews() {
+        Customer ordering = customer();
+        order(ordering);
+        Customer reviewing = customer();
+        review(product("Телефон", 10_000), reviewing, 5);
+        Customer idle = customer();
+
+        customers().delete(ordering.getId());
+        customers().delete(reviewing.getId());
+        customers().delete(idle.getId());
+        assertTrue(customers().existsById(ordering.getId()));
+        assertTrue(customers().existsById(reviewing.getId()));
+        assertFalse(customers().existsById(idle.getId()));
+    }
+
+    private static List<Integer> idsOf(List<Customer> customers) {
+        return customers.stream().map(Customer::getId).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package com.electronics.store.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Контрактные тесты на хранилище jdbc (PostgreSQL из -Dtest.db.url, см. JdbcTestDatabase); без адреса пропускаются
+class JdbcRepositoriesTest {
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(JdbcTestDatabase.isConfigured(), "не задан -Dtest.db.url, тесты хранилища jdbc пропущены");
+    }
+
+    static Repositories emptyJdbc() {
+        JdbcTestDatabase.reset();
+        return Repositories.jdbc();
+    }
+
+    @Nested
+    class Products extends ProductRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyJdbc(); }
+    }
+
+    @Nested
+    class Categories extends CategoryRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyJdbc(); }
+    }
+
+    @Nested
+    class Customers extends CustomerRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyJdbc(); }
+    }
+
+    @Nested
+    class Orders extends OrderRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyJdbc(); }
+    }
+
+    @Nested
+    class OrderItems extends OrderItemRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyJdbc(); }
+    }
+
+    @Nested
+    class ProductCategories extends ProductCategoryRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyJdbc(); }
+    }
+
+    @Nested
+    class Reviews extends ReviewRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyJdbc(); }
+    }
+}
@@ -0,0 +1,67 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.CategoryDao;
+import com.electronics.store.dao.ProductDao;
+import com.electronics.store.db.ConnectionPool;
+import com.electronics.store.migration.MigrationRunner;
+import config.DatabaseConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// PostgreSQL для контрактных тестов хранилища jdbc: отдельная база из -Dtest.db.url (test.db.user, test.db.password).
+// Таблицы базы создаются заново из database/schema.sql и миграций, перед каждым тестом очищаются.
+// H2, как в jdbc-bench, здесь не подходит: DAO пишут сводки изменяющими CTE и ON CONFLICT, которых в H2 нет
+final class JdbcTestDatabase {
+    static final String URL = System.getProperty("test.db.url");
+
+    private static final String TABLES = "product_rating_stats, reviews, order_items, orders, customers, "
+            + "product_categories, categories, products";
+
+    private static boolean created;
+
+    private JdbcTestDatabase() {}
+
+    static boolean isConfigured() {
+        return URL != null && !URL.isBlank();
+    }
+
+    // Приложение берет адрес из тех же свойств db.*, поэтому DAO и ConnectionPool.getInstance() не меняются
+    static void configure() {
+        if (isConfigured()) {
+            System.setProperty("db.url", URL);
+            System.setProperty("db.user", System.getProperty("test.db.user", "postgres"));
+            System.setProperty("db.password", System.getProperty("test.db.password", ""));
+        }
+    }
+
+    // Пустые таблицы и сброшенные кэши товаров и категорий; при первом вызове схема создается заново
+    static synchronized void reset() {
+        if (!URL.equals(DatabaseConfig.URL)) {
+            throw new IllegalStateException("DatabaseConfig прочитан до настройки тестовой базы: " + DatabaseConfig.URL);
+        }
+        try (Connection conn = ConnectionPool.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            if (!created) {
+                stmt.execute("DROP TABLE IF EXISTS " + TABLES + ", schema_migrations CASCADE");
+                stmt.execute(Files.readString(schemaFile(), StandardCharsets.UTF_8));
+                new MigrationRunner().migrate();
+                created = true;
+            }
+            stmt.execute("TRUNCATE " + TABLES + " RESTART IDENTITY CASCADE");
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Не удалось подготовить тестовую базу: " + e.getMessage(), e);
+        }
+        ProductDao.getCache().invalidateAll();
+        new CategoryDao().refreshCache();
+    }
+
+    private static Path schemaFile() {
+        return Path.of(System.getProperty("basedir", ".")).resolve("../database/schema.sql").normalize();
+    }
+}
@@ -0,0 +1,54 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.repository.memory.MemoryStore;
+import org.junit.jupiter.api.Nested;
+
+// Контрактные тесты на хранилище memory: новый MemoryStore на каждый тест
+class MemoryRepositoriesTest {
+
+    static Repositories emptyMemory() {
+        return Repositories.memory(new MemoryStore());
+    }
+
+    @Nested
+    class Products extends ProductRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyMemory(); }
+    }
+
+    @Nested
+    class Categories extends CategoryRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyMemory(); }
+    }
+
+    @Nested
+    class Customers extends CustomerRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyMemory(); }
+    }
+
+    @Nested
+    class Orders extends OrderRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyMemory(); }
+    }
+
+    @Nested
+    class OrderItems extends OrderItemRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyMemory(); }
+    }
+
+    @Nested
+    class ProductCategories extends ProductCategoryRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyMemory(); }
+    }
+
+    @Nested
+    class Reviews extends ReviewRepositoryContract {
+        @Override
+        protected Repositories emptyStorage() { return emptyMemory(); }
+    }
+}
@@ -0,0 +1,138 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class OrderItemRepositoryContract extends RepositoryContract {
+
+    private OrderItemRepository items() {
+        return repositories.orderItems();
+    }
+
+    @Test
+    void savedItemTakesCurrentPriceAndUpdatesOrderTotals() {
+        Order order = order(customer());
+        Product phone = product("Телефон", 19_990.50);
+
+        OrderItem saved = item(order, phone, 2);
+        assertEquals(19_990.50, saved.getUnitPrice(), 0.001);
+        assertEquals(19_990.50, items().findById(saved.getId()).getUnitPrice(), 0.001);
+        assertTotals(order, 39_981, 2);
+
+        item(order, product("Чехол", 499.99), 1);
+        assertTotals(order, 40_480.99, 3);
+    }
+
+    @Test
+    void unitPriceStaysWhenProductPriceChanges() {
+        Order order = order(customer());
+        Product phone = product("Телефон", 20_000);
+        OrderItem saved = item(order, phone, 1);
+
+        phone.setPrice(25_000);
+        repositories.products().update(phone);
+        saved.setQuantity(3);
+        items().update(saved);
+
+        assertEquals(20_000, items().findById(saved.getId()).getUnitPrice(), 0.001);
+        assertTotals(order, 60_000, 3);
+    }
+
+    @Test
+    void changingProductTakesNewProductPrice() {
+        Order order = order(customer());
+        Product cheap = product("Простой", 1_000);
+        Product expensive = product("Дорогой", 7_500.25);
+        OrderItem saved = item(order, cheap, 2);
+
+        saved.setProductId(expensive.getId());
+        items().update(saved);
+
+        assertEquals(7_500.25, items().findById(saved.getId()).getUnitPrice(), 0.001);
+        assertTotals(order, 15_000.50, 2);
+    }
+
+    @Test
+    void movingItemUpdatesBothOrders() {
+        Customer customer = customer();
+        Order from = order(customer);
+        Order to = order(customer);
+        Product product = product("Планшет", 30_000);
+        OrderItem moved = item(from, product, 1);
+        item(from, product, 2);
+
+        moved.setOrderId(to.getId());
+        moved.setQuantity(4);
+        items().update(moved);
+
+        assertTotals(from, 60_000, 2);
+        assertTotals(to, 120_000, 4);
+        assertEquals(1, items().findByOrderId(to.getId()).size());
+    }
+
+    @Test
+    void deleteSubtractsFromOrderTotals() {
+        Order order = order(customer());
+        OrderItem first = item(order, product("Мышь", 1_500), 2);
+        item(order, product("Коврик", 700), 1);
+
+        items().delete(first.getId());
+        assertFalse(items().existsById(first.getId()));
+        assertTotals(order, 700, 1);
+    }
+
+    @Test
+    void itemForMissingProductOrOrderIsNotSaved() {
+        Order order = order(customer());
+        Product product = product("Кабель", 250);
+        OrderItem missingProduct = new OrderItem(order.getId(), 999_999, 1);
+        OrderItem missingOrder = new OrderItem(999_999, product.getId(), 1);
+        items().save(missingProduct);
+        items().save(missingOrder);
+
+        assertEquals(0, missingProduct.getId());
+        assertEquals(0, missingOrder.getId());
+        assertEquals(0, items().count());
+        assertTotals(order, 0, 0);
+    }
+
+    @Test
+    void batchOperationsKeepTotalsInStep() {
+        Order order = order(customer());
+        Product first = product("Первый", 100);
+        Product second = product("Второй", 250.5);
+        List<OrderItem> batch = List.of(new OrderItem(order.getId(), first.getId(), 1),
+                new OrderItem(order.getId(), 999_999, 1),
+                new OrderItem(order.getId(), second.getId(), 2));
+
+        BatchResult saved = items().saveAll(batch);
+        assertEquals(2, saved.getSucceeded());
+        assertEquals(List.of(1), saved.getFailures().stream().map(BatchResult.Failure::getIndex).toList());
+        assertEquals(250.5, batch.get(2).getUnitPrice(), 0.001);
+        assertTotals(order, 601, 3);
+
+        batch.get(0).setQuantity(5);
+        assertTrue(items().updateAll(List.of(batch.get(0))).isSuccessful());
+        assertTotals(order, 1_001, 7);
+
+        BatchResult deleted = items().deleteAllById(new int[]{batch.get(2).getId(), 999_999});
+        assertEquals(1, deleted.getSucceeded());
+        assertTotals(order, 500, 5);
+    }
+
+    private void assertTotals(Order order, double amount, int count) {
+        Order found = repositories.orders().findById(order.getId());
+        assertEquals(amount, found.getTotalAmount(), 0.001, "сумма заказа");
+        assertEquals(count, found.getItemCount(), "число товаров заказа");
+    }
+}
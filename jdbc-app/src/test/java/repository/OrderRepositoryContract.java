@@ -0,0 +1,123 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.DataAccessException;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class OrderRepositoryContract extends RepositoryContract {
+
+    private OrderRepository orders() {
+        return repositories.orders();
+    }
+
+    @Test
+    void newOrderHasZeroTotals() {
+        Order saved = order(customer());
+
+        Order found = orders().findById(saved.getId());
+        assertEquals(0, found.getTotalAmount(), 0.001);
+        assertEquals(0, found.getItemCount());
+        assertEquals(ORDER_DATE.toLocalDate(), new Date(found.getOrderDate().getTime()).toLocalDate());
+        assertEquals(Order.STATUSES.get(1), found.getStatus());
+    }
+
+    @Test
+    void orderForMissingCustomerIsNotSaved() {
+        Order order = new Order(999_999, ORDER_DATE, Order.STATUSES.get(0));
+        orders().save(order);
+
+        assertEquals(0, order.getId());
+        assertEquals(0, orders().count());
+    }
+
+    @Test
+    void saveWithItemsWritesOrderLinesAndTotals() {
+        Product laptop = product("Ноутбук", 50_000);
+        Product mouse = product("Мышь", 999.99);
+        Order order = new Order(customer().getId(), ORDER_DATE, Order.STATUSES.get(1));
+        List<OrderItem> items = List.of(new OrderItem(0, laptop.getId(), 1), new OrderItem(0, mouse.getId(), 3));
+
+        orders().saveWithItems(order, items);
+        assertTrue(order.getId() > 0);
+        for (OrderItem item : items) {
+            assertTrue(item.getId() > 0);
+            assertEquals(order.getId(), item.getOrderId());
+        }
+        assertEquals(999.99, items.get(1).getUnitPrice(), 0.001);
+        Order found = orders().findById(order.getId());
+        assertEquals(52_999.97, found.getTotalAmount(), 0.001);
+        assertEquals(4, found.getItemCount());
+        assertEquals(2, repositories.orderItems().findByOrderId(order.getId()).size());
+    }
+
+    @Test
+    void saveWithItemsWritesNothingWhenAnItemIsInvalid() {
+        Product laptop = product("Ноутбук", 50_000);
+        Customer customer = customer();
+        Order order = new Order(customer.getId(), ORDER_DATE, Order.STATUSES.get(1));
+        List<OrderItem> items = List.of(new OrderItem(0, laptop.getId(), 1), new OrderItem(0, 999_999, 1));
+
+        assertThrows(DataAccessException.class, () -> orders().saveWithItems(order, items));
+        assertEquals(0, order.getId());
+        for (OrderItem item : items) {
+            assertEquals(0, item.getId());
+            assertEquals(0, item.getOrderId());
+        }
+        assertEquals(0, orders().count());
+        assertEquals(0, repositories.orderItems().count());
+    }
+
+    @Test
+    void updateChangesStatusButNotTotals() {
+        Order saved = order(customer());
+        item(saved, product("Клавиатура", 2_500), 2);
+
+        Order changed = orders().findById(saved.getId());
+        changed.setStatus(Order.STATUSES.get(2));
+        changed.setTotalAmount(1);
+        changed.setItemCount(100);
+        orders().update(changed);
+
+        Order found = orders().findById(saved.getId());
+        assertEquals(Order.STATUSES.get(2), found.getStatus());
+        assertEquals(5_000, found.getTotalAmount(), 0.001);
+        assertEquals(2, found.getItemCount());
+    }
+
+    @Test
+    void deleteKeepsOrderWithItems() {
+        Order withItems = order(customer());
+        item(withItems, product("Кабель", 300), 1);
+        Order empty = order(customer());
+
+        orders().delete(withItems.getId());
+        orders().delete(empty.getId());
+        assertTrue(orders().existsById(withItems.getId()));
+        assertEquals(1, orders().count());
+    }
+
+    @Test
+    void pagesAndStreamCoverAllOrders() {
+        Customer customer = customer();
+        int first = order(customer).getId();
+        int second = order(customer).getId();
+        int third = order(customer).getId();
+
+        assertEquals(List.of(first, second), orders().findPage(0, 2).stream().map(Order::getId).toList());
+        assertEquals(List.of(second), orders().findPageBefore(third, 1).stream().map(Order::getId).toList());
+        try (Stream<Order> stream = orders().streamAll()) {
+            assertEquals(List.of(first, second, third), stream.map(Order::getId).sorted().toList());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Category;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.ProductCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class ProductCategoryRepositoryContract extends RepositoryContract {
+
+    private ProductCategoryRepository links() {
+        return repositories.productCategories();
+    }
+
+    @Test
+    void linksAreFoundFromProduct() {
+        Product product = product("Смарт-часы", 15_000);
+        Category gadgets = category("Гаджеты");
+        Category wearables = category("Носимые");
+        links().addProductToCategory(product.getId(), wearables.getId());
+        links().addProductToCategory(product.getId(), gadgets.getId());
+
+        assertTrue(links().exists(product.getId(), gadgets.getId()));
+        assertEquals(List.of(gadgets.getId(), wearables.getId()), links().findCategoriesByProduct(product.getId()).stream().sorted().toList());
+        assertEquals(List.of("Гаджеты", "Носимые"),
+                links().findCategoryObjectsByProduct(product.getId()).stream().map(Category::getName).toList());
+        assertEquals(2, links().count());
+    }
+
+    @Test
+    void duplicateOrDanglingLinkIsRejected() {
+        Product product = product("Роутер", 4_000);
+        Category network = category("Сеть");
+        links().addProductToCategory(product.getId(), network.getId());
+        links().addProductToCategory(product.getId(), network.getId());
+        links().addProductToCategory(product.getId(), 999_999);
+        links().addProductToCategory(999_999, network.getId());
+
+        assertEquals(1, links().count());
+        assertFalse(links().exists(product.getId(), 999_999));
+    }
+
+    @Test
+    void batchSaveAndDeleteReportFailuresByIndex() {
+        Product product = product("Камера", 35_000);
+        Category photo = category("Фото");
+        Category video = category("Видео");
+
+        BatchResult saved = links().saveAll(List.of(new ProductCategory(product.getId(), photo.getId()),
+                new ProductCategory(product.getId(), 999_999),
+                new ProductCategory(product.getId(), video.getId())));
+        assertEquals(2, saved.getSucceeded());
+        assertEquals(List.of(1), saved.getFailures().stream().map(BatchResult.Failure::getIndex).toList());
+
+        BatchResult deleted = links().deleteAll(List.of(new ProductCategory(product.getId(), photo.getId()),
+                new ProductCategory(product.getId(), photo.getId())));
+        assertEquals(1, deleted.getSucceeded());
+        assertFalse(links().exists(product.getId(), photo.getId()));
+        assertTrue(links().existsAny());
+    }
+}
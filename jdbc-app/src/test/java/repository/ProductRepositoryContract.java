@@ -0,0 +1,194 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Category;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.Review;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class ProductRepositoryContract extends RepositoryContract {
+
+    private ProductRepository products() {
+        return repositories.products();
+    }
+
+    @Test
+    void savedProductIsFoundById() {
+        Product saved = product("Ноутбук", 54_999.99);
+
+        Product found = products().findById(saved.getId());
+        assertNotNull(found);
+        assertEquals("Ноутбук", found.getName());
+        assertEquals(54_999.99, found.getPrice(), 0.001);
+        assertEquals("Описание: Ноутбук", found.getDescription());
+        assertNull(products().findById(saved.getId() + 1000));
+    }
+
+    @Test
+    void productWithoutNameIsNotSaved() {
+        Product product = new Product(null, 10, "без названия");
+        products().save(product);
+
+        assertEquals(0, product.getId());
+        assertEquals(0, products().count());
+        assertFalse(products().existsAny());
+    }
+
+    @Test
+    void updateChangesNameAndPrice() {
+        Product saved = product("Телефон", 20_000);
+        saved.setName("Смартфон");
+        saved.setPrice(18_500.5);
+        products().update(saved);
+
+        Product found = products().findById(saved.getId());
+        assertEquals("Смартфон", found.getName());
+        assertEquals(18_500.5, found.getPrice(), 0.001);
+    }
+
+    @Test
+    void findAllByIdsKeepsRequestedOrderAndSkipsMissing() {
+        Product first = product("Первый", 1);
+        Product second = product("Второй", 2);
+        Product third = product("Третий", 3);
+
+        List<Product> found = products().findAllByIds(List.of(third.getId(), 999_999, first.getId(), third.getId()));
+        assertEquals(List.of(third.getId(), first.getId()), found.stream().map(Product::getId).toList());
+        assertTrue(products().findAllByIds(List.of()).isEmpty());
+        assertTrue(products().existsById(second.getId()));
+    }
+
+    @Test
+    void pagesFollowIdOrder() {
+        int[] ids = new int[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = product("Товар " + i, 100 + i).getId();
+        }
+
+        assertEquals(List.of(ids[0], ids[1]), idsOf(products().findPage(0, 2)));
+        assertEquals(List.of(ids[2], ids[3]), idsOf(products().findPage(ids[1], 2)));
+        assertEquals(List.of(ids[4]), idsOf(products().findPage(ids[3], 2)));
+        assertEquals(List.of(ids[2], ids[3]), idsOf(products().findPageBefore(ids[4], 2)));
+        assertTrue(products().findPageBefore(ids[0], 2).isEmpty());
+    }
+
+    @Test
+    void pagesSkipDeletedProducts() {
+        int[] ids = new int[6];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = product("Товар " + i, 100 + i).getId();
+        }
+        products().delete(ids[1]);
+        products().delete(ids[2]);
+        products().delete(ids[4]);
+
+        assertEquals(List.of(ids[0], ids[3]), idsOf(products().findPage(0, 2)));
+        assertEquals(List.of(ids[5]), idsOf(products().findPage(ids[3], 2)));
+        assertEquals(List.of(ids[0], ids[3]), idsOf(products().findPageBefore(ids[5], 5)));
+        assertEquals(List.of(ids[3]), idsOf(products().findPageBefore(ids[4], 1)));
+    }
+
+    @Test
+    void streamAllReturnsEveryProduct() {
+        product("А", 1);
+        product("Б", 2);
+
+        try (Stream<Product> stream = products().streamAll()) {
+            assertEquals(List.of("А", "Б"), stream.map(Product::getName).sorted().toList());
+        }
+        assertEquals(2, products().count());
+    }
+
+    @Test
+    void deleteRemovesUnreferencedProduct() {
+        Product saved = product("Чехол", 500);
+        products().delete(saved.getId());
+
+        assertFalse(products().existsById(saved.getId()));
+        assertEquals(0, products().count());
+    }
+
+    @Test
+    void deleteKeepsProductReferencedByOrderItem() {
+        Product saved = product("Монитор", 15_000);
+        item(order(customer()), saved, 1);
+
+        products().delete(saved.getId());
+        assertTrue(products().existsById(saved.getId()));
+    }
+
+    @Test
+    void deleteKeepsProductReferencedByReviewOrCategory() {
+        Product reviewed = product("Наушники", 3_000);
+        review(reviewed, customer(), 5);
+        Product categorized = product("Колонка", 4_000);
+        Category category = category("Аудио");
+        repositories.productCategories().addProductToCategory(categorized.getId(), category.getId());
+
+        products().delete(reviewed.getId());
+        products().delete(categorized.getId());
+        assertTrue(products().existsById(reviewed.getId()));
+        assertTrue(products().existsById(categorized.getId()));
+    }
+
+    @Test
+    void productCanBeDeletedAfterItsLastReview() {
+        Product saved = product("Планшет", 25_000);
+        Review review = review(saved, customer(), 4);
+        repositories.reviews().delete(review.getId());
+
+        products().delete(saved.getId());
+        assertFalse(products().existsById(saved.getId()));
+        assertEquals(0, repositories.reviews().getRatingStats(saved.getId()).getReviewCount());
+    }
+
+    @Test
+    void deleteAllByIdReportsReferencedAndMissingProducts() {
+        Product free = product("Свободный", 1);
+        Product ordered = product("В заказе", 2);
+        Customer customer = customer();
+        Order order = order(customer);
+        item(order, ordered, 1);
+
+        BatchResult result = products().deleteAllById(new int[]{free.getId(), ordered.getId(), 999_999});
+        assertEquals(1, result.getSucceeded());
+        assertEquals(List.of(1, 2), result.getFailures().stream().map(BatchResult.Failure::getIndex).toList());
+        assertFalse(products().existsById(free.getId()));
+        assertTrue(products().existsById(ordered.getId()));
+    }
+
+    @Test
+    void batchSaveAndUpdateWriteEveryValidRow() {
+        Product first = new Product("Первый", 10, "a");
+        Product invalid = new Product(null, 20, "b");
+        Product third = new Product("Третий", 30, "c");
+
+        BatchResult saved = products().saveAll(List.of(first, invalid, third));
+        assertEquals(2, saved.getSucceeded());
+        assertEquals(List.of(1), saved.getFailures().stream().map(BatchResult.Failure::getIndex).toList());
+        assertTrue(first.getId() > 0);
+        assertTrue(third.getId() > 0);
+
+        first.setPrice(11);
+        third.setPrice(33);
+        BatchResult updated = products().updateAll(List.of(first, third));
+        assertTrue(updated.isSuccessful());
+        assertEquals(11, products().findById(first.getId()).getPrice(), 0.001);
+        assertEquals(33, products().findById(third.getId()).getPrice(), 0.001);
+    }
+
+    private static List<Integer> idsOf(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.model.Category;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Order;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.Review;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Общая часть контрактных тестов: каждый тест получает пустое хранилище движка (MemoryRepositoriesTest,
+// JdbcRepositoriesTest) и ждет от него одинакового поведения. Ошибки записи репозитории не бросают,
+// поэтому тесты проверяют состояние хранилища после операции, а не исключения
+abstract class RepositoryContract {
+    static {
+        // До первого обращения к DatabaseConfig, какой бы тест ни запустился первым
+        JdbcTestDatabase.configure();
+    }
+
+    static final Date ORDER_DATE = Date.valueOf(LocalDate.of(2024, 3, 1));
+
+    private static final AtomicInteger EMAILS = new AtomicInteger();
+
+    protected Repositories repositories;
+
+    // Пустое хранилище проверяемого движка
+    protected abstract Repositories emptyStorage();
+
+    @BeforeEach
+    void setUpStorage() {
+        repositories = emptyStorage();
+    }
+
+    Product product(String name, double price) {
+        Product product = new Product(name, price, "Описание: " + name);
+        repositories.products().save(product);
+        assertTrue(product.getId() > 0, "товар не записан");
+        return product;
+    }
+
+    Category category(String name) {
+        Category category = new Category(name);
+        repositories.categories().save(category);
+        assertTrue(category.getId() > 0, "категория не записана");
+        return category;
+    }
+
+    Customer customer() {
+        int n = EMAILS.incrementAndGet();
+        Customer customer = new Customer("Клиент " + n, "client" + n + "@example.com", "+7900000" + n);
+        repositories.customers().save(customer);
+        assertTrue(customer.getId() > 0, "клиент не записан");
+        return customer;
+    }
+
+    Order order(Customer customer) {
+        Order order = new Order(customer.getId(), ORDER_DATE, Order.STATUSES.get(1));
+        repositories.orders().save(order);
+        assertTrue(order.getId() > 0, "заказ не записан");
+        return order;
+    }
+
+    OrderItem item(Order order, Product product, int quantity) {
+        OrderItem item = new OrderItem(order.getId(), product.getId(), quantity);
+        repositories.orderItems().save(item);
+        assertTrue(item.getId() > 0, "позиция не записана");
+        return item;
+    }
+
+    Review review(Product product, Customer customer, int rating) {
+        Review review = new Review(product.getId(), customer.getId(), rating, "Оценка " + rating);
+        repositories.reviews().save(review);
+        assertTrue(review.getId() > 0, "отзыв не записан");
+        return review;
+    }
+}
@@ -0,0 +1,121 @@
+package com.electronics.store.repository;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.model.Customer;
+import com.electronics.store.model.Product;
+import com.electronics.store.model.RatingStats;
+import com.electronics.store.model.Review;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class ReviewRepositoryContract extends RepositoryContract {
+
+    private ReviewRepository reviews() {
+        return repositories.reviews();
+    }
+
+    @Test
+    void productWithoutReviewsHasEmptyStats() {
+        Product product = product("Новинка", 9_990);
+
+        RatingStats stats = reviews().getRatingStats(product.getId());
+        assertEquals(product.getId(), stats.getProductId());
+        assertStats(stats, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    void statsFollowSaveUpdateAndDelete() {
+        Product product = product("Наушники", 4_990);
+        Customer customer = customer();
+        Review five = review(product, customer, 5);
+        review(product, customer, 3);
+        assertStats(reviews().getRatingStats(product.getId()), 2, 8, 0, 0, 1, 0, 1);
+
+        five.setRating(1);
+        reviews().update(five);
+        assertStats(reviews().getRatingStats(product.getId()), 2, 4, 1, 0, 1, 0, 0);
+
+        reviews().delete(five.getId());
+        assertStats(reviews().getRatingStats(product.getId()), 1, 3, 0, 0, 1, 0, 0);
+        assertEquals(3.0, reviews().getRatingStats(product.getId()).getAverage(), 0.001);
+    }
+
+    @Test
+    void movingReviewMovesItsRating() {
+        Product from = product("Старый", 1_000);
+        Product to = product("Новый", 2_000);
+        Review review = review(from, customer(), 4);
+
+        review.setProductId(to.getId());
+        review.setRating(2);
+        reviews().update(review);
+
+        assertStats(reviews().getRatingStats(from.getId()), 0, 0, 0, 0, 0, 0, 0);
+        assertStats(reviews().getRatingStats(to.getId()), 1, 2, 0, 1, 0, 0, 0);
+    }
+
+    @Test
+    void invalidRatingChangesNothing() {
+        Product product = product("Колонка", 3_000);
+        Customer customer = customer();
+        Review valid = review(product, customer, 4);
+        Review invalid = new Review(product.getId(), customer.getId(), 6, "вне шкалы");
+        reviews().save(invalid);
+        valid.setRating(0);
+        reviews().update(valid);
+
+        assertEquals(0, invalid.getId());
+        assertEquals(4, reviews().findById(valid.getId()).getRating());
+        assertStats(reviews().getRatingStats(product.getId()), 1, 4, 0, 0, 0, 1, 0);
+    }
+
+    @Test
+    void batchOperationsKeepStatsInStep() {
+        Product product = product("Монитор", 20_000);
+        Customer customer = customer();
+        List<Review> batch = List.of(new Review(product.getId(), customer.getId(), 5, "a"),
+                new Review(product.getId(), customer.getId(), 7, "b"),
+                new Review(product.getId(), customer.getId(), 2, "c"));
+
+        BatchResult saved = reviews().saveAll(batch);
+        assertEquals(2, saved.getSucceeded());
+        assertEquals(List.of(1), saved.getFailures().stream().map(BatchResult.Failure::getIndex).toList());
+        assertStats(reviews().getRatingStats(product.getId()), 2, 7, 0, 1, 0, 0, 1);
+
+        batch.get(2).setRating(4);
+        assertTrue(reviews().updateAll(List.of(batch.get(2))).isSuccessful());
+        BatchResult deleted = reviews().deleteAllById(new int[]{batch.get(0).getId(), 999_999});
+        assertEquals(1, deleted.getSucceeded());
+        assertStats(reviews().getRatingStats(product.getId()), 1, 4, 0, 0, 0, 1, 0);
+    }
+
+    @Test
+    void topRatedOrdersByAverageAndSkipsRarelyReviewed() {
+        Customer customer = customer();
+        Product good = product("Хороший", 1);
+        Product best = product("Лучший", 2);
+        Product single = product("Один отзыв", 3);
+        review(good, customer, 4);
+        review(good, customer, 3);
+        review(best, customer, 5);
+        review(best, customer, 4);
+        review(single, customer, 5);
+
+        List<RatingStats> top = reviews().topRated(10, 2);
+        assertEquals(List.of(best.getId(), good.getId()), top.stream().map(RatingStats::getProductId).toList());
+        assertEquals("Лучший", top.get(0).getProductName());
+        assertEquals(1, reviews().topRated(1, 1).size());
+    }
+
+    private static void assertStats(RatingStats stats, int count, int sum, int... stars) {
+        assertEquals(count, stats.getReviewCount(), "число отзывов");
+        assertEquals(sum, stats.getRatingSum(), "сумма оценок");
+        for (int i = 0; i < stars.length; i++) {
+            assertEquals(stars[i], stats.getStarCount(i + 1), "оценок " + (i + 1));
+        }
+    }
+}
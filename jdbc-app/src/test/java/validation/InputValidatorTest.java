@@ -0,0 +1,164 @@
+package com.electronics.store.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Ручной разбор чисел сверяется с прежней реализацией (регулярное выражение + Integer.parseInt / Double.parseDouble):
+// для каждой строки совпадает либо значение (для double побитно), либо сообщение исключения
+class InputValidatorTest {
+    private static final String ERROR = "Неверное число!";
+
+    private static final String[] COMMON = {
+            null, "", " ", "   ", "\t", "\n",
+            "-", "--1", "1-", "+1", "+0", "-+1", "1+",
+            "1.", "-1.", ".5", "-.5", ".", "1..5", "1.5.", "1,5", "1e5", "0x10", "NaN", "Infinity",
+            " 1", "1 ", " 1 ", "\t1", "1\n", "- 1", "1 2", "\u00a01", "1\u00a0",
+            "١٢", "１２", "१", "1٢", "²"
+    };
+
+    private static final String[] INTS = {
+            "0", "-0", "00", "7", "-7", "0042", "-0042", "00000000000000000000000012",
+            "2147483647", "2147483646", "2147483648", "2147483650", "2147483657", "21474836470",
+            "-2147483648", "-2147483647", "-2147483649", "-2147483650", "-21474836480",
+            "9999999999", "1234567890123456789", "9999999999999999999", "-9223372036854775808",
+            "12345678901234567890123", "1.5", "-1.0"
+    };
+
+    private static final String[] DOUBLES = {
+            "0", "-0", "0.0", "-0.0", "00.00", "1.0", "1.5", "-1.5", "0.1", "0.2", "0.3", "-0.3", "123.456",
+            "2147483647", "-2147483648", "2147483647.5", "9999999999",
+            "9007199254740991", "9007199254740992", "9007199254740993", "-9007199254740993",
+            "9007199254740995", "900719925474099.3", "900719925474099.5", "9007199254740.993",
+            "123456789012345678", "999999999999999999", "1234567890123456789", "9999999999999999999",
+            "12345678901234567890123", "1234567890.123456789",
+            "0.1234567890123456789012", "0.12345678901234567890123", "1.0000000000000000000001",
+            "1.00000000000000000000001", "0.0000000000000000000001", "0.00000000000000000000001",
+            "4.35", "0.000000000000000000000000000000000000000000001",
+            "179769313486231570000000000000000000000000000000000000000000000000000000000000000000000000000000"
+                    + "000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000"
+                    + "000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000"
+                    + "00000000000000000000000000000000000",
+            "1" + "0".repeat(400), "0." + "0".repeat(400) + "1"
+    };
+
+    @Test
+    void parseIntStrictMatchesLegacy() {
+        for (String input : COMMON) {
+            assertSameInt(input);
+        }
+        for (String input : INTS) {
+            assertSameInt(input);
+        }
+        for (String input : DOUBLES) {
+            assertSameInt(input);
+        }
+    }
+
+    @Test
+    void parseDoubleStrictMatchesLegacy() {
+        for (String input : COMMON) {
+            assertSameDouble(input);
+        }
+        for (String input : INTS) {
+            assertSameDouble(input);
+        }
+        for (String input : DOUBLES) {
+            assertSameDouble(input);
+        }
+    }
+
+    @Test
+    void parseIntStrictKeepsIntegerBounds() {
+        assertEquals(Integer.MAX_VALUE, InputValidator.parseIntStrict(Integer.toString(Integer.MAX_VALUE), ERROR));
+        assertEquals(Integer.MIN_VALUE, InputValidator.parseIntStrict(Integer.toString(Integer.MIN_VALUE), ERROR));
+        assertSameInt(Long.toString(Integer.MAX_VALUE + 1L));
+        assertSameInt(Long.toString(Integer.MIN_VALUE - 1L));
+        assertSameInt(Long.toString(Integer.MAX_VALUE - 1L));
+        assertSameInt(Long.toString(Integer.MIN_VALUE + 1L));
+    }
+
+    // Случайные числа разной длины: целая часть до 20 цифр, дробная до 25, то есть по обе стороны
+    // границ быстрого пути (18 цифр, мантисса 2^53, 22 знака после точки)
+    @Test
+    void randomNumbersMatchLegacy() {
+        Random random = new Random(20261018L);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean()) {
+                sb.append('-');
+            }
+            appendDigits(sb, random, 1 + random.nextInt(20));
+            assertSameInt(sb.toString());
+            if (random.nextInt(4) > 0) {
+                sb.append('.');
+                appendDigits(sb, random, 1 + random.nextInt(25));
+            }
+            assertSameDouble(sb.toString());
+        }
+    }
+
+    private static void appendDigits(StringBuilder sb, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+    }
+
+    private static void assertSameInt(String input) {
+        assertEquals(outcome(() -> LegacyParser.parseIntStrict(input, ERROR)),
+                outcome(() -> InputValidator.parseIntStrict(input, ERROR)), describe(input));
+    }
+
+    private static void assertSameDouble(String input) {
+        assertEquals(outcome(() -> Double.doubleToRawLongBits(LegacyParser.parseDoubleStrict(input, ERROR))),
+                outcome(() -> Double.doubleToRawLongBits(InputValidator.parseDoubleStrict(input, ERROR))),
+                describe(input));
+    }
+
+    // Значение или сообщение исключения одной строкой, чтобы сравнивать оба исхода одним assertEquals
+    private static String outcome(Supplier<?> parse) {
+        try {
+            return "значение " + parse.get();
+        } catch (IllegalArgumentException e) {
+            return "исключение " + e.getMessage();
+        }
+    }
+
+    private static String describe(String input) {
+        return input == null ? "ввод null" : "ввод \"" + input + "\"";
+    }
+
+    // Реализация до ручного разбора (как Legacy в jdbc-bench InputParsingBenchmark)
+    private static final class LegacyParser {
+        static int parseIntStrict(String input, String errorMessage) {
+            if (input == null || input.trim().isEmpty()) {
+                throw new IllegalArgumentException("Ввод не может быть пустым!");
+            }
+            if (!input.matches("-?\\d+")) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+            try {
+                return Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+        }
+
+        static double parseDoubleStrict(String input, String errorMessage) {
+            if (input == null || input.trim().isEmpty()) {
+                throw new IllegalArgumentException("Ввод не может быть пустым!");
+            }
+            if (!input.matches("-?\\d+(\\.\\d+)?")) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+            try {
+                return Double.parseDouble(input);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.electronics.store.bench;
+
+import com.electronics.store.dao.BatchResult;
+import com.electronics.store.dao.ProductDao;
+import com.electronics.store.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Добавление size товаров: пакетом (ProductDao.saveAll) и по одному (save в цикле).
+// Кэш товаров выключен, чтобы мерить только запись; добавленные строки удаляются после каждой итерации
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+    @Param({"100", "1000"})
+    private int size;
+
+    private ProductDao productDao;
+    private int lastSeededId;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        BenchDatabase.init();
+        ProductDao.setCacheEnabled(false);
+        productDao = new ProductDao();
+        lastSeededId = BenchDatabase.maxProductId();
+    }
+
+    // Новые объекты на каждый вызов: save/saveAll записывают в них id
+    @Setup(Level.Invocation)
+    public void createProducts() {
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product("Новый товар " + i, 100 + i, "Описание"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInserted() {
+        BenchDatabase.deleteProductsAfter(lastSeededId);
+    }
+
+    @Benchmark
+    public BatchResult saveAll() {
+        return productDao.saveAll(products);
+    }
+
+    @Benchmark
+    public List<Product> saveOneByOne() {
+        for (Product product : products) {
+            productDao.save(product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,165 @@
+package com.electronics.store.bench;
+
+import com.electronics.store.db.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+// База для бенчмарков. По умолчанию - встроенная H2 в режиме совместимости с PostgreSQL;
+// для замеров на локальном PostgreSQL: java -Ddb.url=jdbc:postgresql://localhost:5432/bench -Ddb.user=... -jar benchmarks.jar
+// (JMH передает -D в форки). Для PostgreSQL нужна отдельная база: таблицы создаются, если их нет,
+// и заполняются, если в products пусто; строки, добавленные бенчмарками записи, удаляются после них.
+// Приложение получает адрес через те же свойства db.*, поэтому DAO и ConnectionPool.getInstance() не меняются
+final class BenchDatabase {
+    static final String H2_URL =
+            "jdbc:h2:mem:store;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    static final int PRODUCTS = 1_000;
+    static final int CUSTOMERS = 100;
+    static final int ORDERS = 1_000;
+    static final int ITEMS_PER_ORDER = 5;
+
+    // Переносимое подмножество database/schema.sql и миграций: только то, что читают бенчмарки
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS products (id SERIAL PRIMARY KEY, name VARCHAR(200) NOT NULL, "
+                    + "price DECIMAL(10, 2) NOT NULL, description TEXT)",
+            "CREATE TABLE IF NOT EXISTS customers (id SERIAL PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+                    + "email VARCHAR(100) UNIQUE, phone VARCHAR(20))",
+            "CREATE TABLE IF NOT EXISTS orders (id SERIAL PRIMARY KEY, customer_id INT REFERENCES customers(id), "
+                    + "order_date DATE NOT NULL, status VARCHAR(50) DEFAULT 'processing', "
+                    + "total_amount DECIMAL(12, 2) NOT NULL DEFAULT 0, item_count INT NOT NULL DEFAULT 0)",
+            "CREATE TABLE IF NOT EXISTS order_items (id SERIAL PRIMARY KEY, order_id INT REFERENCES orders(id), "
+                    + "product_id INT REFERENCES products(id), quantity INT NOT NULL, "
+                    + "unit_price DECIMAL(10, 2) NOT NULL DEFAULT 0)",
+            "CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id)"
+    };
+
+    private static boolean initialized;
+    private static int minProductId;
+    private static int maxProductId;
+    private static int minOrderId;
+    private static int maxOrderId;
+
+    private BenchDatabase() {}
+
+    // Вызывается из @Setup до первого обращения к DatabaseConfig
+    static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        if (System.getProperty("db.url") == null) {
+            System.setProperty("db.url", H2_URL);
+            System.setProperty("db.user", "sa");
+            System.setProperty("db.password", "");
+        }
+        try (Connection conn = ConnectionPool.getInstance().getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : SCHEMA) {
+                    stmt.execute(sql);
+                }
+            }
+            if (count(conn, "SELECT count(*) FROM products") == 0) {
+                seed(conn);
+            }
+            int[] products = range(conn, "SELECT min(id), max(id) FROM products");
+            int[] orders = range(conn, "SELECT min(id), max(id) FROM orders");
+            minProductId = products[0];
+            maxProductId = products[1];
+            minOrderId = orders[0];
+            maxOrderId = orders[1];
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось подготовить базу для бенчмарков: " + e.getMessage(), e);
+        }
+        initialized = true;
+    }
+
+    static int randomProductId() {
+        return ThreadLocalRandom.current().nextInt(minProductId, maxProductId + 1);
+    }
+
+    static int randomOrderId() {
+        return ThreadLocalRandom.current().nextInt(minOrderId, maxOrderId + 1);
+    }
+
+    static int maxProductId() {
+        return maxProductId;
+    }
+
+    // Удаление товаров, добавленных бенчмарками записи
+    static void deleteProductsAfter(int lastSeededId) {
+        try (Connection conn = ConnectionPool.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM products WHERE id > ?")) {
+            stmt.setInt(1, lastSeededId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось удалить тестовые товары: " + e.getMessage(), e);
+        }
+    }
+
+    private static void seed(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO products (name, price, description) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= PRODUCTS; i++) {
+                stmt.setString(1, "Товар " + i);
+                stmt.setDouble(2, 10 + i % 990);
+                stmt.setString(3, "Описание товара " + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO customers (name, email, phone) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= CUSTOMERS; i++) {
+                stmt.setString(1, "Клиент " + i);
+                stmt.setString(2, "customer" + i + "@example.com");
+                stmt.setString(3, String.format("+37529%07d", i));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        int firstCustomer = range(conn, "SELECT min(id), max(id) FROM customers")[0];
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO orders (customer_id, order_date, status) VALUES (?, CURRENT_DATE, 'processing')")) {
+            for (int i = 0; i < ORDERS; i++) {
+                stmt.setInt(1, firstCustomer + i % CUSTOMERS);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        int firstProduct = range(conn, "SELECT min(id), max(id) FROM products")[0];
+        int firstOrder = range(conn, "SELECT min(id), max(id) FROM orders")[0];
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO order_items (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < ORDERS; i++) {
+                for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                    stmt.setInt(1, firstOrder + i);
+                    stmt.setInt(2, firstProduct + (i * ITEMS_PER_ORDER + j) % PRODUCTS);
+                    stmt.setInt(3, 1 + j);
+                    stmt.setDouble(4, 10 + j);
+                    stmt.addBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+        conn.commit();
+    }
+
+    private static long count(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static int[] range(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return new int[] {rs.getInt(1), rs.getInt(2)};
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.electronics.store.bench;
+
+import com.electronics.store.db.ConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// Выдача и возврат соединения пулом: без конкуренции и при числе потоков больше db.pool.maxSize (10)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+    private ConnectionPool pool;
+
+    @Setup
+    public void setUp() {
+        BenchDatabase.init();
+        pool = ConnectionPool.getInstance();
+    }
+
+    @Benchmark
+    public boolean acquireRelease() throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            return conn.getAutoCommit();
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean acquireReleaseContended() throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            return conn.getAutoCommit();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.electronics.store.bench;
+
+import com.electronics.store.dao.OrderItemDao;
+import com.electronics.store.dao.ProductDao;
+import com.electronics.store.model.OrderItem;
+import com.electronics.store.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Чтение через DAO: поиск товара по id (через кэш и мимо него), позиции заказа,
+// и findAll - в основном стоимость преобразования строк в объекты (BenchDatabase.PRODUCTS строк)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaoReadBenchmark {
+    private ProductDao productDao;
+    private OrderItemDao orderItemDao;
+
+    @Setup
+    public void setUp() {
+        BenchDatabase.init();
+        productDao = new ProductDao();
+        orderItemDao = new OrderItemDao();
+        ProductDao.setCacheEnabled(true);
+    }
+
+    @Benchmark
+    public Product productFindByIdCached() {
+        return productDao.findById(BenchDatabase.randomProductId());
+    }
+
+    @Benchmark
+    public Product productFindByIdUncached() {
+        return productDao.findByIdUncached(BenchDatabase.randomProductId());
+    }
+
+    @Benchmark
+    public List<OrderItem> orderItemFindByOrderId() {
+        return orderItemDao.findByOrderId(BenchDatabase.randomOrderId());
+    }
+
+    @Benchmark
+    public List<Product> productFindAll() {
+        return productDao.findAll();
+    }
+}
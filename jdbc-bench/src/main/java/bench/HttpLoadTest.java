@@ -0,0 +1,137 @@
+package com.electronics.store.bench;
+
+import com.electronics.store.metrics.LatencyHistogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Нагрузочный тест HTTP API (Main --http) - не JMH, отдельный клиент из benchmarks.jar:
+//   java -cp target/benchmarks.jar com.electronics.store.bench.HttpLoadTest [адрес] [клиентов] [секунд] [товаров]
+// по умолчанию http://localhost:8080/api 32 30 1000. Каждый клиент в цикле читает каталог: страницы товаров,
+// товар по id, поиск, рейтинг и лучшие товары; половина повторных запросов идет с If-None-Match.
+// Первые 20% времени - прогрев, в итог не входят
+public class HttpLoadTest {
+    private static final String[] QUERIES = {"ноутбук", "телефон", "samsung", "apple", "наушники", "монитор"};
+
+    private final String baseUrl;
+    private final int maxProductId;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private HttpLoadTest(String baseUrl, int maxProductId) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.maxProductId = maxProductId;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080/api";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int maxProductId = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        new HttpLoadTest(baseUrl, maxProductId).run(clients, seconds);
+    }
+
+    private void run(int clients, int seconds) throws InterruptedException {
+        System.out.printf("Нагрузка на %s: клиентов %d, %d с%n", baseUrl, clients, seconds);
+        Thread[] threads = new Thread[clients];
+        for (int i = 0; i < clients; i++) {
+            threads[i] = new Thread(this::client, "load-" + (i + 1));
+            threads[i].start();
+        }
+        long warmupMillis = seconds * 200L;
+        Thread.sleep(warmupMillis);
+        measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L - warmupMillis);
+        measuring = false;
+        long elapsed = System.nanoTime() - start;
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report(elapsed);
+    }
+
+    private void client() {
+        // ETag последнего ответа по адресу, как у браузера
+        Map<String, String> etags = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            String path = nextPath(random);
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET();
+            String etag = etags.get(path);
+            if (etag != null && random.nextBoolean()) {
+                builder.header("If-None-Match", etag);
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+                long elapsed = System.nanoTime() - start;
+                response.headers().firstValue("ETag").ifPresent(value -> etags.put(path, value));
+                if (measuring) {
+                    latency.record(elapsed);
+                    statuses.computeIfAbsent(response.statusCode(), code -> new LongAdder()).increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (measuring) {
+                    errors.increment();
+                }
+            }
+        }
+    }
+
+    // Смесь запросов чтения каталога, в основном по горячим данным
+    private String nextPath(ThreadLocalRandom random) {
+        int roll = random.nextInt(100);
+        int productId = 1 + (random.nextInt(4) == 0 ? random.nextInt(maxProductId) : random.nextInt(Math.min(50, maxProductId)));
+        if (roll < 40) {
+            return "/products/" + productId;
+        }
+        if (roll < 60) {
+            return "/products?limit=50&after=" + random.nextInt(Math.max(1, maxProductId / 50)) * 50;
+        }
+        if (roll < 75) {
+            return "/products/search?limit=20&q=" + URLEncoder.encode(QUERIES[random.nextInt(QUERIES.length)], StandardCharsets.UTF_8);
+        }
+        if (roll < 90) {
+            return "/products/" + productId + "/rating";
+        }
+        return "/reviews/top?limit=10";
+    }
+
+    private void report(long elapsedNanos) {
+        long total = latency.getCount();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long[] p = latency.percentiles(50, 95, 99);
+        System.out.printf("Запросов: %d за %.1f с, %.0f запр/с, ошибок соединения: %d%n",
+                total, seconds, total / seconds, errors.sum());
+        System.out.printf("Задержка (мс): p50 %.3f, p95 %.3f, p99 %.3f, макс %.3f%n",
+                p[0] / 1_000_000.0, p[1] / 1_000_000.0, p[2] / 1_000_000.0, latency.getMaxNanos() / 1_000_000.0);
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+        System.out.println("Ответы по статусам: " + byStatus);
+    }
+}
@@ -0,0 +1,135 @@
+package com.electronics.store.bench;
+
+import com.electronics.store.validation.InputValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Разбор и проверка пользовательского ввода: InputValidator (скомпилированные выражения, ручной разбор чисел)
+// против прежнего подхода (*Legacy) - String.matches, который компилирует выражение при каждом вызове.
+// Выделение памяти на вызов - с профилировщиком -prof gc
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputParsingBenchmark {
+    private String validInt = "12345";
+    private String invalidInt = "12a45";
+    private String validDouble = "1999.99";
+    // Больше 18 цифр - разбирает Double.parseDouble
+    private String longDouble = "12345678901234.567890123";
+    private String productName = "Смартфон Galaxy S24";
+    private String customerName = "Иван Петров";
+    private String email = "ivan.petrov@example.com";
+    private String phone = "+375291234567";
+
+    @Benchmark
+    public int parseIntStrict() {
+        return InputValidator.parseIntStrict(validInt, "error");
+    }
+
+    @Benchmark
+    public int parseIntStrictLegacy() {
+        return Legacy.parseIntStrict(validInt, "error");
+    }
+
+    @Benchmark
+    public int parseIntStrictInvalid() {
+        try {
+            return InputValidator.parseIntStrict(invalidInt, "error");
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public double parseDoubleStrict() {
+        return InputValidator.parseDoubleStrict(validDouble, "error");
+    }
+
+    @Benchmark
+    public double parseDoubleStrictLegacy() {
+        return Legacy.parseDoubleStrict(validDouble, "error");
+    }
+
+    @Benchmark
+    public double parseDoubleStrictLong() {
+        return InputValidator.parseDoubleStrict(longDouble, "error");
+    }
+
+    @Benchmark
+    public String checkProductName() {
+        return InputValidator.checkProductName(productName);
+    }
+
+    @Benchmark
+    public String checkProductNameLegacy() {
+        return Legacy.checkProductName(productName);
+    }
+
+    @Benchmark
+    public void checkCustomer(Blackhole blackhole) {
+        blackhole.consume(InputValidator.checkCustomerName(customerName));
+        blackhole.consume(InputValidator.checkEmail(email));
+        blackhole.consume(InputValidator.checkPhone(phone));
+    }
+
+    @Benchmark
+    public void checkCustomerLegacy(Blackhole blackhole) {
+        blackhole.consume(customerName.matches("[\\p{IsCyrillic}a-zA-Z ]+"));
+        blackhole.consume(email.matches("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}"));
+        blackhole.consume(phone.matches("\\+375(29|33|44|25)\\d{7}"));
+    }
+
+    // Проверки в том виде, в каком они были в StoreService и InputValidator до общего модуля проверки
+    private static final class Legacy {
+        static int parseIntStrict(String input, String errorMessage) {
+            if (input == null || input.trim().isEmpty()) {
+                throw new IllegalArgumentException("Ввод не может быть пустым!");
+            }
+            if (!input.matches("-?\\d+")) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+            try {
+                return Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+        }
+
+        static double parseDoubleStrict(String input, String errorMessage) {
+            if (input == null || input.trim().isEmpty()) {
+                throw new IllegalArgumentException("Ввод не может быть пустым!");
+            }
+            if (!input.matches("-?\\d+(\\.\\d+)?")) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+            try {
+                return Double.parseDouble(input);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(errorMessage);
+            }
+        }
+
+        static String checkProductName(String name) {
+            if (name == null || name.trim().isEmpty()) {
+                return "Название товара не может быть пустым!";
+            }
+            if (!name.matches("^(?!\\d+$)[\\p{IsCyrillic}a-zA-Z0-9 ]+$")) {
+                return "Название должно содержать буквы, можно цифры и пробелы, но не только цифры!";
+            }
+            return null;
+        }
+    }
+}